@@ -0,0 +1,58 @@
+package poker.bench;
+
+import org.openjdk.jmh.annotations.*;
+import poker.ai.CallingStationAI;
+import poker.engine.BettingTreeSearch;
+import poker.evaluation.WinnerDeterminer;
+import poker.fixtures.Fixtures;
+import poker.model.GameStage;
+import poker.model.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// A fixed number of iterations per search, so the time per search shows how it scales with workers
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BettingTreeSearchBenchmark {
+    private static final int ITERATIONS = 2000;
+
+    @Param({"1", "2", "4"})
+    public int workers;
+
+    @Param({"2", "6"})
+    public int playerCount;
+
+    private ForkJoinPool pool;
+    private BettingTreeSearch search;
+    private List<GameState> tables;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(workers);
+        search = new BettingTreeSearch(pool, workers, new CallingStationAI(), WinnerDeterminer.shared());
+        Random random = new Random(Fixtures.SEED);
+        tables = new ArrayList<>(Fixtures.SAMPLES);
+        for (int i = 0; i < Fixtures.SAMPLES; i++) {
+            GameState state = Fixtures.dealtTable(random, playerCount, GameStage.FLOP);
+            state.setStage(GameStage.FLOP);
+            tables.add(state);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BettingTreeSearch.Result search() {
+        GameState state = tables.get(next++ & (Fixtures.SAMPLES - 1));
+        return search.search(state.getPlayers().get(0), state, ITERATIONS, Long.MAX_VALUE / 2, next);
+    }
+}
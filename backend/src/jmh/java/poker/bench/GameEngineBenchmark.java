@@ -0,0 +1,79 @@
+package poker.bench;
+
+import org.openjdk.jmh.annotations.*;
+import poker.ai.AIStrategy;
+import poker.ai.CallingStationAI;
+import poker.ai.EquityAI;
+import poker.ai.LooseAggressiveAI;
+import poker.ai.TightPassiveAI;
+import poker.engine.GameEngine;
+import poker.evaluation.HandEvaluator;
+import poker.fixtures.Fixtures;
+import poker.model.AIPlayer;
+import poker.model.Player;
+import poker.odds.PotOddsCalculator;
+import poker.odds.RangeEquityCalculator;
+import poker.strategy.StartingHandChart;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One operation is one complete hand through the real engine (seeded deck and bots, no listeners),
+// so ops/s is hands/sec and gc.alloc.rate.norm is bytes allocated per hand.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameEngineBenchmark {
+    private static final int STACK = 2000;
+
+    @Param({"2", "6", "9"})
+    public int playerCount;
+
+    @Param({"calling_station", "tight_passive", "loose_aggressive", "equity", "mixed"})
+    public String aiMix;
+
+    private List<Player> players;
+    private GameEngine engine;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(Fixtures.SEED);
+        players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new AIPlayer("Bot" + (i + 1), STACK, createStrategy(i, new Random(random.nextLong()))));
+        }
+        engine = new GameEngine(players, 10, 20, new Random(random.nextLong()));
+    }
+
+    @Benchmark
+    public GameEngine.HandResult playHand() {
+        for (Player player : players) {
+            if (player.getChips() < STACK) {
+                player.win(STACK - player.getChips());
+            }
+        }
+        return engine.playHand();
+    }
+
+    private AIStrategy createStrategy(int index, Random random) {
+        String type = aiMix.equals("mixed")
+            ? switch (index % 3) {
+                case 0 -> "calling_station";
+                case 1 -> "tight_passive";
+                default -> "loose_aggressive";
+            }
+            : aiMix;
+        return switch (type) {
+            case "calling_station" -> new CallingStationAI(random, StartingHandChart.shared());
+            case "tight_passive" -> new TightPassiveAI(random, StartingHandChart.shared(), HandEvaluator.shared());
+            case "equity" -> new EquityAI(random, StartingHandChart.shared(), RangeEquityCalculator.shared(),
+                PotOddsCalculator.shared(), EquityAI.DEFAULT_BUDGET_MICROS, EquityAI.DEFAULT_MAX_SAMPLES);
+            default -> new LooseAggressiveAI(random, StartingHandChart.shared());
+        };
+    }
+}
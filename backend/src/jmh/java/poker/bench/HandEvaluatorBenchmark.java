@@ -0,0 +1,35 @@
+package poker.bench;
+
+import org.openjdk.jmh.annotations.*;
+import poker.evaluation.HandEvaluator;
+import poker.fixtures.Fixtures;
+import poker.model.Card;
+import poker.model.Hand;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HandEvaluatorBenchmark {
+
+    @Param({"5", "6", "7"})
+    public int cardCount;
+
+    private final HandEvaluator evaluator = HandEvaluator.shared();
+    private List<List<Card>> hands;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        hands = Fixtures.randomHands(new Random(Fixtures.SEED), cardCount, Fixtures.SAMPLES);
+    }
+
+    @Benchmark
+    public Hand evaluate() {
+        List<Card> cards = hands.get(next++ & (Fixtures.SAMPLES - 1));
+        return evaluator.evaluate(cards);
+    }
+}
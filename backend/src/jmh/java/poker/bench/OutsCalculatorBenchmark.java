@@ -0,0 +1,46 @@
+package poker.bench;
+
+import org.openjdk.jmh.annotations.*;
+import poker.fixtures.Fixtures;
+import poker.model.GameStage;
+import poker.model.GameState;
+import poker.odds.OutsCalculator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OutsCalculatorBenchmark {
+
+    @Param({"FLOP", "TURN"})
+    public GameStage stage;
+
+    private final OutsCalculator calculator = OutsCalculator.shared();
+    private List<GameState> tables;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(Fixtures.SEED);
+        tables = new ArrayList<>(Fixtures.SAMPLES);
+        for (int i = 0; i < Fixtures.SAMPLES; i++) {
+            tables.add(Fixtures.dealtTable(random, 2, stage));
+        }
+    }
+
+    @Benchmark
+    public int calculateOuts() {
+        GameState state = tables.get(next++ & (Fixtures.SAMPLES - 1));
+        return calculator.calculateOuts(state.getPlayers().get(0), state);
+    }
+
+    @Benchmark
+    public OutsCalculator.DrawInfo analyzeDraws() {
+        GameState state = tables.get(next++ & (Fixtures.SAMPLES - 1));
+        return calculator.analyzeDraws(state.getPlayers().get(0), state);
+    }
+}
@@ -0,0 +1,58 @@
+package poker.bench;
+
+import org.openjdk.jmh.annotations.*;
+import poker.evaluation.HandEvaluator;
+import poker.fixtures.Fixtures;
+import poker.model.*;
+import poker.odds.ActionModel;
+import poker.odds.RangeTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// A 9-handed table: one action on a known board, and the strength ranking each new board costs once
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RangeTrackerBenchmark {
+
+    @Param({"FLOP", "TURN", "RIVER"})
+    public GameStage stage;
+
+    private final HandEvaluator evaluator = HandEvaluator.shared();
+    private final byte[] deciles = new byte[HoleCards.COMBOS];
+    private final long[] scratch = new long[HoleCards.COMBOS];
+    private final RangeTracker tracker = new RangeTracker();
+    private final Action check = Action.check();
+    private GameState table;
+    private long[] boards;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(Fixtures.SEED);
+        table = Fixtures.dealtTable(random, 9, stage);
+        table.setStage(stage);
+        tracker.handStarted(table);
+        List<Long> masks = new ArrayList<>(Fixtures.SAMPLES);
+        for (int i = 0; i < Fixtures.SAMPLES; i++) {
+            masks.add(Fixtures.dealtTable(random, 1, stage).getBoard().getMask());
+        }
+        boards = masks.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Benchmark
+    public float actionChosen() {
+        Player player = table.getPlayers().get(next++ % 9);
+        tracker.actionChosen(player, table, check);
+        return tracker.getRanges().getWeight(0, 0);
+    }
+
+    @Benchmark
+    public byte strengthDeciles() {
+        ActionModel.strengthDeciles(evaluator, boards[next++ & (Fixtures.SAMPLES - 1)], deciles, scratch);
+        return deciles[0];
+    }
+}
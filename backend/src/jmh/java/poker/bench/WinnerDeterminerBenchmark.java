@@ -0,0 +1,39 @@
+package poker.bench;
+
+import org.openjdk.jmh.annotations.*;
+import poker.evaluation.WinnerDeterminer;
+import poker.fixtures.Fixtures;
+import poker.model.GameStage;
+import poker.model.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WinnerDeterminerBenchmark {
+
+    @Param({"2", "3", "6", "9"})
+    public int playerCount;
+
+    private final WinnerDeterminer determiner = WinnerDeterminer.shared();
+    private List<GameState> tables;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(Fixtures.SEED);
+        tables = new ArrayList<>(Fixtures.SAMPLES);
+        for (int i = 0; i < Fixtures.SAMPLES; i++) {
+            tables.add(Fixtures.dealtTable(random, playerCount, GameStage.RIVER));
+        }
+    }
+
+    @Benchmark
+    public WinnerDeterminer.ShowdownResult resolveShowdown() {
+        return determiner.resolveShowdown(tables.get(next++ & (Fixtures.SAMPLES - 1)));
+    }
+}
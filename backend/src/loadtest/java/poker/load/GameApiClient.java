@@ -0,0 +1,117 @@
+package poker.load;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import poker.model.ActionType;
+import poker.web.dto.ActionRequest;
+import poker.web.dto.GameSetupRequest;
+import poker.web.dto.GameStateDto;
+import poker.web.dto.ServerStatsDto;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+// Thin wrapper over the GameController endpoints that times every call into the recorder
+final class GameApiClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final ObjectMapper json;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    GameApiClient(HttpClient http, String baseUrl, LatencyRecorder recorder) {
+        this.http = http;
+        this.json = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.recorder = recorder;
+    }
+
+    String create(GameSetupRequest setup) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST /create", post("/api/game/create", setup));
+        Map<?, ?> body = json.readValue(response.body(), Map.class);
+        return (String) body.get("sessionId");
+    }
+
+    StateReply start(String sessionId) throws IOException, InterruptedException {
+        return parseState(send("POST /start", post("/api/game/" + sessionId + "/start", null)));
+    }
+
+    // On 304 Not Modified the reply carries no state; the caller keeps the one it has
+    StateReply state(String sessionId, String etag) throws IOException, InterruptedException {
+        HttpRequest.Builder request = request("/api/game/" + sessionId + "/state").GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        long started = System.nanoTime();
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - started;
+        if (response.statusCode() == 304) {
+            recorder.record("GET /state 304", elapsed, true);
+            return new StateReply(null, etag);
+        }
+        recorder.record("GET /state", elapsed, response.statusCode() == 200);
+        return parseState(checked(response));
+    }
+
+    StateReply action(String sessionId, ActionType type, int amount) throws IOException, InterruptedException {
+        return parseState(send("POST /action", post("/api/game/" + sessionId + "/action", new ActionRequest(type, amount))));
+    }
+
+    void delete(String sessionId) throws IOException, InterruptedException {
+        send("DELETE /session", request("/api/game/" + sessionId).DELETE().build());
+    }
+
+    ServerStatsDto serverStats() throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request("/api/game/stats").GET().build(), HttpResponse.BodyHandlers.ofString());
+        return json.readValue(checked(response).body(), ServerStatsDto.class);
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - started, false);
+            throw e;
+        }
+        recorder.record(endpoint, System.nanoTime() - started, response.statusCode() / 100 == 2);
+        return checked(response);
+    }
+
+    private StateReply parseState(HttpResponse<String> response) throws IOException {
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String body = response.body();
+        return new StateReply(body == null || body.isBlank() ? null : json.readValue(body, GameStateDto.class), etag);
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        HttpRequest.BodyPublisher publisher = body == null
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body));
+        return request(path)
+            .header("Content-Type", "application/json")
+            .POST(publisher)
+            .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private static HttpResponse<String> checked(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(response.request().method() + " " + response.request().uri().getPath()
+                + " returned " + response.statusCode());
+        }
+        return response;
+    }
+
+    record StateReply(GameStateDto state, String etag) {}
+}
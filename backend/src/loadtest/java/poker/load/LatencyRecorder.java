@@ -0,0 +1,55 @@
+package poker.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+final class LatencyRecorder {
+    private static final long MAX_TRACKED_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long elapsedNanos, boolean ok) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_TRACKED_MICROS));
+        if (!ok) {
+            stats.errors.increment();
+        }
+    }
+
+    long totalRequests() {
+        long total = 0;
+        for (Endpoint stats : endpoints.values()) {
+            total += stats.latency.getTotalCount();
+        }
+        return total;
+    }
+
+    Map<String, Summary> summarize() {
+        Map<String, Summary> summaries = new TreeMap<>();
+        endpoints.forEach((name, stats) -> {
+            Histogram copy = stats.latency.copy();
+            summaries.put(name, new Summary(
+                copy.getTotalCount(),
+                stats.errors.sum(),
+                copy.getValueAtPercentile(50) / 1000.0,
+                copy.getValueAtPercentile(99) / 1000.0,
+                copy.getValueAtPercentile(99.9) / 1000.0,
+                copy.getMaxValue() / 1000.0
+            ));
+        });
+        return summaries;
+    }
+
+    record Summary(long count, long errors, double p50Millis, double p99Millis, double p999Millis, double maxMillis) {}
+
+    private static final class Endpoint {
+        final ConcurrentHistogram latency = new ConcurrentHistogram(MAX_TRACKED_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,143 @@
+package poker.load;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Drives N simulated human clients against a running backend and reports per-endpoint latency,
+// throughput and the server's thread count and heap. Arguments are --name=value, see Config.parse.
+public final class LoadTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        Config config = Config.parse(args);
+        LatencyRecorder recorder = new LatencyRecorder();
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        GameApiClient api = new GameApiClient(http, config.url(), recorder);
+        Totals totals = new Totals();
+
+        ServerSampler sampler = new ServerSampler(api);
+        sampler.start(1000);
+
+        System.out.printf("Load test: %d clients x %d-handed tables (%s) against %s for %d s%n",
+            config.clients(), config.players(), config.aiType(), config.url(), config.durationSeconds());
+
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(config.clients(), task -> {
+            Thread thread = new Thread(task, "client-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+        for (int i = 0; i < config.clients(); i++) {
+            clients.submit(new SimulatedClient(i, api, config, totals, deadline));
+        }
+        clients.shutdown();
+        // Clients finish the hand in progress after the deadline; give them a bounded grace period
+        if (!clients.awaitTermination(config.durationSeconds() + 180, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        sampler.stop();
+
+        report(config, recorder, totals, sampler, elapsedSeconds);
+    }
+
+    private static void report(Config config, LatencyRecorder recorder, Totals totals,
+                               ServerSampler sampler, double elapsedSeconds) {
+        long requests = recorder.totalRequests();
+        long hands = totals.hands.sum();
+        System.out.println();
+        System.out.printf("Elapsed %.1f s: %d requests (%.1f req/s), %d hands (%.2f hands/s), %d sessions, %d client errors%n",
+            elapsedSeconds, requests, requests / elapsedSeconds, hands, hands / elapsedSeconds,
+            totals.sessions.sum(), totals.errors.sum());
+        if (totals.lastError != null) {
+            System.out.println("Last error: " + totals.lastError);
+        }
+
+        System.out.println();
+        System.out.printf("%-18s %9s %7s %10s %10s %10s %10s %9s%n",
+            "Endpoint", "Count", "Errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "req/s");
+        recorder.summarize().forEach((endpoint, s) ->
+            System.out.printf("%-18s %9d %7d %10.2f %10.2f %10.2f %10.2f %9.1f%n",
+                endpoint, s.count(), s.errors(), s.p50Millis(), s.p99Millis(), s.p999Millis(), s.maxMillis(),
+                s.count() / elapsedSeconds));
+
+        System.out.println();
+        var server = sampler.last();
+        if (server == null) {
+            System.out.println("Server stats unavailable (" + sampler.failedSamples() + " failed samples)");
+            return;
+        }
+        System.out.printf("Server threads: %d now, %d max sampled, %d JVM peak%n",
+            server.liveThreads(), sampler.maxThreads(), server.peakThreads());
+        System.out.printf("Server heap: %d MB used now, %d MB max sampled, %d MB committed, %d MB limit%n",
+            mb(server.heapUsedBytes()), mb(sampler.maxHeapUsed()), mb(server.heapCommittedBytes()), mb(server.heapMaxBytes()));
+        System.out.printf("Server sessions: %d live now, %d max sampled, %d evicted, %d expired%n",
+            server.sessions().live(), sampler.maxLiveSessions(), server.sessions().evicted(), server.sessions().expired());
+    }
+
+    private static long mb(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+
+    static final class Totals {
+        final LongAdder hands = new LongAdder();
+        final LongAdder sessions = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        volatile String lastError;
+    }
+
+    record Config(
+        String url,
+        int clients,
+        int durationSeconds,
+        long rampUpMillis,
+        int handsPerSession,
+        long thinkMillis,
+        long pollMillis,
+        int players,
+        int startingChips,
+        int bigBlind,
+        String aiType,
+        long seed
+    ) {
+        static Config parse(String[] args) {
+            Map<String, String> options = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+            Config config = new Config(
+                options.getOrDefault("url", "http://localhost:8080"),
+                Integer.parseInt(options.getOrDefault("clients", "50")),
+                Integer.parseInt(options.getOrDefault("duration", "60")),
+                Long.parseLong(options.getOrDefault("rampUpMs", "5000")),
+                Integer.parseInt(options.getOrDefault("hands", "20")),
+                Long.parseLong(options.getOrDefault("thinkMs", "200")),
+                Long.parseLong(options.getOrDefault("pollMs", "100")),
+                Integer.parseInt(options.getOrDefault("players", "6")),
+                Integer.parseInt(options.getOrDefault("chips", "1000")),
+                Integer.parseInt(options.getOrDefault("bigBlind", "20")),
+                options.getOrDefault("aiType", "mixed"),
+                Long.parseLong(options.getOrDefault("seed", "20240601"))
+            );
+            if (config.clients() < 1 || config.durationSeconds() < 1) {
+                throw new IllegalArgumentException("Clients and duration must be positive");
+            }
+            return config;
+        }
+    }
+}
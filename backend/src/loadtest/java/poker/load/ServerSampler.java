@@ -0,0 +1,72 @@
+package poker.load;
+
+import poker.web.dto.ServerStatsDto;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Polls /api/game/stats during the run to track the server's thread count and heap
+final class ServerSampler {
+    private final GameApiClient api;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "server-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ServerStatsDto last;
+    private volatile int maxThreads;
+    private volatile long maxHeapUsed;
+    private volatile int maxLiveSessions;
+    private volatile int failedSamples;
+
+    ServerSampler(GameApiClient api) {
+        this.api = api;
+    }
+
+    void start(long periodMillis) {
+        scheduler.scheduleAtFixedRate(this::sample, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        sample();
+    }
+
+    private synchronized void sample() {
+        try {
+            ServerStatsDto stats = api.serverStats();
+            last = stats;
+            maxThreads = Math.max(maxThreads, stats.liveThreads());
+            maxHeapUsed = Math.max(maxHeapUsed, stats.heapUsedBytes());
+            maxLiveSessions = Math.max(maxLiveSessions, stats.sessions().live());
+        } catch (IOException e) {
+            failedSamples++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    ServerStatsDto last() {
+        return last;
+    }
+
+    int maxThreads() {
+        return maxThreads;
+    }
+
+    long maxHeapUsed() {
+        return maxHeapUsed;
+    }
+
+    int maxLiveSessions() {
+        return maxLiveSessions;
+    }
+
+    int failedSamples() {
+        return failedSamples;
+    }
+}
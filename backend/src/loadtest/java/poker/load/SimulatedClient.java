@@ -0,0 +1,134 @@
+package poker.load;
+
+import poker.model.ActionType;
+import poker.web.dto.GameSetupRequest;
+import poker.web.dto.GameStateDto;
+import poker.web.dto.PlayerDto;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One simulated human: create -> start -> (state polls + actions) per hand -> delete, until the deadline
+final class SimulatedClient implements Runnable {
+    private static final long HAND_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2);
+    private static final long ERROR_BACKOFF_MILLIS = 500;
+
+    private final int id;
+    private final GameApiClient api;
+    private final LoadTest.Config config;
+    private final LoadTest.Totals totals;
+    private final long deadlineNanos;
+    private final Random random;
+
+    SimulatedClient(int id, GameApiClient api, LoadTest.Config config, LoadTest.Totals totals, long deadlineNanos) {
+        this.id = id;
+        this.api = api;
+        this.config = config;
+        this.totals = totals;
+        this.deadlineNanos = deadlineNanos;
+        this.random = new Random(config.seed() + id);
+    }
+
+    @Override
+    public void run() {
+        try {
+            // Spread session creation over the ramp-up instead of hitting /create all at once
+            Thread.sleep(config.rampUpMillis() * id / Math.max(1, config.clients()));
+            GameSetupRequest setup = new GameSetupRequest(
+                config.players(), 0, config.startingChips(), config.bigBlind() / 2, config.bigBlind(), config.aiType());
+            while (System.nanoTime() < deadlineNanos) {
+                playSession(setup);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void playSession(GameSetupRequest setup) throws InterruptedException {
+        String sessionId = null;
+        try {
+            sessionId = api.create(setup);
+            for (int hand = 0; hand < config.handsPerSession() && System.nanoTime() < deadlineNanos; hand++) {
+                boolean humanStillPlaying = playHand(sessionId);
+                totals.hands.increment();
+                if (!humanStillPlaying) {
+                    break;
+                }
+            }
+            totals.sessions.increment();
+        } catch (IOException e) {
+            totals.errors.increment();
+            totals.lastError = e.getMessage();
+            // Do not turn a failing server into a tight create/delete loop
+            Thread.sleep(ERROR_BACKOFF_MILLIS);
+        } finally {
+            if (sessionId != null) {
+                try {
+                    api.delete(sessionId);
+                } catch (IOException e) {
+                    totals.errors.increment();
+                }
+            }
+        }
+    }
+
+    private boolean playHand(String sessionId) throws IOException, InterruptedException {
+        GameApiClient.StateReply reply = api.start(sessionId);
+        GameStateDto state = reply.state();
+        String etag = reply.etag();
+        long handDeadline = System.nanoTime() + HAND_TIMEOUT_NANOS;
+
+        while (state == null || !state.handComplete()) {
+            if (System.nanoTime() > handDeadline) {
+                throw new IOException("Hand in session " + sessionId + " did not finish in time");
+            }
+            if (state != null && state.isHumanTurn()) {
+                Thread.sleep(config.thinkMillis());
+                reply = act(sessionId, state);
+            } else {
+                Thread.sleep(config.pollMillis());
+                reply = api.state(sessionId, etag);
+            }
+            if (reply.state() != null) {
+                state = reply.state();
+            }
+            if (reply.etag() != null) {
+                etag = reply.etag();
+            }
+        }
+
+        PlayerDto human = human(state);
+        return human != null && human.chips() > 0;
+    }
+
+    // A loose, mostly passive human: enough folds, bets and raises to exercise every betting path
+    private GameApiClient.StateReply act(String sessionId, GameStateDto state) throws IOException, InterruptedException {
+        PlayerDto human = human(state);
+        int toCall = human != null ? state.currentBet() - human.currentBet() : 0;
+        int chips = human != null ? human.chips() : 0;
+        int roll = random.nextInt(100);
+
+        if (toCall <= 0) {
+            return roll < 25
+                ? api.action(sessionId, ActionType.BET, Math.min(config.bigBlind() * 2, chips))
+                : api.action(sessionId, ActionType.CHECK, 0);
+        }
+        if (roll < 15) {
+            return api.action(sessionId, ActionType.FOLD, 0);
+        }
+        if (roll < 90 || chips <= toCall) {
+            return api.action(sessionId, ActionType.CALL, toCall);
+        }
+        return api.action(sessionId, ActionType.RAISE, state.currentBet() * 2);
+    }
+
+    private static PlayerDto human(GameStateDto state) {
+        for (PlayerDto player : state.players()) {
+            if (player.isHuman()) {
+                return player;
+            }
+        }
+        return null;
+    }
+}
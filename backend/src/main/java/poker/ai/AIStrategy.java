@@ -6,4 +6,19 @@ public interface AIStrategy {
     Action decide(Player player, GameState state);
     String getPlayerTypeName();
     String getPlayerTypeDescription();
+
+    // Called by the engine at the start of each hand so a hand seed reproduces bot decisions
+    default void reseed(long seed) {
+    }
+
+    // Time each decision may take by design, e.g. a search budget; slow-hand capture does not count it
+    // against the engine
+    default long getThinkBudgetNanos() {
+        return 0L;
+    }
+
+    // An independent instance for rollouts on another thread; strategies without state may return this
+    default AIStrategy copy() {
+        return this;
+    }
 }
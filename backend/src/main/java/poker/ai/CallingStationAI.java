@@ -6,8 +6,27 @@ import poker.strategy.StartingHandChart;
 import java.util.Random;
 
 public class CallingStationAI implements AIStrategy {
-    private final Random random = new Random();
-    private final StartingHandChart chart = new StartingHandChart();
+    private final Random random;
+    private final StartingHandChart chart;
+
+    public CallingStationAI() {
+        this(new Random(), StartingHandChart.shared());
+    }
+
+    public CallingStationAI(Random random, StartingHandChart chart) {
+        this.random = random;
+        this.chart = chart;
+    }
+
+    @Override
+    public void reseed(long seed) {
+        random.setSeed(seed);
+    }
+
+    @Override
+    public AIStrategy copy() {
+        return new CallingStationAI(new Random(), chart);
+    }
 
     @Override
     public Action decide(Player player, GameState state) {
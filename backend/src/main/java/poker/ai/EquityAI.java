@@ -0,0 +1,173 @@
+package poker.ai;
+
+import poker.model.*;
+import poker.odds.PotOddsCalculator;
+import poker.odds.RangeEquityCalculator;
+import poker.strategy.StartingHandChart;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Decides by showdown equity against the opponents still in the hand, each modeled as the range the
+// preflop chart plays from their seat (at tables with a RangeTracker, as the range their actions point
+// to), and by the pot odds of the call. Equity is computed under a hard per-decision budget: exact, then
+// sampled, then the precomputed table. Thresholds are set between the fair share of the pot (1 / players
+// in the hand) and certainty, so they tighten heads-up and loosen multiway. With a budget the sample
+// count depends on machine speed; a hand seed reproduces decisions only when maxSamples is reached first.
+// A zero budget decides on table equity alone, which is what rollout copies do.
+public class EquityAI implements AIStrategy {
+    public static final long DEFAULT_BUDGET_MICROS = 2000;
+    public static final int DEFAULT_MAX_SAMPLES = 2000;
+
+    private static final double BET_SHARE = 0.25;
+    private static final double RAISE_SHARE = 0.45;
+
+    private final Random random;
+    private final StartingHandChart chart;
+    private final RangeEquityCalculator equity;
+    private final PotOddsCalculator potOdds;
+    private final long budgetNanos;
+    private final int maxSamples;
+    // Combos each seat's range holds, per table size and position, built on first use
+    private final long[][] ranges = new long[10 * Position.values().length][];
+
+    public EquityAI() {
+        this(new Random(), StartingHandChart.shared(), RangeEquityCalculator.shared(), PotOddsCalculator.shared(),
+            DEFAULT_BUDGET_MICROS, DEFAULT_MAX_SAMPLES);
+    }
+
+    public EquityAI(Random random, StartingHandChart chart, RangeEquityCalculator equity, PotOddsCalculator potOdds,
+                    long budgetMicros, int maxSamples) {
+        this.random = random;
+        this.chart = chart;
+        this.equity = equity;
+        this.potOdds = potOdds;
+        this.budgetNanos = TimeUnit.MICROSECONDS.toNanos(budgetMicros);
+        this.maxSamples = maxSamples;
+    }
+
+    @Override
+    public void reseed(long seed) {
+        random.setSeed(seed);
+    }
+
+    // Rollouts play thousands of decisions for one real one: an exact heads-up turn alone would spend
+    // a millisecond and more of the budget, so copies take the table's answer in microseconds
+    @Override
+    public AIStrategy copy() {
+        return new EquityAI(new Random(), chart, equity, potOdds, 0, maxSamples);
+    }
+
+    @Override
+    public long getThinkBudgetNanos() {
+        return budgetNanos;
+    }
+
+    @Override
+    public Action decide(Player player, GameState state) {
+        long deadline = System.nanoTime() + budgetNanos;
+        long hole = player.getHoleCards().getMask();
+        int opponents;
+        double handEquity;
+        if (budgetNanos == 0) {
+            opponents = Math.max(1, state.getPlayersInHand() - 1);
+            handEquity = equity.tableEquity(hole, state.getBoard(), opponents);
+        } else if (state.getOpponentRanges() != null) {
+            float[][] weights = trackedRanges(player, state);
+            opponents = weights.length;
+            handEquity = equity.estimate(hole, state.getBoard(), weights, deadline, maxSamples, random).equity();
+        } else {
+            long[][] ranges = opponentRanges(player, state);
+            opponents = ranges.length;
+            handEquity = equity.estimate(hole, state.getBoard(), ranges, deadline, maxSamples, random).equity();
+        }
+
+        double fairShare = 1.0 / (opponents + 1);
+        int toCall = state.getAmountToCall(player);
+        int pot = state.getPot().getTotal();
+
+        if (handEquity >= fairShare + (1 - fairShare) * RAISE_SHARE && player.getChips() > toCall) {
+            return toCall == 0 ? bet(player, state, pot * 2 / 3) : raise(player, state, toCall, pot);
+        }
+        if (toCall == 0) {
+            if (handEquity >= fairShare + (1 - fairShare) * BET_SHARE) {
+                return bet(player, state, pot / 2);
+            }
+            return Action.check();
+        }
+        if (handEquity >= potOdds.calculate(state, player)) {
+            return toCall >= player.getChips() ? Action.allIn(player.getChips()) : Action.call(toCall);
+        }
+        return Action.fold();
+    }
+
+    private Action bet(Player player, GameState state, int amount) {
+        int bet = Math.max(amount, state.getBigBlind());
+        if (bet >= player.getChips()) {
+            return Action.allIn(player.getChips());
+        }
+        return Action.bet(bet);
+    }
+
+    private Action raise(Player player, GameState state, int toCall, int pot) {
+        int raiseSize = toCall + Math.max(state.getBigBlind(), (pot + toCall) * 3 / 4);
+        if (raiseSize >= player.getChips()) {
+            return Action.allIn(player.getChips());
+        }
+        return Action.raise(state.getCurrentBet() + raiseSize);
+    }
+
+    private long[][] opponentRanges(Player player, GameState state) {
+        List<Player> players = state.getPlayers();
+        List<long[]> result = new ArrayList<>(players.size() - 1);
+        for (int i = 0; i < players.size(); i++) {
+            Player opponent = players.get(i);
+            if (opponent != player && opponent.isInHand()) {
+                result.add(range(players.size(), opponent.getPosition()));
+            }
+        }
+        return result.toArray(new long[0][]);
+    }
+
+    private static float[][] trackedRanges(Player player, GameState state) {
+        List<Player> players = state.getPlayers();
+        List<float[]> result = new ArrayList<>(players.size() - 1);
+        for (int i = 0; i < players.size(); i++) {
+            Player opponent = players.get(i);
+            if (opponent != player && opponent.isInHand()) {
+                result.add(state.getOpponentRanges().getWeights(i));
+            }
+        }
+        return result.toArray(new float[0][]);
+    }
+
+    private long[] range(int tableSize, Position position) {
+        int slot = tableSize * Position.values().length + position.ordinal();
+        long[] combos = ranges[slot];
+        if (combos == null) {
+            long[] all = new long[HoleCards.COMBOS];
+            int count = 0;
+            for (int combo = 0; combo < HoleCards.COMBOS; combo++) {
+                if (chart.plays(tableSize, position, HoleCards.comboClass(combo))) {
+                    all[count++] = HoleCards.comboMask(combo);
+                }
+            }
+            combos = Arrays.copyOf(all, count);
+            ranges[slot] = combos;
+        }
+        return combos;
+    }
+
+    @Override
+    public String getPlayerTypeName() {
+        return "Equity (Вычислитель)";
+    }
+
+    @Override
+    public String getPlayerTypeDescription() {
+        return "Считает эквити против диапазонов соперников и сравнивает с пот-оддсами";
+    }
+}
@@ -0,0 +1,79 @@
+package poker.ai;
+
+import poker.engine.BettingTreeSearch;
+import poker.evaluation.WinnerDeterminer;
+import poker.model.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Searches the betting tree before every decision (BettingTreeSearch) with the opponents played by their
+// own strategies. Strength grows with the budget: more workers or more time mean more iterations, up to
+// maxIterations.
+public class MctsAI implements AIStrategy {
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+    public static final int DEFAULT_MAX_ITERATIONS = 20_000;
+    // At most half the cores, up to four, however many tables run a search at once
+    public static final int DEFAULT_WORKERS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    // Searches of every default MctsAI share this pool, not the common one, so a 50 ms search never
+    // starves parallel streams elsewhere in the JVM; it adds no compensation threads past its size and
+    // lets idle workers go after a minute
+    private static final AtomicInteger SEARCH_THREADS = new AtomicInteger();
+    private static final ForkJoinPool SEARCH_POOL = new ForkJoinPool(DEFAULT_WORKERS, pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("mcts-search-" + SEARCH_THREADS.incrementAndGet());
+        return thread;
+    }, null, false, 0, DEFAULT_WORKERS, 1, pool -> true, 60, TimeUnit.SECONDS);
+
+    private final Random random;
+    private final BettingTreeSearch search;
+    private final int maxIterations;
+    private final long budgetNanos;
+
+    public MctsAI() {
+        this(new Random(), new BettingTreeSearch(SEARCH_POOL, DEFAULT_WORKERS, new CallingStationAI(),
+            WinnerDeterminer.shared()), DEFAULT_MAX_ITERATIONS, DEFAULT_BUDGET_MILLIS);
+    }
+
+    public MctsAI(Random random, BettingTreeSearch search, int maxIterations, long budgetMillis) {
+        this.random = random;
+        this.search = search;
+        this.maxIterations = maxIterations;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    @Override
+    public void reseed(long seed) {
+        random.setSeed(seed);
+    }
+
+    // In rollouts this bot plays its rollout policy: a search inside every search would multiply the cost
+    @Override
+    public AIStrategy copy() {
+        return search.getRolloutPolicy().copy();
+    }
+
+    @Override
+    public long getThinkBudgetNanos() {
+        return budgetNanos;
+    }
+
+    @Override
+    public Action decide(Player player, GameState state) {
+        return search.search(player, state, maxIterations, budgetNanos, random.nextLong()).action();
+    }
+
+    @Override
+    public String getPlayerTypeName() {
+        return "MCTS (Стратег)";
+    }
+
+    @Override
+    public String getPlayerTypeDescription() {
+        return "Перебирает дерево ставок симуляциями раздач до конца";
+    }
+}
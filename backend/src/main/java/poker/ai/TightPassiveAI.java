@@ -4,14 +4,32 @@ import poker.model.*;
 import poker.strategy.StartingHandChart;
 import poker.evaluation.HandEvaluator;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 
 public class TightPassiveAI implements AIStrategy {
-    private final Random random = new Random();
-    private final StartingHandChart chart = new StartingHandChart();
-    private final HandEvaluator evaluator = new HandEvaluator();
+    private final Random random;
+    private final StartingHandChart chart;
+    private final HandEvaluator evaluator;
+
+    public TightPassiveAI() {
+        this(new Random(), StartingHandChart.shared(), HandEvaluator.shared());
+    }
+
+    public TightPassiveAI(Random random, StartingHandChart chart, HandEvaluator evaluator) {
+        this.random = random;
+        this.chart = chart;
+        this.evaluator = evaluator;
+    }
+
+    @Override
+    public void reseed(long seed) {
+        random.setSeed(seed);
+    }
+
+    @Override
+    public AIStrategy copy() {
+        return new TightPassiveAI(new Random(), chart, evaluator);
+    }
 
     @Override
     public Action decide(Player player, GameState state) {
@@ -40,13 +58,12 @@ public class TightPassiveAI implements AIStrategy {
     }
 
     private Action decidePostflopAction(Player player, GameState state) {
-        List<Card> allCards = new ArrayList<>(state.getCommunityCards());
-        allCards.addAll(player.getHoleCards().getCards());
-        Hand hand = evaluator.evaluate(allCards);
+        long cards = state.getBoard().getMask() | player.getHoleCards().getMask();
+        HandRank rank = HandEvaluator.rankOf(evaluator.evaluateValue(cards));
 
         int toCall = state.getAmountToCall(player);
 
-        if (hand.getRank().getStrength() >= HandRank.TWO_PAIR.getStrength()) {
+        if (rank.getStrength() >= HandRank.TWO_PAIR.getStrength()) {
             if (toCall == 0) {
                 return Action.check();
             }
@@ -8,17 +8,47 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class DecisionAnalyzer {
+    private static final DecisionAnalyzer SHARED = new DecisionAnalyzer();
+
     private final RecommendationEngine recommendationEngine;
     private final OddsCalculator oddsCalculator;
+    private final EvScorer evScorer;
 
     public DecisionAnalyzer() {
-        this.recommendationEngine = new RecommendationEngine();
-        this.oddsCalculator = new OddsCalculator();
+        this(RecommendationEngine.shared(), OddsCalculator.shared(), EvScorer.shared());
+    }
+
+    public DecisionAnalyzer(RecommendationEngine recommendationEngine, OddsCalculator oddsCalculator) {
+        this(recommendationEngine, oddsCalculator, EvScorer.shared());
+    }
+
+    // evScorer may be null to skip the simulation
+    public DecisionAnalyzer(RecommendationEngine recommendationEngine, OddsCalculator oddsCalculator,
+                            EvScorer evScorer) {
+        this.recommendationEngine = recommendationEngine;
+        this.oddsCalculator = oddsCalculator;
+        this.evScorer = evScorer;
+    }
+
+    public static DecisionAnalyzer shared() {
+        return SHARED;
+    }
+
+    // What the analysis knows before the action is taken, so it can be prepared while the player thinks
+    public record Advice(RecommendationEngine.Recommendation recommendation, OddsResult odds) {}
+
+    public Advice prepare(Player player, GameState state) {
+        return new Advice(recommendationEngine.getRecommendation(player, state), oddsCalculator.calculateOdds(player, state));
     }
 
     public HandAnalysis analyzeDecision(Player player, GameState state, Action playerAction) {
-        RecommendationEngine.Recommendation recommendation = recommendationEngine.getRecommendation(player, state);
-        OddsResult oddsResult = oddsCalculator.calculateOdds(player, state);
+        return analyzeDecision(player, state, playerAction, prepare(player, state));
+    }
+
+    private HandAnalysis analyzeDecision(Player player, GameState state, Action playerAction, Advice advice) {
+        RecommendationEngine.Recommendation recommendation = advice.recommendation();
+        OddsResult oddsResult = advice.odds();
+        EvEstimate evEstimate = evScorer != null ? evScorer.score(player, state, playerAction) : null;
 
         boolean wasOptimal = recommendation.action().matchesAction(playerAction);
 
@@ -34,7 +64,8 @@ public class DecisionAnalyzer {
             wasOptimal,
             oddsResult,
             feedback,
-            tips
+            tips,
+            evEstimate
         );
     }
 
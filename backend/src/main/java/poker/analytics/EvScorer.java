@@ -0,0 +1,143 @@
+package poker.analytics;
+
+import poker.ai.AIStrategy;
+import poker.ai.CallingStationAI;
+import poker.engine.BettingManager;
+import poker.engine.HandRollout;
+import poker.evaluation.WinnerDeterminer;
+import poker.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+// Scores a decision by simulation. The chosen action and the alternatives (fold, check or call, bets or
+// raises of half and full pot, all-in) are each played to the end of the hand by the bot strategies,
+// with the hero's later decisions left to heroStrategy. Every action is rolled out on the same deals,
+// so the differences between them carry far less noise than the EVs themselves. Workers on the common
+// fork-join pool each clone the table once and claim rollouts until the time budget or the cap runs out.
+public class EvScorer {
+    public static final long DEFAULT_BUDGET_MILLIS = 40;
+    public static final int DEFAULT_MAX_ROLLOUTS = 4000;
+
+    private static final EvScorer SHARED = new EvScorer();
+    private static final long ROLLOUT_SEED_STEP = 0xBF58476D1CE4E5B9L;
+
+    private final long budgetNanos;
+    private final int maxRollouts;
+    private final AIStrategy heroStrategy;
+    private final WinnerDeterminer showdown;
+
+    public EvScorer() {
+        this(DEFAULT_BUDGET_MILLIS, DEFAULT_MAX_ROLLOUTS, new CallingStationAI(), WinnerDeterminer.shared());
+    }
+
+    public EvScorer(long budgetMillis, int maxRollouts, AIStrategy heroStrategy, WinnerDeterminer showdown) {
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.maxRollouts = maxRollouts;
+        this.heroStrategy = heroStrategy;
+        this.showdown = showdown;
+    }
+
+    public static EvScorer shared() {
+        return SHARED;
+    }
+
+    // Call before the action is applied, with the live state of the decision
+    public EvEstimate score(Player hero, GameState state, Action chosen) {
+        List<Action> actions = candidates(hero, state);
+        int chosenIndex = indexOf(actions, chosen);
+        if (chosenIndex < 0) {
+            actions.add(chosen);
+            chosenIndex = actions.size() - 1;
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+        long baseSeed = ThreadLocalRandom.current().nextLong();
+        AtomicInteger nextRollout = new AtomicInteger();
+        int workers = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), maxRollouts));
+        double[] totals = IntStream.range(0, workers).parallel()
+            .mapToObj(worker -> rolloutWorker(hero, state, actions, baseSeed, deadline, nextRollout))
+            .reduce(new double[actions.size() + 1], EvScorer::add);
+
+        int rollouts = (int) totals[actions.size()];
+        List<EvEstimate.ActionEv> evs = new ArrayList<>(actions.size());
+        int bestIndex = 0;
+        for (int i = 0; i < actions.size(); i++) {
+            double evBb = rollouts > 0 ? totals[i] / rollouts / state.getBigBlind() : 0;
+            evs.add(new EvEstimate.ActionEv(actions.get(i), evBb));
+            if (evBb > evs.get(bestIndex).evBb()) {
+                bestIndex = i;
+            }
+        }
+        return new EvEstimate(evs, chosenIndex, bestIndex, rollouts);
+    }
+
+    // Sums of the hero's chip results per action, then the rollout count in the last slot
+    private double[] rolloutWorker(Player hero, GameState state, List<Action> actions, long baseSeed,
+                                   long deadline, AtomicInteger nextRollout) {
+        HandRollout rollout = new HandRollout(state, hero, heroStrategy, showdown);
+        double[] sums = new double[actions.size() + 1];
+        int index;
+        while ((index = nextRollout.getAndIncrement()) < maxRollouts) {
+            long seed = baseSeed + index * ROLLOUT_SEED_STEP;
+            for (int i = 0; i < actions.size(); i++) {
+                // Folding gives up nothing more than what is already in the pot
+                if (!actions.get(i).isFold()) {
+                    sums[i] += rollout.play(actions.get(i), seed);
+                }
+            }
+            sums[actions.size()]++;
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        return sums;
+    }
+
+    private static double[] add(double[] left, double[] right) {
+        double[] sum = new double[left.length];
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] = left[i] + right[i];
+        }
+        return sum;
+    }
+
+    List<Action> candidates(Player hero, GameState state) {
+        int toCall = state.getAmountToCall(hero);
+        int chips = hero.getChips();
+
+        List<Action> actions = new ArrayList<>();
+        if (toCall > 0) {
+            actions.add(Action.fold());
+        }
+        actions.add(toCall == 0 ? Action.check() : Action.call(toCall));
+        if (toCall >= chips) {
+            return actions;
+        }
+        for (double fraction : new double[]{0.5, 1.0}) {
+            Action sized = BettingManager.potSizedBet(hero, state, fraction);
+            if (sized != null) {
+                actions.add(sized);
+            }
+        }
+        actions.add(Action.allIn(chips));
+        return actions;
+    }
+
+    // Calls and all-ins are sized by the table, so only their type has to match
+    private static int indexOf(List<Action> actions, Action action) {
+        for (int i = 0; i < actions.size(); i++) {
+            Action candidate = actions.get(i);
+            if (candidate.getType() == action.getType() && (candidate.getAmount() == action.getAmount()
+                    || action.getType() == ActionType.CALL || action.getType() == ActionType.ALL_IN)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
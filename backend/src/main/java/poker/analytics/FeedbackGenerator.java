@@ -1,11 +1,21 @@
 package poker.analytics;
 
 import poker.model.*;
+import poker.strategy.StartingHandChart;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class FeedbackGenerator {
+    private final StartingHandChart chart;
+
+    public FeedbackGenerator() {
+        this(StartingHandChart.shared());
+    }
+
+    public FeedbackGenerator(StartingHandChart chart) {
+        this.chart = chart;
+    }
 
     public String generateContextualFeedback(HandAnalysis analysis) {
         StringBuilder feedback = new StringBuilder();
@@ -114,19 +124,7 @@ public class FeedbackGenerator {
     }
 
     private HandStrength getHandStrength(HoleCards cards) {
-        String notation = cards.getNotation();
-
-        if (notation.matches("AA|KK|QQ|AKs|AKo")) {
-            return HandStrength.PREMIUM;
-        }
-        if (notation.matches("JJ|TT|AQs|AQo|AJs|KQs")) {
-            return HandStrength.STRONG;
-        }
-        if (notation.matches("99|88|77|66|55|44|33|22|" +
-            "A[T98765432]s|K[JT]s|Q[JT]s|JTs|T9s|98s|87s|76s|65s")) {
-            return HandStrength.PLAYABLE;
-        }
-        return HandStrength.TRASH;
+        return chart.getHandStrength(cards);
     }
 
     private boolean isLikelyBluff(HandAnalysis analysis) {
@@ -0,0 +1,73 @@
+package poker.analytics;
+
+import poker.history.HandHistoryReader;
+import poker.history.HandQuery;
+import poker.history.SeatType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Offline leak finder over the binary hand history: win rate, VPIP/PFR and bb per hand of one seat type
+// by hand class, position, street and opponent, worst groups first. e.g.
+//   LeakFinder --dir=hand-history --seat=HUMAN --by=hand,position [--min-hands=100] [--top=20]
+public final class LeakFinder {
+
+    private LeakFinder() {
+    }
+
+    // Only hands the index lists for the seat type are decoded, spread over the common fork-join pool
+    public static LeakReport analyze(HandHistoryReader reader, SeatType seatType) {
+        return reader.reduce(HandQuery.any().seat(seatType), LeakReport::new,
+            (report, hand) -> report.add(hand, seatType), LeakReport::merge);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        SeatType seatType = SeatType.valueOf(options.getOrDefault("seat", "HUMAN").toUpperCase(Locale.ROOT));
+        EnumSet<LeakReport.Dimension> by = EnumSet.noneOf(LeakReport.Dimension.class);
+        for (String name : options.getOrDefault("by", "hand,position").split(",")) {
+            if (!name.isBlank()) {
+                by.add(LeakReport.Dimension.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        int minHands = Integer.parseInt(options.getOrDefault("min-hands", "100"));
+        int top = Integer.parseInt(options.getOrDefault("top", "20"));
+
+        long started = System.nanoTime();
+        try (HandHistoryReader reader = HandHistoryReader.open(Path.of(options.getOrDefault("dir", "hand-history")))) {
+            System.out.printf("Opened %,d hands in %d segments in %.1f ms%n",
+                reader.getHandCount(), reader.getSegmentCount(), (System.nanoTime() - started) / 1e6);
+
+            started = System.nanoTime();
+            LeakReport report = analyze(reader, seatType);
+            LeakReport.Totals totals = report.getTotals();
+            System.out.printf("%s: %,d hands in %.0f ms%n", seatType, totals.hands(), (System.nanoTime() - started) / 1e6);
+            System.out.println("  " + format("all", totals));
+
+            List<LeakReport.Group> groups = report.groups(by, minHands);
+            System.out.printf("%nWorst %d of %d groups by %s with %d+ hands:%n",
+                Math.min(top, groups.size()), groups.size(), by, minHands);
+            for (LeakReport.Group group : groups.subList(0, Math.min(top, groups.size()))) {
+                System.out.println("  " + format(group.label(), group.totals()));
+            }
+        }
+    }
+
+    private static String format(String label, LeakReport.Totals totals) {
+        return String.format("%-32s %,9d hands  won %5.1f%%  VPIP %5.1f%%  PFR %5.1f%%  %+7.2f +/- %.2f bb/hand  %+,10.0f bb",
+            label, totals.hands(), totals.winRate() * 100, totals.vpipRate() * 100, totals.pfrRate() * 100,
+            totals.bbPerHand(), totals.standardError(), totals.netBb());
+    }
+}
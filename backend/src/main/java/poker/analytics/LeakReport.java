@@ -0,0 +1,245 @@
+package poker.analytics;
+
+import poker.history.RecordedHand;
+import poker.history.SeatType;
+import poker.model.ActionType;
+import poker.model.GameStage;
+import poker.model.HoleCards;
+import poker.model.Position;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Results of the analysed seats over many stored hands, in flat primitive arrays indexed by
+// starting-hand class × position × street the seat's hand ended on × main opponent type.
+// One report per worker; partial reports are merged cell by cell.
+public final class LeakReport {
+    public static final int CLASSES = HoleCards.CLASSES;
+    // The last position slot is for seats whose position is unknown
+    public static final int POSITIONS = Position.values().length + 1;
+    public static final int STREETS = GameStage.values().length;
+    public static final int OPPONENTS = SeatType.values().length;
+    static final int CELLS = CLASSES * POSITIONS * STREETS * OPPONENTS;
+
+    private static final Position[] POSITION_VALUES = Position.values();
+    private static final GameStage[] STREET_VALUES = GameStage.values();
+    private static final SeatType[] OPPONENT_VALUES = SeatType.values();
+    private static final int NOT_FOLDED = Integer.MAX_VALUE;
+
+    public enum Dimension { HAND, POSITION, STREET, OPPONENT }
+
+    private final int[] hands = new int[CELLS];
+    private final int[] wins = new int[CELLS];
+    private final int[] vpip = new int[CELLS];
+    private final int[] pfr = new int[CELLS];
+    private final double[] netBb = new double[CELLS];
+    private final double[] netBbSquared = new double[CELLS];
+
+    // Per-hand scratch
+    private final int[] foldedAt = new int[RecordedHand.MAX_SEATS];
+    private final int[] invested = new int[RecordedHand.MAX_SEATS];
+    private final int[] preflopPut = new int[RecordedHand.MAX_SEATS];
+    private final boolean[] voluntary = new boolean[RecordedHand.MAX_SEATS];
+    private final boolean[] raised = new boolean[RecordedHand.MAX_SEATS];
+
+    static int cell(int handClass, int position, int street, int opponent) {
+        return ((handClass * POSITIONS + position) * STREETS + street) * OPPONENTS + opponent;
+    }
+
+    // Adds every seat of the hand that matches seatType and has known hole cards
+    public void add(RecordedHand hand, SeatType seatType) {
+        int seats = hand.getSeatCount();
+        for (int seat = 0; seat < seats; seat++) {
+            foldedAt[seat] = NOT_FOLDED;
+            invested[seat] = 0;
+            preflopPut[seat] = 0;
+            voluntary[seat] = false;
+            raised[seat] = false;
+        }
+
+        int preflopHigh = hand.getBigBlind();
+        for (int i = 0; i < hand.getActionCount(); i++) {
+            int seat = hand.getActionSeat(i);
+            ActionType type = hand.getActionType(i);
+            int amount = hand.getActionAmount(i);
+            invested[seat] += amount;
+            if (type == ActionType.FOLD) {
+                foldedAt[seat] = i;
+            }
+            if (hand.getActionStreet(i) == GameStage.PREFLOP && amount > 0) {
+                voluntary[seat] = true;
+                preflopPut[seat] += amount;
+                // Blinds are not actions, so an all-in only counts as a raise when it tops the big blind
+                // and everything put in before it
+                if (type == ActionType.BET || type == ActionType.RAISE
+                        || type == ActionType.ALL_IN && preflopPut[seat] > preflopHigh) {
+                    raised[seat] = true;
+                }
+                preflopHigh = Math.max(preflopHigh, preflopPut[seat]);
+            }
+        }
+
+        for (int seat = 0; seat < seats; seat++) {
+            int card1 = hand.getHoleCard(seat, 0);
+            int card2 = hand.getHoleCard(seat, 1);
+            if (hand.getSeatType(seat) != seatType
+                    || card1 == RecordedHand.UNKNOWN_CARD || card2 == RecordedHand.UNKNOWN_CARD) {
+                continue;
+            }
+            Position position = hand.getPosition(seat);
+            int street = foldedAt[seat] != NOT_FOLDED ? hand.getActionStreet(foldedAt[seat]).ordinal()
+                : hand.isShowdown() ? GameStage.SHOWDOWN.ordinal()
+                : hand.getLastStage().ordinal();
+            int index = cell(HoleCards.classIndex(card1, card2),
+                position != null ? position.ordinal() : POSITIONS - 1,
+                street,
+                mainOpponent(hand, seat).ordinal());
+
+            double bb = hand.getNet(seat) / (double) hand.getBigBlind();
+            hands[index]++;
+            wins[index] += hand.getNet(seat) > 0 ? 1 : 0;
+            vpip[index] += voluntary[seat] ? 1 : 0;
+            pfr[index] += raised[seat] ? 1 : 0;
+            netBb[index] += bb;
+            netBbSquared[index] += bb * bb;
+        }
+    }
+
+    // The opponent who stayed in the longest; between two who never folded, the one who put in more
+    private SeatType mainOpponent(RecordedHand hand, int seat) {
+        int best = -1;
+        for (int other = 0; other < hand.getSeatCount(); other++) {
+            if (other != seat && (best < 0 || foldedAt[other] > foldedAt[best]
+                    || foldedAt[other] == foldedAt[best] && invested[other] > invested[best])) {
+                best = other;
+            }
+        }
+        return best >= 0 ? hand.getSeatType(best) : SeatType.UNKNOWN;
+    }
+
+    public LeakReport merge(LeakReport other) {
+        for (int i = 0; i < CELLS; i++) {
+            hands[i] += other.hands[i];
+            wins[i] += other.wins[i];
+            vpip[i] += other.vpip[i];
+            pfr[i] += other.pfr[i];
+            netBb[i] += other.netBb[i];
+            netBbSquared[i] += other.netBbSquared[i];
+        }
+        return this;
+    }
+
+    public Totals getTotals() {
+        return groups(EnumSet.noneOf(Dimension.class), 0).stream()
+            .findFirst()
+            .map(Group::totals)
+            .orElse(new Totals(0, 0, 0, 0, 0, 0));
+    }
+
+    // Cells rolled up over the dimensions not in `by`, groups with at least minHands hands,
+    // biggest total loss first
+    public List<Group> groups(Set<Dimension> by, int minHands) {
+        boolean byHand = by.contains(Dimension.HAND);
+        boolean byPosition = by.contains(Dimension.POSITION);
+        boolean byStreet = by.contains(Dimension.STREET);
+        boolean byOpponent = by.contains(Dimension.OPPONENT);
+
+        int[] groupHands = new int[CELLS];
+        int[] groupWins = new int[CELLS];
+        int[] groupVpip = new int[CELLS];
+        int[] groupPfr = new int[CELLS];
+        double[] groupNet = new double[CELLS];
+        double[] groupNetSquared = new double[CELLS];
+        int index = 0;
+        for (int handClass = 0; handClass < CLASSES; handClass++) {
+            for (int position = 0; position < POSITIONS; position++) {
+                for (int street = 0; street < STREETS; street++) {
+                    for (int opponent = 0; opponent < OPPONENTS; opponent++, index++) {
+                        if (hands[index] == 0) {
+                            continue;
+                        }
+                        int group = cell(byHand ? handClass : 0, byPosition ? position : 0,
+                            byStreet ? street : 0, byOpponent ? opponent : 0);
+                        groupHands[group] += hands[index];
+                        groupWins[group] += wins[index];
+                        groupVpip[group] += vpip[index];
+                        groupPfr[group] += pfr[index];
+                        groupNet[group] += netBb[index];
+                        groupNetSquared[group] += netBbSquared[index];
+                    }
+                }
+            }
+        }
+
+        List<Group> groups = new ArrayList<>();
+        for (int group = 0; group < CELLS; group++) {
+            if (groupHands[group] == 0 || groupHands[group] < minHands) {
+                continue;
+            }
+            int opponent = group % OPPONENTS;
+            int street = group / OPPONENTS % STREETS;
+            int position = group / (OPPONENTS * STREETS) % POSITIONS;
+            int handClass = group / (OPPONENTS * STREETS * POSITIONS);
+            groups.add(new Group(
+                byHand ? handClass : -1,
+                byPosition && position < POSITION_VALUES.length ? POSITION_VALUES[position] : null,
+                byStreet ? STREET_VALUES[street] : null,
+                byOpponent ? OPPONENT_VALUES[opponent] : null,
+                new Totals(groupHands[group], groupWins[group], groupVpip[group], groupPfr[group],
+                    groupNet[group], groupNetSquared[group])));
+        }
+        groups.sort(Comparator.comparingDouble(group -> group.totals().netBb()));
+        return groups;
+    }
+
+    public record Totals(int hands, int wins, int vpip, int pfr, double netBb, double netBbSquared) {
+        public double winRate() {
+            return hands > 0 ? (double) wins / hands : 0;
+        }
+
+        public double vpipRate() {
+            return hands > 0 ? (double) vpip / hands : 0;
+        }
+
+        public double pfrRate() {
+            return hands > 0 ? (double) pfr / hands : 0;
+        }
+
+        // Average result, the observed EV
+        public double bbPerHand() {
+            return hands > 0 ? netBb / hands : 0;
+        }
+
+        public double standardError() {
+            if (hands < 2) {
+                return 0;
+            }
+            double mean = bbPerHand();
+            double variance = Math.max(0, (netBbSquared - hands * mean * mean) / (hands - 1));
+            return Math.sqrt(variance / hands);
+        }
+    }
+
+    // Rolled-up dimensions are -1 or null
+    public record Group(int handClass, Position position, GameStage street, SeatType opponent, Totals totals) {
+        public String label() {
+            StringBuilder sb = new StringBuilder();
+            if (handClass >= 0) {
+                sb.append(HoleCards.classNotation(handClass)).append(' ');
+            }
+            if (position != null) {
+                sb.append(position.getAbbreviation()).append(' ');
+            }
+            if (street != null) {
+                sb.append("ended ").append(street).append(' ');
+            }
+            if (opponent != null) {
+                sb.append("vs ").append(opponent).append(' ');
+            }
+            return sb.isEmpty() ? "all" : sb.toString().trim();
+        }
+    }
+}
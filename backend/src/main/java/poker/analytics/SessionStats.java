@@ -4,16 +4,33 @@ import poker.model.*;
 
 import java.util.*;
 
+// Streaming session totals: fixed-size counters per starting-hand class plus a ring of the most
+// recent analyses, so memory stays the same however many hands are played
 public class SessionStats {
+    public static final int RECENT_ANALYSES = 64;
+
+    private static final int CLASSES = HoleCards.CLASSES;
+    // Offsuit hands below king high, the ones the "fold trash earlier" tip is about
+    private static final boolean[] TRASH = new boolean[CLASSES];
+
+    static {
+        for (int handClass = 0; handClass < CLASSES; handClass++) {
+            String notation = HoleCards.classNotation(handClass);
+            TRASH[handClass] = notation.contains("o") && !notation.startsWith("A") && !notation.startsWith("K");
+        }
+    }
+
     private int handsPlayed;
     private int handsWon;
     private int startingChips;
     private int currentChips;
     private int optimalDecisions;
     private int totalDecisions;
-    private final Map<String, Integer> handResults;
-    private final Map<String, Integer> handsPlayedByNotation;
-    private final List<HandAnalysis> handHistory;
+    private int scoredDecisions;
+    private double evLostBb;
+    private final int[] chipsByClass = new int[CLASSES];
+    private final int[] handsByClass = new int[CLASSES];
+    private final HandAnalysis[] recent = new HandAnalysis[RECENT_ANALYSES];
 
     public SessionStats(int startingChips) {
         this.startingChips = startingChips;
@@ -22,17 +39,18 @@ public class SessionStats {
         this.handsWon = 0;
         this.optimalDecisions = 0;
         this.totalDecisions = 0;
-        this.handResults = new HashMap<>();
-        this.handsPlayedByNotation = new HashMap<>();
-        this.handHistory = new ArrayList<>();
     }
 
     public void recordDecision(HandAnalysis analysis) {
+        recent[totalDecisions % RECENT_ANALYSES] = analysis;
         totalDecisions++;
         if (analysis.wasOptimal()) {
             optimalDecisions++;
         }
-        handHistory.add(analysis);
+        if (analysis.evEstimate() != null) {
+            scoredDecisions++;
+            evLostBb += analysis.evEstimate().getEvLossBb();
+        }
     }
 
     public void recordHandResult(HoleCards cards, int chipsDelta, boolean won) {
@@ -40,9 +58,9 @@ public class SessionStats {
         if (won) handsWon++;
         currentChips += chipsDelta;
 
-        String notation = cards.getNotation();
-        handResults.merge(notation, chipsDelta, Integer::sum);
-        handsPlayedByNotation.merge(notation, 1, Integer::sum);
+        int handClass = cards.getClassIndex();
+        chipsByClass[handClass] += chipsDelta;
+        handsByClass[handClass]++;
     }
 
     public void updateChips(int chips) {
@@ -69,6 +87,10 @@ public class SessionStats {
         sb.append(String.format("Выиграно: %d (%.1f%%)\n", handsWon, getWinRate() * 100));
         sb.append(String.format("Фишки: %d (%+d)\n", currentChips, getChipsDelta()));
         sb.append(String.format("Оптимальных решений: %.1f%%\n", getOptimalPlayRate() * 100));
+        if (scoredDecisions > 0) {
+            sb.append(String.format("Потеряно EV: %.1f bb (%.2f bb за решение)\n",
+                evLostBb, evLostBb / scoredDecisions));
+        }
 
         sb.append("\n--- Лучшие руки ---\n");
         sb.append(getTopHands(3, true));
@@ -85,20 +107,27 @@ public class SessionStats {
     private String getTopHands(int count, boolean best) {
         StringBuilder sb = new StringBuilder();
 
-        List<Map.Entry<String, Integer>> sorted = handResults.entrySet().stream()
-            .sorted((a, b) -> best
-                ? Integer.compare(b.getValue(), a.getValue())
-                : Integer.compare(a.getValue(), b.getValue()))
-            .limit(count)
-            .toList();
-
-        for (Map.Entry<String, Integer> entry : sorted) {
-            int timesPlayed = handsPlayedByNotation.getOrDefault(entry.getKey(), 1);
+        // Selection over the 169 classes, no sorting or boxing
+        boolean[] taken = new boolean[CLASSES];
+        int shown = 0;
+        for (; shown < count; shown++) {
+            int pick = -1;
+            for (int handClass = 0; handClass < CLASSES; handClass++) {
+                if (handsByClass[handClass] > 0 && !taken[handClass] && (pick < 0 || (best
+                        ? chipsByClass[handClass] > chipsByClass[pick]
+                        : chipsByClass[handClass] < chipsByClass[pick]))) {
+                    pick = handClass;
+                }
+            }
+            if (pick < 0) {
+                break;
+            }
+            taken[pick] = true;
             sb.append(String.format("  %s: %+d (%d раз)\n",
-                entry.getKey(), entry.getValue(), timesPlayed));
+                HoleCards.classNotation(pick), chipsByClass[pick], handsByClass[pick]));
         }
 
-        if (sorted.isEmpty()) {
+        if (shown == 0) {
             sb.append("  (пока нет данных)\n");
         }
 
@@ -116,13 +145,12 @@ public class SessionStats {
             sb.append("  • Отличная игра! Продолжай в том же духе\n");
         }
 
-        long trashLosses = handResults.entrySet().stream()
-            .filter(e -> e.getKey().contains("o") &&
-                        !e.getKey().startsWith("A") &&
-                        !e.getKey().startsWith("K"))
-            .mapToInt(Map.Entry::getValue)
-            .filter(v -> v < 0)
-            .sum();
+        long trashLosses = 0;
+        for (int handClass = 0; handClass < CLASSES; handClass++) {
+            if (TRASH[handClass] && chipsByClass[handClass] < 0) {
+                trashLosses += chipsByClass[handClass];
+            }
+        }
 
         if (trashLosses < -100) {
             sb.append("  • Фолди мусорные руки раньше - они стоят тебе фишек\n");
@@ -151,7 +179,18 @@ public class SessionStats {
         return optimalDecisions;
     }
 
+    // Total simulated EV given up against the best alternative, over decisions that were scored
+    public double getEvLostBb() {
+        return evLostBb;
+    }
+
+    // The last RECENT_ANALYSES decisions, oldest first
     public List<HandAnalysis> getHandHistory() {
-        return new ArrayList<>(handHistory);
+        int kept = Math.min(totalDecisions, RECENT_ANALYSES);
+        List<HandAnalysis> history = new ArrayList<>(kept);
+        for (int i = totalDecisions - kept; i < totalDecisions; i++) {
+            history.add(recent[i % RECENT_ANALYSES]);
+        }
+        return history;
     }
 }
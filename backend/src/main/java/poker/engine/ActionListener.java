@@ -0,0 +1,15 @@
+package poker.engine;
+
+import poker.model.Action;
+import poker.model.GameState;
+import poker.model.Player;
+
+// Follows the decisions of every hand a GameEngine plays
+public interface ActionListener {
+    // After the blinds and hole cards, before the first decision
+    default void handStarted(GameState state) {
+    }
+
+    // Before the action is applied, so state still shows the spot it was chosen in
+    void actionChosen(Player player, GameState state, Action action);
+}
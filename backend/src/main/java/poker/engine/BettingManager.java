@@ -1,6 +1,7 @@
 package poker.engine;
 
 import poker.model.*;
+import poker.trace.BetEvent;
 
 import java.util.List;
 
@@ -25,10 +26,14 @@ public class BettingManager {
 
         state.getPot().add(sbAmount + bbAmount);
         state.setCurrentBet(bigBlind);
+
+        traceBet(state, sbPlayer, "SMALL_BLIND", sbAmount);
+        traceBet(state, bbPlayer, "BIG_BLIND", bbAmount);
     }
 
     public void applyAction(GameState state, Player player, Action action) {
         int toCall = state.getAmountToCall(player);
+        int chipsBefore = player.getChips();
 
         switch (action.getType()) {
             case FOLD -> player.fold();
@@ -70,6 +75,21 @@ public class BettingManager {
                 }
             }
         }
+
+        traceBet(state, player, action.getType().name(), chipsBefore - player.getChips());
+    }
+
+    private static void traceBet(GameState state, Player player, String action, int chipsAdded) {
+        if (BetEvent.isTracing()) {
+            BetEvent event = new BetEvent();
+            event.player = player.getName();
+            event.action = action;
+            event.chipsAdded = chipsAdded;
+            event.potAfter = state.getPot().getTotal();
+            event.currentBetAfter = state.getCurrentBet();
+            event.allIn = player.isAllIn();
+            event.commit();
+        }
     }
 
     public boolean isRoundComplete(GameState state) {
@@ -78,24 +98,26 @@ public class BettingManager {
             return true;
         }
 
-        // No one can act (all folded or all-in)
-        if (!state.hasPlayersWhoCanAct()) {
-            return true;
+        int targetBet = state.getCurrentBet();
+        List<Player> players = state.getPlayers();
+        int activeCount = 0;
+        boolean allMatched = true;
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            if (p.canAct()) {
+                activeCount++;
+                // All players who can act must have matched the bet
+                allMatched &= p.getCurrentBet() == targetBet;
+            }
         }
 
-        List<Player> activePlayers = state.getActivePlayers();
-        if (activePlayers.isEmpty()) {
+        // No one can act (all folded or all-in)
+        if (activeCount == 0) {
             return true;
         }
 
-        int targetBet = state.getCurrentBet();
-
-        // All players who can act must have matched the bet
-        boolean allMatched = activePlayers.stream()
-            .allMatch(p -> p.getCurrentBet() == targetBet);
-
         // Everyone must have had a chance to act
-        boolean allActed = state.getActionsThisRound() >= activePlayers.size();
+        boolean allActed = state.getActionsThisRound() >= activeCount;
 
         return allMatched && allActed;
     }
@@ -123,4 +145,19 @@ public class BettingManager {
     public int getMinRaise(GameState state) {
         return state.getCurrentBet() + bigBlind;
     }
+
+    // A bet, or a raise over the current bet, of fraction of the pot after calling, at least a big blind;
+    // null when it would take the whole stack, which is an all-in instead. Shared by the bots' searches
+    public static Action potSizedBet(Player player, GameState state, double fraction) {
+        int chips = player.getChips();
+        int bigBlind = state.getBigBlind();
+        int pot = state.getPot().getTotal();
+        if (state.getCurrentBet() == 0) {
+            int bet = Math.max(bigBlind, (int) (pot * fraction));
+            return bet < chips ? Action.bet(bet) : null;
+        }
+        int toCall = state.getAmountToCall(player);
+        int total = state.getCurrentBet() + Math.max(bigBlind, (int) ((pot + toCall) * fraction));
+        return total - player.getCurrentBet() < chips ? Action.raise(total) : null;
+    }
 }
@@ -0,0 +1,230 @@
+package poker.engine;
+
+import poker.ai.AIStrategy;
+import poker.evaluation.WinnerDeterminer;
+import poker.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+// Monte Carlo tree search over the hero's betting decisions. Each iteration deals the unseen cards at
+// random and plays the hand to the end through HandRollout, so bets, calls and round ends follow
+// BettingManager and the opponents act as their own strategies would. The tree is open-loop: a node is
+// the sequence of the hero's moves so far, whatever the opponents and the cards did in between, and
+// moves are abstract (fold, check or call, half pot, pot, all-in) mapped onto the spot at hand. Inside
+// the tree moves are chosen by UCB1 over the chip results; one node is added per iteration and later
+// decisions fall to the rollout policy. Workers share the tree without locks: visits and chip sums are
+// atomic counters, children are attached by compare-and-set, and a visit is counted as soon as a move is
+// chosen so concurrent workers spread over the moves before their results arrive.
+public final class BettingTreeSearch {
+    public enum Move { FOLD, CHECK_CALL, HALF_POT, POT, ALL_IN }
+
+    public record Result(Action action, Move move, int iterations) {}
+
+    private static final Move[] MOVES = Move.values();
+    private static final long ITERATION_SEED_STEP = 0xBF58476D1CE4E5B9L;
+    private static final double EXPLORATION = 1.4;
+
+    private final ForkJoinPool pool;
+    private final int workers;
+    private final AIStrategy rolloutPolicy;
+    private final WinnerDeterminer showdown;
+
+    // workers: rollout threads of pool sharing one tree; rolloutPolicy plays the hero below the tree
+    // and the seats without a bot
+    public BettingTreeSearch(ForkJoinPool pool, int workers, AIStrategy rolloutPolicy, WinnerDeterminer showdown) {
+        this.pool = pool;
+        this.workers = Math.max(1, workers);
+        this.rolloutPolicy = rolloutPolicy;
+        this.showdown = showdown;
+    }
+
+    // Call with the live state of the decision; stops after maxIterations or budgetNanos, whichever
+    // comes first, and returns the most visited move at the root. The seed fixes the deals of every
+    // iteration, so a single worker that reaches maxIterations searches the same way each time.
+    public Result search(Player hero, GameState state, int maxIterations, long budgetNanos, long seed) {
+        long deadline = System.nanoTime() + budgetNanos;
+        double scale = Math.max(2 * state.getBigBlind(), state.getPot().getTotal() + state.getAmountToCall(hero));
+        Node root = new Node();
+        AtomicInteger nextIteration = new AtomicInteger();
+
+        if (workers == 1) {
+            runWorker(hero, state, root, scale, seed, maxIterations, deadline, nextIteration);
+        } else {
+            pool.submit(() -> IntStream.range(0, workers).parallel().forEach(worker ->
+                runWorker(hero, state, root, scale, seed, maxIterations, deadline, nextIteration))).join();
+        }
+
+        Move best = null;
+        for (Move move : MOVES) {
+            if (toAction(move, hero, state) != null
+                    && (best == null || root.visits.get(move.ordinal()) > root.visits.get(best.ordinal()))) {
+                best = move;
+            }
+        }
+        int iterations = Math.min(nextIteration.get(), maxIterations);
+        return new Result(toAction(best, hero, state), best, iterations);
+    }
+
+    private void runWorker(Player hero, GameState state, Node root, double scale, long seed,
+                           int maxIterations, long deadline, AtomicInteger nextIteration) {
+        TreeWalker walker = new TreeWalker(root, scale, rolloutPolicy.copy());
+        HandRollout rollout = new HandRollout(state, hero, walker, rolloutPolicy, showdown);
+        int index;
+        while ((index = nextIteration.getAndIncrement()) < maxIterations) {
+            Move first = walker.begin(hero, state);
+            // Folding gives up nothing more than what is already in the pot
+            int result = first == Move.FOLD ? 0
+                : rollout.play(toAction(first, hero, state), seed + index * ITERATION_SEED_STEP);
+            walker.backpropagate(result);
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+    }
+
+    public AIStrategy getRolloutPolicy() {
+        return rolloutPolicy;
+    }
+
+    // The move as an action in this spot, or null if it is not legal here or duplicates a smaller move
+    static Action toAction(Move move, Player player, GameState state) {
+        int toCall = state.getAmountToCall(player);
+        int chips = player.getChips();
+        if (move == Move.FOLD) {
+            return toCall > 0 ? Action.fold() : null;
+        }
+        if (move == Move.CHECK_CALL) {
+            return toCall == 0 ? Action.check() : toCall >= chips ? Action.allIn(chips) : Action.call(toCall);
+        }
+        if (toCall >= chips) {
+            return null;
+        }
+        if (move == Move.ALL_IN) {
+            return Action.allIn(chips);
+        }
+        return BettingManager.potSizedBet(player, state, move == Move.HALF_POT ? 0.5 : 1.0);
+    }
+
+    // Statistics of the moves taken after one sequence of hero moves
+    private static final class Node {
+        final AtomicIntegerArray visits = new AtomicIntegerArray(MOVES.length);
+        final AtomicLongArray chips = new AtomicLongArray(MOVES.length);
+        final AtomicReferenceArray<Node> children = new AtomicReferenceArray<>(MOVES.length);
+
+        // The child after move, attached by whichever worker gets there first; created reports a new node
+        Node child(int move, boolean[] created) {
+            Node child = children.get(move);
+            if (child == null) {
+                Node fresh = new Node();
+                created[0] = children.compareAndSet(move, null, fresh);
+                child = children.get(move);
+            }
+            return child;
+        }
+    }
+
+    // Plays the hero seat of one worker's rollouts: moves from the tree while it lasts, then the rollout
+    // policy. Also the only strategy object of that seat, so copy returns this.
+    private static final class TreeWalker implements AIStrategy {
+        private final Node root;
+        private final double scale;
+        private final AIStrategy policy;
+        private final List<Node> pathNodes = new ArrayList<>();
+        private final List<Move> pathMoves = new ArrayList<>();
+        private final boolean[] created = new boolean[1];
+        private boolean inTree;
+
+        TreeWalker(Node root, double scale, AIStrategy policy) {
+            this.root = root;
+            this.scale = scale;
+            this.policy = policy;
+        }
+
+        Move begin(Player hero, GameState state) {
+            pathNodes.clear();
+            pathMoves.clear();
+            inTree = true;
+            return select(root, hero, state);
+        }
+
+        void backpropagate(int result) {
+            for (int i = 0; i < pathNodes.size(); i++) {
+                pathNodes.get(i).chips.addAndGet(pathMoves.get(i).ordinal(), result);
+            }
+        }
+
+        @Override
+        public Action decide(Player player, GameState state) {
+            if (!inTree) {
+                return policy.decide(player, state);
+            }
+            Node parent = pathNodes.get(pathNodes.size() - 1);
+            Node node = parent.child(pathMoves.get(pathMoves.size() - 1).ordinal(), created);
+            if (created[0]) {
+                inTree = false;
+                created[0] = false;
+            }
+            return toAction(select(node, player, state), player, state);
+        }
+
+        // UCB1 over the legal moves, untried moves first
+        private Move select(Node node, Player player, GameState state) {
+            int total = 0;
+            for (Move move : MOVES) {
+                if (toAction(move, player, state) != null) {
+                    total += node.visits.get(move.ordinal());
+                }
+            }
+            double logTotal = Math.log(Math.max(1, total));
+            Move best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (Move move : MOVES) {
+                if (toAction(move, player, state) == null) {
+                    continue;
+                }
+                int visits = node.visits.get(move.ordinal());
+                if (visits == 0) {
+                    best = move;
+                    break;
+                }
+                double score = node.chips.get(move.ordinal()) / (double) visits
+                    + EXPLORATION * scale * Math.sqrt(logTotal / visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = move;
+                }
+            }
+            node.visits.incrementAndGet(best.ordinal());
+            pathNodes.add(node);
+            pathMoves.add(best);
+            return best;
+        }
+
+        @Override
+        public void reseed(long seed) {
+            policy.reseed(seed);
+        }
+
+        @Override
+        public AIStrategy copy() {
+            return this;
+        }
+
+        @Override
+        public String getPlayerTypeName() {
+            return policy.getPlayerTypeName();
+        }
+
+        @Override
+        public String getPlayerTypeDescription() {
+            return policy.getPlayerTypeDescription();
+        }
+    }
+}
@@ -3,16 +3,31 @@ package poker.engine;
 import poker.model.*;
 
 import java.util.List;
+import java.util.Random;
 
 public class DealerManager {
+    private final Random random;
     private Deck deck;
 
     public DealerManager() {
-        this.deck = new Deck();
+        this(new Random());
+    }
+
+    public DealerManager(Random random) {
+        this.random = random;
+        this.deck = new Deck(random);
+    }
+
+    public long nextHandSeed() {
+        return random.nextLong();
+    }
+
+    // The deck shuffles with this dealer's Random, so reseeding fixes the whole deal
+    public void reseed(long seed) {
+        random.setSeed(seed);
     }
 
     public void dealHoleCards(List<Player> players) {
-        deck = new Deck();
         deck.shuffle();
 
         for (Player player : players) {
@@ -25,16 +40,19 @@ public class DealerManager {
     public void dealFlop(GameState state) {
         deck.deal();
         state.addCommunityCards(deck.deal(3));
+        state.setBoard(BoardAnalysis.of(state.getCommunityCards()));
     }
 
     public void dealTurn(GameState state) {
         deck.deal();
         state.addCommunityCard(deck.deal());
+        state.setBoard(BoardAnalysis.of(state.getCommunityCards()));
     }
 
     public void dealRiver(GameState state) {
         deck.deal();
         state.addCommunityCard(deck.deal());
+        state.setBoard(BoardAnalysis.of(state.getCommunityCards()));
     }
 
     public Deck getDeck() {
@@ -42,6 +60,6 @@ public class DealerManager {
     }
 
     public void reset() {
-        deck = new Deck();
+        deck = new Deck(random);
     }
 }
@@ -0,0 +1,11 @@
+package poker.engine;
+
+import poker.ai.AIStrategy;
+import poker.model.GameStage;
+
+// Timing hooks for GameEngine; the engine only reads the clock when a metrics sink is set
+public interface EngineMetrics {
+    void handPlayed(long durationNanos);
+
+    void botDecision(AIStrategy strategy, GameStage street, long durationNanos);
+}
@@ -3,9 +3,16 @@ package poker.engine;
 import poker.model.*;
 import poker.analytics.*;
 import poker.evaluation.WinnerDeterminer;
+import poker.history.HandHistoryWriter;
+import poker.history.RecordedHand;
+import poker.history.SeatType;
+import poker.trace.DecisionEvent;
+import poker.trace.HandEvent;
+import poker.trace.StreetEvent;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
@@ -17,18 +24,42 @@ public class GameEngine {
     private final List<Player> players;
     private GameState currentState;
     private int buttonPosition;
+    private volatile GameSnapshot snapshot;
+    private boolean publishSnapshots;
+    private long snapshotVersion;
 
     private BiFunction<GameState, Player, Action> humanActionProvider;
     private Consumer<GameState> stateUpdateListener;
     private Consumer<String> messageListener;
     private Consumer<HandAnalysis> analysisListener;
+    private ActionListener actionListener;
+    private EngineMetrics metrics;
+    private SlowHandPolicy slowHandPolicy;
+    private Consumer<SlowHandRecord> slowHandListener;
+    private HandLog handLog;
+    private HandHistoryWriter history;
+    private RecordedHand recordedHand;
 
     public GameEngine(List<Player> players, int smallBlind, int bigBlind) {
+        this(players, smallBlind, bigBlind, WinnerDeterminer.shared(), DecisionAnalyzer.shared());
+    }
+
+    public GameEngine(List<Player> players, int smallBlind, int bigBlind, Random random) {
+        this(players, smallBlind, bigBlind, new DealerManager(random), WinnerDeterminer.shared(), DecisionAnalyzer.shared());
+    }
+
+    public GameEngine(List<Player> players, int smallBlind, int bigBlind,
+                      WinnerDeterminer showdown, DecisionAnalyzer analyzer) {
+        this(players, smallBlind, bigBlind, new DealerManager(), showdown, analyzer);
+    }
+
+    public GameEngine(List<Player> players, int smallBlind, int bigBlind, DealerManager dealer,
+                      WinnerDeterminer showdown, DecisionAnalyzer analyzer) {
         this.players = new ArrayList<>(players);
-        this.dealer = new DealerManager();
+        this.dealer = dealer;
         this.betting = new BettingManager(smallBlind, bigBlind);
-        this.showdown = new WinnerDeterminer();
-        this.analyzer = new DecisionAnalyzer();
+        this.showdown = showdown;
+        this.analyzer = analyzer;
         this.buttonPosition = 0;
     }
 
@@ -48,16 +79,90 @@ public class GameEngine {
         this.analysisListener = listener;
     }
 
+    public void setActionListener(ActionListener listener) {
+        this.actionListener = listener;
+    }
+
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void setSlowHandCapture(SlowHandPolicy policy, Consumer<SlowHandRecord> listener) {
+        this.slowHandPolicy = policy;
+        this.slowHandListener = listener;
+        this.handLog = listener != null ? new HandLog() : null;
+    }
+
+    public void setHandHistory(HandHistoryWriter history) {
+        this.history = history;
+        this.recordedHand = history != null ? new RecordedHand() : null;
+    }
+
+    public void setPublishSnapshots(boolean publishSnapshots) {
+        this.publishSnapshots = publishSnapshots;
+    }
+
     public HandResult playHand() {
+        return playHand(dealer.nextHandSeed());
+    }
+
+    // The seed fixes the deck and every bot's randomness, so a captured hand replays exactly as long as
+    // no bot is time-budgeted: how far EquityAI or MctsAI get within their budget depends on the machine
+    public HandResult playHand(long seed) {
+        HandEvent event = HandEvent.beginIfEnabled();
+        long started = metrics != null ? System.nanoTime() : 0L;
+        HandResult result = null;
+        try {
+            result = playStreets(seed);
+            return result;
+        } finally {
+            if (metrics != null) {
+                metrics.handPlayed(System.nanoTime() - started);
+            }
+            if (recordedHand != null && result != null) {
+                finishHistory();
+            }
+            if (handLog != null && result != null) {
+                SlowHandRecord slowHand = handLog.finish(slowHandPolicy, betting.getSmallBlind(), betting.getBigBlind());
+                if (slowHand != null) {
+                    slowHandListener.accept(slowHand);
+                }
+            }
+            if (event != null && event.shouldCommit()) {
+                event.players = currentState.getPlayers().size();
+                event.buttonSeat = buttonPosition;
+                event.lastStreet = currentState.getStage().name();
+                event.pot = currentState.getPot().getTotal();
+                if (result != null) {
+                    event.winners = result.winners().size();
+                    event.winningHand = result.winningHand() != null ? result.winningHand().getDescription() : null;
+                }
+                event.commit();
+            }
+        }
+    }
+
+    private HandResult playStreets(long seed) {
+        dealer.reseed(seed);
         initializeHand();
+        reseedBots(seed);
+        if (handLog != null) {
+            handLog.begin(seed, currentState);
+        }
+        if (recordedHand != null) {
+            beginHistory(seed);
+        }
 
         betting.postBlinds(currentState);
         notifyStateUpdate();
 
         dealer.dealHoleCards(players);
+        if (actionListener != null) {
+            actionListener.handStarted(currentState);
+        }
         notifyStateUpdate();
 
-        notifyMessage("=== " + currentState.getStage().getRussianName() + " ===");
+        notifyStage();
         playBettingRound();
         if (isHandOver()) {
             return resolveHand();
@@ -65,7 +170,7 @@ public class GameEngine {
 
         currentState.advanceStage();
         dealer.dealFlop(currentState);
-        notifyMessage("=== " + currentState.getStage().getRussianName() + " ===");
+        notifyStage();
         notifyStateUpdate();
         playBettingRound();
         if (isHandOver()) {
@@ -74,7 +179,7 @@ public class GameEngine {
 
         currentState.advanceStage();
         dealer.dealTurn(currentState);
-        notifyMessage("=== " + currentState.getStage().getRussianName() + " ===");
+        notifyStage();
         notifyStateUpdate();
         playBettingRound();
         if (isHandOver()) {
@@ -83,7 +188,7 @@ public class GameEngine {
 
         currentState.advanceStage();
         dealer.dealRiver(currentState);
-        notifyMessage("=== " + currentState.getStage().getRussianName() + " ===");
+        notifyStage();
         notifyStateUpdate();
         playBettingRound();
 
@@ -109,6 +214,40 @@ public class GameEngine {
         assignPositions();
     }
 
+    private void reseedBots(long seed) {
+        List<Player> seated = currentState.getPlayers();
+        for (int i = 0; i < seated.size(); i++) {
+            if (seated.get(i) instanceof AIPlayer ai) {
+                ai.getStrategy().reseed(seed + (i + 1) * 0x9E3779B97F4A7C15L);
+            }
+        }
+    }
+
+    private void beginHistory(long seed) {
+        recordedHand.reset(betting.getSmallBlind(), betting.getBigBlind(), currentState.getButtonPosition());
+        recordedHand.setSeed(seed);
+        for (Player player : currentState.getPlayers()) {
+            recordedHand.addSeat(SeatType.of(player), player.getPosition(), player.getChips());
+        }
+    }
+
+    private void finishHistory() {
+        List<Player> seated = currentState.getPlayers();
+        for (int i = 0; i < seated.size(); i++) {
+            Player player = seated.get(i);
+            HoleCards cards = player.getHoleCards();
+            if (cards != null) {
+                recordedHand.setHoleCards(i, cards.getCard1().getIndex(), cards.getCard2().getIndex());
+            }
+            recordedHand.setNet(i, player.getChips() - recordedHand.getStartingChips(i));
+        }
+        for (Card card : currentState.getCommunityCards()) {
+            recordedHand.addBoardCard(card.getIndex());
+        }
+        recordedHand.setOutcome(currentState.getStage(), currentState.getPlayersInHand() > 1);
+        history.append(recordedHand);
+    }
+
     private int findActiveButtonPosition(List<Player> activePlayers) {
         // Find the button position among active players
         // The button should be on the first active player at or after the engine's buttonPosition
@@ -126,27 +265,25 @@ public class GameEngine {
         List<Player> activePlayers = currentState.getPlayers();
         if (activePlayers.isEmpty()) return;
 
-        List<Position> positions = Position.getPositionsForPlayerCount(activePlayers.size());
-
         int activeButtonPos = currentState.getButtonPosition();
 
         for (int i = 0; i < activePlayers.size(); i++) {
             // relativePos: 0=button, 1=SB, 2=BB, etc.
             int relativePos = (i - activeButtonPos + activePlayers.size()) % activePlayers.size();
-            // positions list is [SB, BB, ..., BTN], so BTN is at the end
-            // Map: 0 -> BTN (last), 1 -> SB (first), 2 -> BB (second), etc.
-            int posIndex = (relativePos + positions.size() - 1) % positions.size();
-            activePlayers.get(i).setPosition(positions.get(posIndex));
+            activePlayers.get(i).setPosition(Position.ofSeat(relativePos, activePlayers.size()));
         }
     }
 
     private void playBettingRound() {
+        StreetEvent streetEvent = StreetEvent.beginIfEnabled();
+        long streetStarted = handLog != null ? System.nanoTime() : 0L;
         currentState.resetBettingRound();
 
         if (currentState.getStage() == GameStage.PREFLOP) {
             int utg = (currentState.getButtonPosition() + 3) % currentState.getPlayers().size();
             currentState.setActivePlayerIndex(utg);
         }
+        notifyStateUpdate();
 
         int maxIterations = currentState.getPlayers().size() * 10; // Safety limit
         int iterations = 0;
@@ -169,19 +306,60 @@ public class GameEngine {
                 continue;
             }
 
+            DecisionEvent decisionEvent = DecisionEvent.beginIfEnabled();
+            long decisionStarted = handLog != null ? System.nanoTime() : 0L;
             Action action = getPlayerAction(activePlayer);
+            if (handLog != null) {
+                handLog.action(currentState.getActivePlayerIndex(), currentState.getStage(), action,
+                    System.nanoTime() - decisionStarted);
+            }
+            if (decisionEvent != null && decisionEvent.shouldCommit()) {
+                decisionEvent.player = activePlayer.getName();
+                decisionEvent.strategy = activePlayer instanceof AIPlayer ai
+                    ? ai.getStrategy().getClass().getSimpleName() : "Human";
+                decisionEvent.street = currentState.getStage().name();
+                decisionEvent.action = action.getType().name();
+                decisionEvent.amount = action.getAmount();
+                decisionEvent.toCall = currentState.getAmountToCall(activePlayer);
+                decisionEvent.pot = currentState.getPot().getTotal();
+                decisionEvent.commit();
+            }
 
-            if (activePlayer instanceof HumanPlayer) {
+            if (activePlayer instanceof HumanPlayer && analysisListener != null) {
                 HandAnalysis analysis = analyzer.analyzeDecision(activePlayer, currentState, action);
                 notifyAnalysis(analysis);
             }
 
+            if (actionListener != null) {
+                actionListener.actionChosen(activePlayer, currentState, action);
+            }
+
+            int chipsBefore = activePlayer.getChips();
             betting.applyAction(currentState, activePlayer, action);
+            if (recordedHand != null) {
+                recordedHand.addAction(currentState.getActivePlayerIndex(), currentState.getStage(), action.getType(),
+                    chipsBefore - activePlayer.getChips());
+            }
 
-            notifyMessage(activePlayer.getName() + ": " + action.toRussianString());
-            notifyStateUpdate();
+            if (messageListener != null) {
+                notifyMessage(activePlayer.getName() + ": " + action.toRussianString());
+            }
 
             currentState.nextPlayer();
+            notifyStateUpdate();
+        }
+
+        if (handLog != null) {
+            handLog.street(currentState.getStage(), iterations, System.nanoTime() - streetStarted,
+                iterations > maxIterations);
+        }
+        if (streetEvent != null && streetEvent.shouldCommit()) {
+            streetEvent.street = currentState.getStage().name();
+            streetEvent.board = currentState.getCommunityCards().toString();
+            streetEvent.playersInHand = currentState.getPlayersInHand();
+            streetEvent.actions = currentState.getActionsThisRound();
+            streetEvent.potAfter = currentState.getPot().getTotal();
+            streetEvent.commit();
         }
     }
 
@@ -189,6 +367,12 @@ public class GameEngine {
         if (player instanceof HumanPlayer && humanActionProvider != null) {
             return humanActionProvider.apply(currentState, player);
         }
+        if (metrics != null && player instanceof AIPlayer ai) {
+            long started = System.nanoTime();
+            Action action = ai.decideAction(currentState);
+            metrics.botDecision(ai.getStrategy(), currentState.getStage(), System.nanoTime() - started);
+            return action;
+        }
         return player.decideAction(currentState);
     }
 
@@ -204,9 +388,12 @@ public class GameEngine {
             winner.win(winnings);
         }
 
-        notifyMessage("\n" + result.getSummary());
+        if (messageListener != null) {
+            notifyMessage("\n" + result.getSummary());
+        }
 
         moveButton();
+        notifyStateUpdate();
 
         return new HandResult(
             result.winners(),
@@ -221,11 +408,22 @@ public class GameEngine {
     }
 
     private void notifyStateUpdate() {
+        if (publishSnapshots) {
+            // Copy-on-write: readers on other threads only ever see a fully built snapshot
+            snapshot = GameSnapshot.of(++snapshotVersion, currentState, players);
+        }
         if (stateUpdateListener != null) {
             stateUpdateListener.accept(currentState);
         }
     }
 
+    private void notifyStage() {
+        // Headless simulations run without a message listener; skip building the strings
+        if (messageListener != null) {
+            notifyMessage("=== " + currentState.getStage().getRussianName() + " ===");
+        }
+    }
+
     private void notifyMessage(String message) {
         if (messageListener != null) {
             messageListener.accept(message);
@@ -242,6 +440,10 @@ public class GameEngine {
         return currentState;
     }
 
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     public List<Player> getPlayers() {
         return players;
     }
@@ -250,6 +452,10 @@ public class GameEngine {
         return buttonPosition;
     }
 
+    void setButtonPosition(int buttonPosition) {
+        this.buttonPosition = buttonPosition;
+    }
+
     public record HandResult(
         List<Player> winners,
         java.util.Map<Player, Integer> winnings,
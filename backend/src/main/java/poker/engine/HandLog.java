@@ -0,0 +1,131 @@
+package poker.engine;
+
+import poker.model.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Per-hand action log kept in reusable primitive arrays; only turned into a SlowHandRecord
+// when the hand qualifies for capture, so ordinary hands allocate nothing here
+final class HandLog {
+    private static final GameStage[] STAGES = GameStage.values();
+    private static final ActionType[] TYPES = ActionType.values();
+
+    private long seed;
+    private long startNanos;
+    private long humanWaitNanos;
+    private long botBudgetNanos;
+    private int buttonSeat;
+
+    private int seatCount;
+    private String[] seatNames = new String[10];
+    private String[] seatStrategies = new String[10];
+    private int[] seatChips = new int[10];
+    private boolean[] seatHuman = new boolean[10];
+    private long[] seatThinkBudget = new long[10];
+
+    private int actionCount;
+    private int[] actionSeat = new int[64];
+    private byte[] actionStreet = new byte[64];
+    private byte[] actionType = new byte[64];
+    private int[] actionAmount = new int[64];
+    private long[] actionNanos = new long[64];
+
+    private int streetCount;
+    private final byte[] streetStage = new byte[STAGES.length];
+    private final int[] streetIterations = new int[STAGES.length];
+    private final long[] streetNanos = new long[STAGES.length];
+    private final boolean[] streetHitLimit = new boolean[STAGES.length];
+    private int totalIterations;
+    private boolean hitIterationLimit;
+
+    void begin(long seed, GameState state) {
+        this.seed = seed;
+        this.startNanos = System.nanoTime();
+        this.humanWaitNanos = 0;
+        this.botBudgetNanos = 0;
+        this.buttonSeat = state.getButtonPosition();
+        this.actionCount = 0;
+        this.streetCount = 0;
+        this.totalIterations = 0;
+        this.hitIterationLimit = false;
+
+        List<Player> players = state.getPlayers();
+        seatCount = players.size();
+        if (seatNames.length < seatCount) {
+            seatNames = Arrays.copyOf(seatNames, seatCount);
+            seatStrategies = Arrays.copyOf(seatStrategies, seatCount);
+            seatChips = Arrays.copyOf(seatChips, seatCount);
+            seatHuman = Arrays.copyOf(seatHuman, seatCount);
+            seatThinkBudget = Arrays.copyOf(seatThinkBudget, seatCount);
+        }
+        for (int i = 0; i < seatCount; i++) {
+            Player player = players.get(i);
+            seatNames[i] = player.getName();
+            seatStrategies[i] = player instanceof AIPlayer ai ? ai.getStrategy().getClass().getSimpleName() : null;
+            seatChips[i] = player.getChips();
+            seatHuman[i] = player.isHuman();
+            seatThinkBudget[i] = player instanceof AIPlayer ai ? ai.getStrategy().getThinkBudgetNanos() : 0L;
+        }
+    }
+
+    void action(int seat, GameStage street, Action action, long decisionNanos) {
+        if (actionCount == actionSeat.length) {
+            int grown = actionCount * 2;
+            actionSeat = Arrays.copyOf(actionSeat, grown);
+            actionStreet = Arrays.copyOf(actionStreet, grown);
+            actionType = Arrays.copyOf(actionType, grown);
+            actionAmount = Arrays.copyOf(actionAmount, grown);
+            actionNanos = Arrays.copyOf(actionNanos, grown);
+        }
+        actionSeat[actionCount] = seat;
+        actionStreet[actionCount] = (byte) street.ordinal();
+        actionType[actionCount] = (byte) action.getType().ordinal();
+        actionAmount[actionCount] = action.getAmount();
+        actionNanos[actionCount] = decisionNanos;
+        actionCount++;
+        if (seatHuman[seat]) {
+            humanWaitNanos += decisionNanos;
+        } else {
+            // A bot using the time it is given is not slow; only what it takes beyond that counts
+            botBudgetNanos += Math.min(decisionNanos, seatThinkBudget[seat]);
+        }
+    }
+
+    void street(GameStage street, int iterations, long durationNanos, boolean hitLimit) {
+        streetStage[streetCount] = (byte) street.ordinal();
+        streetIterations[streetCount] = iterations;
+        streetNanos[streetCount] = durationNanos;
+        streetHitLimit[streetCount] = hitLimit;
+        streetCount++;
+        totalIterations += iterations;
+        hitIterationLimit |= hitLimit;
+    }
+
+    SlowHandRecord finish(SlowHandPolicy policy, int smallBlind, int bigBlind) {
+        long durationNanos = System.nanoTime() - startNanos;
+        String reason = policy.reasonToCapture(durationNanos - humanWaitNanos - botBudgetNanos, totalIterations,
+            hitIterationLimit);
+        if (reason == null) {
+            return null;
+        }
+
+        List<SlowHandRecord.Seat> seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) {
+            seats.add(new SlowHandRecord.Seat(seatNames[i], seatStrategies[i], seatChips[i], seatHuman[i]));
+        }
+        List<SlowHandRecord.ActionEntry> actions = new ArrayList<>(actionCount);
+        for (int i = 0; i < actionCount; i++) {
+            actions.add(new SlowHandRecord.ActionEntry(
+                actionSeat[i], STAGES[actionStreet[i]], TYPES[actionType[i]], actionAmount[i], actionNanos[i]));
+        }
+        List<SlowHandRecord.StreetEntry> streets = new ArrayList<>(streetCount);
+        for (int i = 0; i < streetCount; i++) {
+            streets.add(new SlowHandRecord.StreetEntry(
+                STAGES[streetStage[i]], streetIterations[i], streetNanos[i], streetHitLimit[i]));
+        }
+        return new SlowHandRecord(seed, smallBlind, bigBlind, buttonSeat, List.copyOf(seats), List.copyOf(actions),
+            List.copyOf(streets), durationNanos, humanWaitNanos, botBudgetNanos, reason);
+    }
+}
@@ -0,0 +1,90 @@
+package poker.engine;
+
+import poker.ai.*;
+import poker.model.*;
+import poker.odds.RangeTracker;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// Replays a captured hand: same seats, stacks, button and seed, with the human's recorded actions
+// fed back in and the bots deciding live, so the run can be profiled and checked for divergence.
+// Time-budgeted bots (EquityAI, MctsAI) may legitimately diverge: their depth depends on machine load.
+public final class HandReplayer {
+
+    private HandReplayer() {
+    }
+
+    public static Replay replay(SlowHandRecord record) {
+        List<Player> players = new ArrayList<>(record.seats().size());
+        for (SlowHandRecord.Seat seat : record.seats()) {
+            players.add(seat.human()
+                ? new HumanPlayer(seat.name(), seat.chips())
+                : new AIPlayer(seat.name(), seat.chips(), createStrategy(seat.strategy())));
+        }
+
+        Iterator<SlowHandRecord.ActionEntry> humanActions = record.actions().stream()
+            .filter(entry -> record.seats().get(entry.seat()).human())
+            .iterator();
+
+        GameEngine engine = new GameEngine(players, record.smallBlind(), record.bigBlind());
+        engine.setButtonPosition(record.buttonSeat());
+        engine.setActionListener(new RangeTracker());
+        engine.setHumanActionProvider((state, player) -> {
+            if (!humanActions.hasNext()) {
+                return Action.fold();
+            }
+            SlowHandRecord.ActionEntry entry = humanActions.next();
+            return toAction(entry.type(), entry.amount());
+        });
+
+        SlowHandRecord[] replayed = new SlowHandRecord[1];
+        engine.setSlowHandCapture(SlowHandPolicy.ALWAYS, captured -> replayed[0] = captured);
+        GameEngine.HandResult result = engine.playHand(record.seed());
+
+        return new Replay(result, replayed[0], sameActions(record, replayed[0]));
+    }
+
+    private static boolean sameActions(SlowHandRecord expected, SlowHandRecord actual) {
+        if (actual == null || expected.actions().size() != actual.actions().size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.actions().size(); i++) {
+            SlowHandRecord.ActionEntry a = expected.actions().get(i);
+            SlowHandRecord.ActionEntry b = actual.actions().get(i);
+            if (a.seat() != b.seat() || a.street() != b.street() || a.type() != b.type() || a.amount() != b.amount()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static AIStrategy createStrategy(String name) {
+        return switch (name) {
+            case "CallingStationAI" -> new CallingStationAI();
+            case "TightPassiveAI" -> new TightPassiveAI();
+            case "LooseAggressiveAI" -> new LooseAggressiveAI();
+            case "EquityAI" -> new EquityAI();
+            case "MctsAI" -> new MctsAI();
+            default -> throw new IllegalArgumentException("Unknown strategy in hand record: " + name);
+        };
+    }
+
+    private static Action toAction(ActionType type, int amount) {
+        return switch (type) {
+            case FOLD -> Action.fold();
+            case CHECK -> Action.check();
+            case CALL -> Action.call(amount);
+            case BET -> Action.bet(amount);
+            case RAISE -> Action.raise(amount);
+            case ALL_IN -> Action.allIn(amount);
+        };
+    }
+
+    public record Replay(
+        GameEngine.HandResult result,
+        SlowHandRecord replayed,
+        boolean matchesRecord
+    ) {}
+}
@@ -0,0 +1,149 @@
+package poker.engine;
+
+import poker.ai.AIStrategy;
+import poker.evaluation.HandEvaluator;
+import poker.evaluation.WinnerDeterminer;
+import poker.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Plays the rest of a hand from one decision point, over and over, with the bot strategies. The table
+// is cloned once into reusable seats and a GameState; each rollout only restores their fields, redeals
+// the cards the hero cannot see (opponents' hole cards and the rest of the board) and plays on.
+// Not thread-safe: use one instance per worker.
+public final class HandRollout {
+    private static final long SEAT_SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private final GameState root;
+    private final List<Player> sources;
+    private final List<RolloutPlayer> seats;
+    private final int heroIndex;
+    private final GameState state;
+    private final BettingManager betting;
+    private final WinnerDeterminer showdown;
+    private final Random random = new Random();
+    private final Card[] unseenInOrder;
+    private final Card[] unseen;
+
+    // The hero's later decisions are made by a copy of heroStrategy
+    public HandRollout(GameState root, Player hero, AIStrategy heroStrategy, WinnerDeterminer showdown) {
+        this(root, hero, heroStrategy.copy(), heroStrategy, showdown);
+    }
+
+    // The hero seat plays heroSeatStrategy itself, not a copy, so the caller can follow its decisions;
+    // seats without a bot play copies of otherStrategy
+    public HandRollout(GameState root, Player hero, AIStrategy heroSeatStrategy, AIStrategy otherStrategy,
+                       WinnerDeterminer showdown) {
+        this.root = root;
+        this.sources = root.getPlayers();
+        this.heroIndex = sources.indexOf(hero);
+        if (heroIndex < 0) {
+            throw new IllegalArgumentException("Hero is not seated at this table");
+        }
+        this.seats = new ArrayList<>(sources.size());
+        for (Player source : sources) {
+            AIStrategy strategy;
+            if (source == hero) {
+                strategy = heroSeatStrategy;
+            } else if (source instanceof AIPlayer ai) {
+                strategy = ai.getStrategy().copy();
+            } else {
+                strategy = otherStrategy.copy();
+            }
+            seats.add(new RolloutPlayer(source, strategy));
+        }
+        this.state = new GameState(new ArrayList<>(seats), root.getSmallBlind(), root.getBigBlind());
+        this.betting = new BettingManager(root.getSmallBlind(), root.getBigBlind());
+        this.showdown = showdown;
+
+        long seen = hero.getHoleCards().getMask() | HandEvaluator.toMask(root.getCommunityCards());
+        this.unseenInOrder = new Card[52 - Long.bitCount(seen)];
+        int count = 0;
+        for (int index = 0; index < 52; index++) {
+            if ((seen & 1L << index) == 0) {
+                unseenInOrder[count++] = Card.fromIndex(index);
+            }
+        }
+        this.unseen = unseenInOrder.clone();
+    }
+
+    // Hero's chip change from the decision point to the end of the hand after taking heroAction;
+    // the same seed deals the same cards and bot randomness, whatever the action
+    public int play(Action heroAction, long seed) {
+        random.setSeed(seed);
+        System.arraycopy(unseenInOrder, 0, unseen, 0, unseen.length);
+        int dealt = 0;
+        for (int i = 0; i < seats.size(); i++) {
+            Player source = sources.get(i);
+            HoleCards cards = null;
+            if (i == heroIndex) {
+                cards = source.getHoleCards();
+            } else if (!source.isFolded()) {
+                cards = new HoleCards(draw(dealt++), draw(dealt++));
+            }
+            seats.get(i).restore(source, cards);
+            seats.get(i).getStrategy().reseed(seed + (i + 1) * SEAT_SEED_STEP);
+        }
+        state.restoreFrom(root);
+
+        RolloutPlayer hero = seats.get(heroIndex);
+        int chipsBefore = hero.getChips();
+        betting.applyAction(state, hero, heroAction);
+        state.nextPlayer();
+        playBettingRound();
+
+        while (state.getPlayersInHand() > 1 && state.getStage() != GameStage.RIVER) {
+            state.advanceStage();
+            while (state.getCommunityCards().size() < state.getStage().getCommunityCardCount()) {
+                state.addCommunityCard(draw(dealt++));
+            }
+            playBettingRound();
+        }
+        resolve();
+        return hero.getChips() - chipsBefore;
+    }
+
+    // Partial Fisher-Yates: the next unseen card, uniformly from those not dealt yet
+    private Card draw(int dealt) {
+        int pick = dealt + random.nextInt(unseen.length - dealt);
+        Card card = unseen[pick];
+        unseen[pick] = unseen[dealt];
+        unseen[dealt] = card;
+        return card;
+    }
+
+    // Same loop as GameEngine.playBettingRound, without listeners, tracing or history
+    private void playBettingRound() {
+        int maxIterations = seats.size() * 10;
+        int iterations = 0;
+        while (!betting.isRoundComplete(state) && state.getPlayersInHand() > 1) {
+            if (++iterations > maxIterations || !state.hasPlayersWhoCanAct()) {
+                break;
+            }
+            Player player = state.getCurrentPlayer();
+            if (player.canAct()) {
+                betting.applyAction(state, player, player.decideAction(state));
+            }
+            state.nextPlayer();
+        }
+    }
+
+    // Pot and side pots split as in WinnerDeterminer.resolveShowdown
+    private void resolve() {
+        int pot = state.getPot().getTotal();
+        if (state.getPlayersInHand() == 1) {
+            for (RolloutPlayer seat : seats) {
+                if (seat.isInHand()) {
+                    seat.win(pot);
+                }
+            }
+            return;
+        }
+        int[] shares = showdown.splitPot(state.getPlayers(), state.getCommunityCards(), pot);
+        for (int i = 0; i < shares.length; i++) {
+            seats.get(i).win(shares[i]);
+        }
+    }
+}
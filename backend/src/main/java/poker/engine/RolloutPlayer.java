@@ -0,0 +1,38 @@
+package poker.engine;
+
+import poker.ai.AIStrategy;
+import poker.model.Action;
+import poker.model.GameState;
+import poker.model.HoleCards;
+import poker.model.Player;
+
+// Seat of a rollout table: reset from the live player before every rollout and played by a private
+// copy of a bot strategy
+final class RolloutPlayer extends Player {
+    private final AIStrategy strategy;
+
+    RolloutPlayer(Player source, AIStrategy strategy) {
+        super(source.getName(), source.getChips());
+        this.strategy = strategy;
+    }
+
+    void restore(Player source, HoleCards cards) {
+        this.chips = source.getChips();
+        this.holeCards = cards;
+        this.position = source.getPosition();
+        this.currentBet = source.getCurrentBet();
+        this.handInvested = source.getHandInvested();
+        this.folded = source.isFolded();
+        this.allIn = source.isAllIn();
+        this.seatIndex = source.getSeatIndex();
+    }
+
+    AIStrategy getStrategy() {
+        return strategy;
+    }
+
+    @Override
+    public Action decideAction(GameState gameState) {
+        return strategy.decide(this, gameState);
+    }
+}
@@ -0,0 +1,24 @@
+package poker.engine;
+
+// A hand is captured when engine time (wall time minus waits for the human and the think time bots are
+// budgeted, see AIStrategy.getThinkBudgetNanos) or the number of betting-loop iterations passes these
+// limits, or when any street hits the iteration safety exit. A negative limit is disabled.
+public record SlowHandPolicy(
+    long maxEngineNanos,
+    int maxIterations
+) {
+    public static final SlowHandPolicy ALWAYS = new SlowHandPolicy(0, -1);
+
+    String reasonToCapture(long engineNanos, int iterations, boolean hitIterationLimit) {
+        if (hitIterationLimit) {
+            return "betting round hit the iteration safety limit";
+        }
+        if (maxEngineNanos >= 0 && engineNanos > maxEngineNanos) {
+            return "engine time " + engineNanos / 1_000_000 + " ms over " + maxEngineNanos / 1_000_000 + " ms";
+        }
+        if (maxIterations >= 0 && iterations > maxIterations) {
+            return iterations + " betting iterations over " + maxIterations;
+        }
+        return null;
+    }
+}
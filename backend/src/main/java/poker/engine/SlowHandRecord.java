@@ -0,0 +1,49 @@
+package poker.engine;
+
+import poker.model.ActionType;
+import poker.model.GameStage;
+
+import java.util.List;
+
+// Everything needed to replay one hand: seats in deal order, the hand seed that fixes the deck and
+// bot randomness, every action with its decision time, and per-street loop counts. botBudgetNanos is
+// the part of the bots' decision time that fell within their think budgets.
+public record SlowHandRecord(
+    long seed,
+    int smallBlind,
+    int bigBlind,
+    int buttonSeat,
+    List<Seat> seats,
+    List<ActionEntry> actions,
+    List<StreetEntry> streets,
+    long durationNanos,
+    long humanWaitNanos,
+    long botBudgetNanos,
+    String reason
+) {
+    public long engineNanos() {
+        return durationNanos - humanWaitNanos - botBudgetNanos;
+    }
+
+    public record Seat(
+        String name,
+        String strategy,
+        int chips,
+        boolean human
+    ) {}
+
+    public record ActionEntry(
+        int seat,
+        GameStage street,
+        ActionType type,
+        int amount,
+        long decisionNanos
+    ) {}
+
+    public record StreetEntry(
+        GameStage street,
+        int iterations,
+        long durationNanos,
+        boolean hitIterationLimit
+    ) {}
+}
@@ -3,275 +3,240 @@ package poker.evaluation;
 import poker.model.*;
 
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 public class HandEvaluator {
+    private static final HandEvaluator SHARED = new HandEvaluator();
 
-    public Hand evaluate(List<Card> allCards) {
-        if (allCards.size() < 5) {
-            throw new IllegalArgumentException("Need at least 5 cards to evaluate");
-        }
+    private static final int RANK_BITS = 0x1FFF;
+    private static final int CATEGORY_SHIFT = 20;
+    // Kickers Hand carries per category, indexed by HandRank ordinal
+    private static final int[] KICKER_COUNTS = {5, 4, 3, 3, 1, 5, 2, 2, 1, 1};
 
-        if (allCards.size() == 5) {
-            return evaluateFiveCards(allCards);
-        }
+    // Null until the metrics layer asks for a count, so without metrics evaluation costs one load more
+    private volatile LongAdder evaluations;
 
-        List<List<Card>> combinations = generateCombinations(allCards, 5);
-        Hand best = null;
+    public static HandEvaluator shared() {
+        return SHARED;
+    }
 
-        for (List<Card> combo : combinations) {
-            Hand hand = evaluateFiveCards(combo);
-            if (best == null || hand.compareTo(best) > 0) {
-                best = hand;
-            }
+    public static long toMask(List<Card> cards) {
+        long mask = 0L;
+        for (int i = 0; i < cards.size(); i++) {
+            mask |= cards.get(i).getMask();
         }
+        return mask;
+    }
 
-        return best;
+    public static HandRank rankOf(int value) {
+        return HandRank.values()[(value >>> CATEGORY_SHIFT) - 1];
     }
 
-    private Hand evaluateFiveCards(List<Card> cards) {
-        List<Card> sorted = new ArrayList<>(cards);
-        sorted.sort((a, b) -> Integer.compare(b.getRank().getValue(), a.getRank().getValue()));
+    // HandRank.getStrength() of an evaluateValue result
+    public static int strengthOf(int value) {
+        return value >>> CATEGORY_SHIFT;
+    }
 
-        if (isRoyalFlush(sorted)) {
-            return makeHand(HandRank.ROYAL_FLUSH, sorted, List.of(14));
-        }
-        if (isStraightFlush(sorted)) {
-            return makeStraightHand(HandRank.STRAIGHT_FLUSH, sorted);
+    // Allocation-free evaluation of 5-7 cards given as a Card.getMask() bit set.
+    // The result orders hands exactly like Hand.compareTo: category strength in the
+    // high bits, then up to five 4-bit rank values in kicker order.
+    public int evaluateValue(long cards) {
+        LongAdder counter = evaluations;
+        if (counter != null) {
+            counter.increment();
         }
-        if (isFourOfAKind(sorted)) {
-            return makeFourOfAKind(sorted);
+        int s0 = (int) cards & RANK_BITS;
+        int s1 = (int) (cards >>> 13) & RANK_BITS;
+        int s2 = (int) (cards >>> 26) & RANK_BITS;
+        int s3 = (int) (cards >>> 39) & RANK_BITS;
+        int ranks = s0 | s1 | s2 | s3;
+
+        int flush = Integer.bitCount(s0) >= 5 ? s0
+            : Integer.bitCount(s1) >= 5 ? s1
+            : Integer.bitCount(s2) >= 5 ? s2
+            : Integer.bitCount(s3) >= 5 ? s3 : 0;
+        if (flush != 0) {
+            int top = straightTop(flush);
+            if (top == 14) {
+                return value(HandRank.ROYAL_FLUSH, 14);
+            }
+            if (top > 0) {
+                return value(HandRank.STRAIGHT_FLUSH, top);
+            }
         }
-        if (isFullHouse(sorted)) {
-            return makeFullHouse(sorted);
+
+        int quad = -1;
+        int trips1 = -1;
+        int trips2 = -1;
+        int pair1 = -1;
+        int pair2 = -1;
+        for (int r = 12; r >= 0; r--) {
+            int count = (s0 >>> r & 1) + (s1 >>> r & 1) + (s2 >>> r & 1) + (s3 >>> r & 1);
+            if (count == 4) {
+                quad = r;
+            } else if (count == 3) {
+                if (trips1 < 0) trips1 = r; else if (trips2 < 0) trips2 = r;
+            } else if (count == 2) {
+                if (pair1 < 0) pair1 = r; else if (pair2 < 0) pair2 = r;
+            }
         }
-        if (isFlush(sorted)) {
-            return makeFlush(sorted);
+
+        if (quad >= 0) {
+            return value(HandRank.FOUR_OF_A_KIND, quad + 2, topRanks(ranks & ~(1 << quad), 1));
         }
-        if (isStraight(sorted)) {
-            return makeStraightHand(HandRank.STRAIGHT, sorted);
+        if (trips1 >= 0 && (trips2 >= 0 || pair1 >= 0)) {
+            int pair = Math.max(trips2, pair1);
+            return value(HandRank.FULL_HOUSE, trips1 + 2) | (pair + 2) << 12;
         }
-        if (isThreeOfAKind(sorted)) {
-            return makeThreeOfAKind(sorted);
+        if (flush != 0) {
+            return (HandRank.FLUSH.getStrength() << CATEGORY_SHIFT) | topRanks(flush, 5);
         }
-        if (isTwoPair(sorted)) {
-            return makeTwoPair(sorted);
+        int straight = straightTop(ranks);
+        if (straight > 0) {
+            return value(HandRank.STRAIGHT, straight);
         }
-        if (isPair(sorted)) {
-            return makePair(sorted);
+        if (trips1 >= 0) {
+            return value(HandRank.THREE_OF_A_KIND, trips1 + 2, topRanks(ranks & ~(1 << trips1), 2));
         }
-        return makeHighCard(sorted);
-    }
-
-    private boolean isFlush(List<Card> cards) {
-        Suit first = cards.get(0).getSuit();
-        return cards.stream().allMatch(c -> c.getSuit() == first);
-    }
-
-    private boolean isStraight(List<Card> cards) {
-        List<Integer> values = cards.stream()
-            .map(c -> c.getRank().getValue())
-            .sorted(Comparator.reverseOrder())
-            .collect(Collectors.toList());
-
-        if (isConsecutive(values)) {
-            return true;
+        if (pair2 >= 0) {
+            int kicker = topRanks(ranks & ~(1 << pair1) & ~(1 << pair2), 1);
+            return (HandRank.TWO_PAIR.getStrength() << CATEGORY_SHIFT)
+                | (pair1 + 2) << 16 | (pair2 + 2) << 12 | kicker >>> 8;
         }
-
-        if (values.equals(List.of(14, 5, 4, 3, 2))) {
-            return true;
+        if (pair1 >= 0) {
+            return value(HandRank.PAIR, pair1 + 2, topRanks(ranks & ~(1 << pair1), 3));
         }
-
-        return false;
+        return (HandRank.HIGH_CARD.getStrength() << CATEGORY_SHIFT) | topRanks(ranks, 5);
     }
 
-    private boolean isConsecutive(List<Integer> values) {
-        for (int i = 0; i < values.size() - 1; i++) {
-            if (values.get(i) - values.get(i + 1) != 1) {
-                return false;
-            }
+    // Counts evaluations on this instance from now on
+    public synchronized void countEvaluations() {
+        if (evaluations == null) {
+            evaluations = new LongAdder();
         }
-        return true;
-    }
-
-    private boolean isRoyalFlush(List<Card> cards) {
-        if (!isFlush(cards)) return false;
-        List<Integer> values = cards.stream()
-            .map(c -> c.getRank().getValue())
-            .sorted(Comparator.reverseOrder())
-            .toList();
-        return values.equals(List.of(14, 13, 12, 11, 10));
-    }
-
-    private boolean isStraightFlush(List<Card> cards) {
-        return isFlush(cards) && isStraight(cards);
-    }
-
-    private Map<Integer, Long> getRankCounts(List<Card> cards) {
-        return cards.stream()
-            .collect(Collectors.groupingBy(
-                c -> c.getRank().getValue(),
-                Collectors.counting()
-            ));
-    }
-
-    private boolean isFourOfAKind(List<Card> cards) {
-        return getRankCounts(cards).containsValue(4L);
-    }
-
-    private boolean isFullHouse(List<Card> cards) {
-        Map<Integer, Long> counts = getRankCounts(cards);
-        return counts.containsValue(3L) && counts.containsValue(2L);
-    }
-
-    private boolean isThreeOfAKind(List<Card> cards) {
-        Map<Integer, Long> counts = getRankCounts(cards);
-        return counts.containsValue(3L) && !counts.containsValue(2L);
     }
 
-    private boolean isTwoPair(List<Card> cards) {
-        Map<Integer, Long> counts = getRankCounts(cards);
-        return counts.values().stream().filter(v -> v == 2).count() == 2;
+    // Evaluations since countEvaluations; read by the metrics layer at scrape time
+    public long getEvaluationCount() {
+        LongAdder counter = evaluations;
+        return counter != null ? counter.sum() : 0;
     }
 
-    private boolean isPair(List<Card> cards) {
-        Map<Integer, Long> counts = getRankCounts(cards);
-        return counts.values().stream().filter(v -> v == 2).count() == 1 &&
-               !counts.containsValue(3L);
+    private static int value(HandRank rank, int first) {
+        return (rank.getStrength() << CATEGORY_SHIFT) | first << 16;
     }
 
-    private Hand makeHand(HandRank rank, List<Card> cards, List<Integer> kickers) {
-        return new Hand(rank, cards, kickers);
+    private static int value(HandRank rank, int first, int rest) {
+        return (rank.getStrength() << CATEGORY_SHIFT) | first << 16 | rest >>> 4;
     }
 
-    private Hand makeStraightHand(HandRank rank, List<Card> cards) {
-        List<Integer> values = cards.stream()
-            .map(c -> c.getRank().getValue())
-            .sorted(Comparator.reverseOrder())
-            .collect(Collectors.toList());
-
-        if (values.equals(List.of(14, 5, 4, 3, 2))) {
-            return makeHand(rank, cards, List.of(5));
+    // Highest `count` ranks of the mask as packed 4-bit values, left-aligned at bit 16
+    private static int topRanks(int rankMask, int count) {
+        int packed = 0;
+        int shift = 16;
+        for (int r = 12; r >= 0 && count > 0; r--) {
+            if ((rankMask & (1 << r)) != 0) {
+                packed |= (r + 2) << shift;
+                shift -= 4;
+                count--;
+            }
         }
-
-        return makeHand(rank, cards, List.of(values.get(0)));
-    }
-
-    private Hand makeFourOfAKind(List<Card> cards) {
-        Map<Integer, Long> counts = getRankCounts(cards);
-        int quadRank = counts.entrySet().stream()
-            .filter(e -> e.getValue() == 4)
-            .mapToInt(Map.Entry::getKey)
-            .findFirst().orElseThrow();
-        int kicker = counts.entrySet().stream()
-            .filter(e -> e.getValue() == 1)
-            .mapToInt(Map.Entry::getKey)
-            .findFirst().orElseThrow();
-
-        return makeHand(HandRank.FOUR_OF_A_KIND, cards, List.of(quadRank, kicker));
-    }
-
-    private Hand makeFullHouse(List<Card> cards) {
-        Map<Integer, Long> counts = getRankCounts(cards);
-        int tripsRank = counts.entrySet().stream()
-            .filter(e -> e.getValue() == 3)
-            .mapToInt(Map.Entry::getKey)
-            .findFirst().orElseThrow();
-        int pairRank = counts.entrySet().stream()
-            .filter(e -> e.getValue() == 2)
-            .mapToInt(Map.Entry::getKey)
-            .findFirst().orElseThrow();
-
-        return makeHand(HandRank.FULL_HOUSE, cards, List.of(tripsRank, pairRank));
+        return packed;
     }
 
-    private Hand makeFlush(List<Card> cards) {
-        List<Integer> kickers = cards.stream()
-            .map(c -> c.getRank().getValue())
-            .sorted(Comparator.reverseOrder())
-            .collect(Collectors.toList());
-        return makeHand(HandRank.FLUSH, cards, kickers);
-    }
-
-    private Hand makeThreeOfAKind(List<Card> cards) {
-        Map<Integer, Long> counts = getRankCounts(cards);
-        int tripsRank = counts.entrySet().stream()
-            .filter(e -> e.getValue() == 3)
-            .mapToInt(Map.Entry::getKey)
-            .findFirst().orElseThrow();
-        List<Integer> kickers = new ArrayList<>();
-        kickers.add(tripsRank);
-        counts.entrySet().stream()
-            .filter(e -> e.getValue() == 1)
-            .map(Map.Entry::getKey)
-            .sorted(Comparator.reverseOrder())
-            .forEach(kickers::add);
-
-        return makeHand(HandRank.THREE_OF_A_KIND, cards, kickers);
+    // Value of the highest straight's top card (5 for the wheel), or 0
+    private static int straightTop(int rankMask) {
+        int m = rankMask << 1 | (rankMask >>> 12 & 1);
+        int runs = m & m >>> 1 & m >>> 2 & m >>> 3 & m >>> 4;
+        if (runs == 0) {
+            return 0;
+        }
+        return 31 - Integer.numberOfLeadingZeros(runs) + 5;
     }
 
-    private Hand makeTwoPair(List<Card> cards) {
-        Map<Integer, Long> counts = getRankCounts(cards);
-        List<Integer> pairs = counts.entrySet().stream()
-            .filter(e -> e.getValue() == 2)
-            .map(Map.Entry::getKey)
-            .sorted(Comparator.reverseOrder())
-            .collect(Collectors.toList());
-        int kicker = counts.entrySet().stream()
-            .filter(e -> e.getValue() == 1)
-            .mapToInt(Map.Entry::getKey)
-            .findFirst().orElseThrow();
-
-        List<Integer> kickers = new ArrayList<>();
-        kickers.add(pairs.get(0));
-        kickers.add(pairs.get(1));
-        kickers.add(kicker);
-
-        return makeHand(HandRank.TWO_PAIR, cards, kickers);
+    public Hand evaluate(List<Card> allCards) {
+        if (allCards.size() < 5) {
+            throw new IllegalArgumentException("Need at least 5 cards to evaluate");
+        }
+        return toHand(evaluateValue(toMask(allCards)), allCards);
     }
 
-    private Hand makePair(List<Card> cards) {
-        Map<Integer, Long> counts = getRankCounts(cards);
-        int pairRank = counts.entrySet().stream()
-            .filter(e -> e.getValue() == 2)
-            .mapToInt(Map.Entry::getKey)
-            .findFirst().orElseThrow();
-        List<Integer> kickers = new ArrayList<>();
-        kickers.add(pairRank);
-        counts.entrySet().stream()
-            .filter(e -> e.getValue() == 1)
-            .map(Map.Entry::getKey)
-            .sorted(Comparator.reverseOrder())
-            .forEach(kickers::add);
-
-        return makeHand(HandRank.PAIR, cards, kickers);
-    }
+    // Rebuilds the descriptive Hand (best five cards and kicker list) for a packed value
+    private Hand toHand(int value, List<Card> cards) {
+        HandRank rank = rankOf(value);
+        List<Integer> kickers = new ArrayList<>(5);
+        for (int i = 0, shift = 16; i < KICKER_COUNTS[rank.ordinal()]; i++, shift -= 4) {
+            kickers.add(value >>> shift & 0xF);
+        }
 
-    private Hand makeHighCard(List<Card> cards) {
-        List<Integer> kickers = cards.stream()
-            .map(c -> c.getRank().getValue())
-            .sorted(Comparator.reverseOrder())
-            .collect(Collectors.toList());
-        return makeHand(HandRank.HIGH_CARD, cards, kickers);
+        List<Card> best = new ArrayList<>(5);
+        switch (rank) {
+            case ROYAL_FLUSH, STRAIGHT_FLUSH, STRAIGHT -> {
+                Suit suit = rank == HandRank.STRAIGHT ? null : flushSuit(cards);
+                int top = kickers.get(0);
+                for (int v = top; v > top - 5; v--) {
+                    take(cards, v == 1 ? 14 : v, 1, suit, best);
+                }
+            }
+            case FLUSH -> {
+                Suit suit = flushSuit(cards);
+                for (int kicker : kickers) {
+                    take(cards, kicker, 1, suit, best);
+                }
+            }
+            case FOUR_OF_A_KIND -> {
+                take(cards, kickers.get(0), 4, null, best);
+                take(cards, kickers.get(1), 1, null, best);
+            }
+            case FULL_HOUSE -> {
+                take(cards, kickers.get(0), 3, null, best);
+                take(cards, kickers.get(1), 2, null, best);
+            }
+            case THREE_OF_A_KIND -> {
+                take(cards, kickers.get(0), 3, null, best);
+                take(cards, kickers.get(1), 1, null, best);
+                take(cards, kickers.get(2), 1, null, best);
+            }
+            case TWO_PAIR -> {
+                take(cards, kickers.get(0), 2, null, best);
+                take(cards, kickers.get(1), 2, null, best);
+                take(cards, kickers.get(2), 1, null, best);
+            }
+            case PAIR -> {
+                take(cards, kickers.get(0), 2, null, best);
+                for (int i = 1; i < kickers.size(); i++) {
+                    take(cards, kickers.get(i), 1, null, best);
+                }
+            }
+            case HIGH_CARD -> {
+                for (int kicker : kickers) {
+                    take(cards, kicker, 1, null, best);
+                }
+            }
+        }
+        best.sort((a, b) -> Integer.compare(b.getRank().getValue(), a.getRank().getValue()));
+        return new Hand(rank, best, kickers);
     }
 
-    private List<List<Card>> generateCombinations(List<Card> cards, int k) {
-        List<List<Card>> result = new ArrayList<>();
-        generateCombinationsHelper(cards, k, 0, new ArrayList<>(), result);
-        return result;
+    private static void take(List<Card> cards, int rankValue, int count, Suit suit, List<Card> out) {
+        for (int i = 0; i < cards.size() && count > 0; i++) {
+            Card card = cards.get(i);
+            if (card.getRank().getValue() == rankValue && (suit == null || card.getSuit() == suit) && !out.contains(card)) {
+                out.add(card);
+                count--;
+            }
+        }
     }
 
-    private void generateCombinationsHelper(List<Card> cards, int k, int start,
-                                            List<Card> current, List<List<Card>> result) {
-        if (current.size() == k) {
-            result.add(new ArrayList<>(current));
-            return;
-        }
-        for (int i = start; i < cards.size(); i++) {
-            current.add(cards.get(i));
-            generateCombinationsHelper(cards, k, i + 1, current, result);
-            current.remove(current.size() - 1);
+    private static Suit flushSuit(List<Card> cards) {
+        int[] counts = new int[Suit.values().length];
+        for (Card card : cards) {
+            if (++counts[card.getSuit().ordinal()] == 5) {
+                return card.getSuit();
+            }
         }
+        return null;
     }
 
     public boolean hasMadeHand(List<Card> cards) {
@@ -1,35 +1,47 @@
 package poker.evaluation;
 
 import poker.model.*;
+import poker.trace.ShowdownEvent;
 
 import java.util.*;
 
 public class WinnerDeterminer {
-    private final HandEvaluator evaluator = new HandEvaluator();
+    private static final WinnerDeterminer SHARED = new WinnerDeterminer();
 
-    public List<Player> determineWinners(List<Player> players, List<Card> communityCards) {
-        Map<Player, Hand> playerHands = new HashMap<>();
+    private final HandEvaluator evaluator;
 
-        for (Player player : players) {
-            if (!player.isFolded()) {
-                List<Card> allCards = new ArrayList<>(communityCards);
-                allCards.addAll(player.getHoleCards().getCards());
-                playerHands.put(player, evaluator.evaluate(allCards));
-            }
-        }
+    public WinnerDeterminer() {
+        this(HandEvaluator.shared());
+    }
 
-        if (playerHands.isEmpty()) {
-            return Collections.emptyList();
-        }
+    public WinnerDeterminer(HandEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
 
-        Hand bestHand = playerHands.values().stream()
-            .max(Comparator.naturalOrder())
-            .orElseThrow();
+    public static WinnerDeterminer shared() {
+        return SHARED;
+    }
 
-        return playerHands.entrySet().stream()
-            .filter(e -> e.getValue().compareTo(bestHand) == 0)
-            .map(Map.Entry::getKey)
-            .toList();
+    public List<Player> determineWinners(List<Player> players, List<Card> communityCards) {
+        // Compare packed hand values; only the winner's Hand is ever built, in resolveShowdown
+        long board = HandEvaluator.toMask(communityCards);
+        List<Player> winners = new ArrayList<>(2);
+        int best = -1;
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (player.isFolded()) {
+                continue;
+            }
+            int value = evaluator.evaluateValue(board | player.getHoleCards().getMask());
+            if (value > best) {
+                best = value;
+                winners.clear();
+                winners.add(player);
+            } else if (value == best) {
+                winners.add(player);
+            }
+        }
+        return winners;
     }
 
     public Map<Player, Hand> evaluateAllHands(List<Player> players, List<Card> communityCards) {
@@ -44,6 +56,77 @@ public class WinnerDeterminer {
         return hands;
     }
 
+    // Pays the main pot and each side pot, sized by what every player put in this hand, to the best hand
+    // among the players still in who covered it; odd chips go to the earliest seat. Chips no investment
+    // accounts for go with the main pot. Shares are in players order, folded players included
+    public int[] splitPot(List<Player> players, List<Card> communityCards, int pot) {
+        return splitPot(players, handValues(players, HandEvaluator.toMask(communityCards)), pot);
+    }
+
+    // Packed hand value per player, -1 for folded players
+    private int[] handValues(List<Player> players, long board) {
+        int[] values = new int[players.size()];
+        for (int i = 0; i < values.length; i++) {
+            Player player = players.get(i);
+            values[i] = player.isFolded() ? -1 : evaluator.evaluateValue(board | player.getHoleCards().getMask());
+        }
+        return values;
+    }
+
+    private static int[] splitPot(List<Player> players, int[] values, int pot) {
+        int[] shares = new int[values.length];
+        int paid = 0;
+        int level = 0;
+        while (true) {
+            // The next all-in (or the largest stake) still in the hand caps the next pot
+            int cap = Integer.MAX_VALUE;
+            for (int i = 0; i < values.length; i++) {
+                int invested = players.get(i).getHandInvested();
+                if (values[i] >= 0 && invested > level) {
+                    cap = Math.min(cap, invested);
+                }
+            }
+            if (cap == Integer.MAX_VALUE) {
+                break;
+            }
+            int amount = 0;
+            for (Player player : players) {
+                int invested = player.getHandInvested();
+                amount += Math.min(invested, cap) - Math.min(invested, level);
+            }
+            award(players, values, cap, amount, shares);
+            paid += amount;
+            level = cap;
+        }
+        award(players, values, 0, pot - paid, shares);
+        return shares;
+    }
+
+    private static void award(List<Player> players, int[] values, int stake, int amount, int[] shares) {
+        if (amount <= 0) {
+            return;
+        }
+        int best = -1;
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < 0 || players.get(i).getHandInvested() < stake) {
+                continue;
+            }
+            if (values[i] > best) {
+                best = values[i];
+                count = 1;
+            } else if (values[i] == best) {
+                count++;
+            }
+        }
+        int odd = amount % count;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == best && players.get(i).getHandInvested() >= stake) {
+                shares[i] += amount / count + (odd-- > 0 ? 1 : 0);
+            }
+        }
+    }
+
     public ShowdownResult resolveShowdown(GameState state) {
         List<Player> playersInHand = state.getPlayersStillInHand();
         List<Card> communityCards = state.getCommunityCards();
@@ -59,22 +142,46 @@ public class WinnerDeterminer {
             );
         }
 
-        Map<Player, Hand> hands = evaluateAllHands(playersInHand, communityCards);
-        List<Player> winners = determineWinners(playersInHand, communityCards);
-
+        ShowdownEvent event = ShowdownEvent.beginIfEnabled();
+        List<Player> players = state.getPlayers();
+        int[] values = handValues(players, HandEvaluator.toMask(communityCards));
         int potAmount = state.getPot().getTotal();
-        int splitAmount = potAmount / winners.size();
-        int remainder = potAmount % winners.size();
-
+        int[] shares = splitPot(players, values, potAmount);
+
+        // Holders of the best hand first, then anyone who won only a side pot
+        int best = -1;
+        int bestHolders = 0;
+        for (int value : values) {
+            if (value > best) {
+                best = value;
+                bestHolders = 1;
+            } else if (value == best) {
+                bestHolders++;
+            }
+        }
+        List<Player> winners = new ArrayList<>(2);
         Map<Player, Integer> winnings = new HashMap<>();
-        for (int i = 0; i < winners.size(); i++) {
-            int amount = splitAmount + (i < remainder ? 1 : 0);
-            winnings.put(winners.get(i), amount);
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < shares.length; i++) {
+                if (shares[i] > 0 && (values[i] == best) == (pass == 0)) {
+                    winners.add(players.get(i));
+                    winnings.put(players.get(i), shares[i]);
+                }
+            }
         }
 
-        Hand winningHand = hands.get(winners.get(0));
-        boolean isSplit = winners.size() > 1;
-
+        List<Card> winnerCards = new ArrayList<>(communityCards);
+        winnerCards.addAll(winners.get(0).getHoleCards().getCards());
+        Hand winningHand = evaluator.evaluate(winnerCards);
+        boolean isSplit = bestHolders > 1;
+
+        if (event != null && event.shouldCommit()) {
+            event.playersEvaluated = playersInHand.size();
+            event.winners = winners.size();
+            event.pot = potAmount;
+            event.winningHand = winningHand.getDescription();
+            event.commit();
+        }
         return new ShowdownResult(winners, winnings, winningHand, isSplit);
     }
 
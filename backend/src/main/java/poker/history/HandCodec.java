@@ -0,0 +1,262 @@
+package poker.history;
+
+import poker.model.GameStage;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Binary hand-history frames. A segment file is a 16-byte header followed by frames:
+//
+//   varint   body length
+//   byte     flags: bit 0 seeded, bit 1 showdown, bits 2-4 last stage, bits 5-7 board card count
+//   long     hand seed (only when seeded)
+//   varint   small blind, big blind
+//   byte     seat count << 4 | button seat
+//   per seat byte seat type << 4 | position; varint starting chips; zigzag varint net result
+//   cards    6 bits each, both hole cards seat by seat and then the board, padded to a byte
+//   4 varint action counts for preflop, flop, turn and river
+//   actions  byte action type << 4 | seat; varint chips put in, for calls, bets, raises and all-ins
+//
+// A six-handed hand with a dozen actions comes to roughly 60-90 bytes.
+public final class HandCodec {
+    public static final int FORMAT_VERSION = 1;
+    public static final int SEGMENT_HEADER_BYTES = 16;
+
+    private static final int MAGIC = 0x504B4848; // "PKHH"
+    private static final int FLAG_SEEDED = 1;
+    private static final int FLAG_SHOWDOWN = 1 << 1;
+    private static final int STREETS = 4;
+    private static final int LENGTH_ROOM = 3;
+    private static final GameStage[] STAGES = GameStage.values();
+
+    private byte[] frame = new byte[256];
+    private int position;
+    private final int[] perStreet = new int[STREETS];
+
+    public static void writeSegmentHeader(ByteBuffer out, long createdMillis) {
+        out.putInt(MAGIC);
+        out.put((byte) FORMAT_VERSION);
+        out.put((byte) 0).put((byte) 0).put((byte) 0);
+        out.putLong(createdMillis);
+    }
+
+    // Returns the segment's creation time and leaves the buffer at the first frame
+    public static long readSegmentHeader(ByteBuffer in) {
+        if (in.remaining() < SEGMENT_HEADER_BYTES || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a hand-history segment");
+        }
+        int version = in.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported hand-history version " + version);
+        }
+        in.position(in.position() + 3);
+        return in.getLong();
+    }
+
+    // Encodes the hand as one length-prefixed frame in getFrame()[0, returned length)
+    public int encode(RecordedHand hand) {
+        int seats = hand.getSeatCount();
+        int cardBytes = ((seats * 2 + hand.getBoardCount()) * 6 + 7) / 8;
+        int maxBytes = LENGTH_ROOM + 1 + 8 + 10 + 1 + seats * 11 + cardBytes + STREETS * 5 + hand.getActionCount() * 6;
+        if (frame.length < maxBytes) {
+            frame = Arrays.copyOf(frame, Math.max(maxBytes, frame.length * 2));
+        }
+
+        position = LENGTH_ROOM;
+        int flags = (hand.hasSeed() ? FLAG_SEEDED : 0)
+            | (hand.isShowdown() ? FLAG_SHOWDOWN : 0)
+            | hand.lastStageCode() << 2
+            | hand.getBoardCount() << 5;
+        frame[position++] = (byte) flags;
+        if (hand.hasSeed()) {
+            long seed = hand.getSeed();
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                frame[position++] = (byte) (seed >>> shift);
+            }
+        }
+        writeVarint(hand.getSmallBlind());
+        writeVarint(hand.getBigBlind());
+        frame[position++] = (byte) (seats << 4 | hand.getButtonSeat());
+
+        for (int seat = 0; seat < seats; seat++) {
+            frame[position++] = (byte) (hand.seatTypeCode(seat) << 4 | hand.positionCode(seat));
+            writeVarint(hand.getStartingChips(seat));
+            writeVarint(zigzag(hand.getNet(seat)));
+        }
+
+        long bits = 0;
+        int bitCount = 0;
+        int cards = seats * 2 + hand.getBoardCount();
+        for (int i = 0; i < cards; i++) {
+            int card = i < seats * 2 ? hand.getHoleCard(i >> 1, i & 1) : hand.getBoardCard(i - seats * 2);
+            bits = bits << 6 | card;
+            bitCount += 6;
+            while (bitCount >= 8) {
+                bitCount -= 8;
+                frame[position++] = (byte) (bits >>> bitCount);
+            }
+        }
+        if (bitCount > 0) {
+            frame[position++] = (byte) (bits << (8 - bitCount));
+        }
+
+        int actions = hand.getActionCount();
+        Arrays.fill(perStreet, 0);
+        for (int i = 0; i < actions; i++) {
+            perStreet[hand.streetCode(i)]++;
+        }
+        for (int street = 0; street < STREETS; street++) {
+            writeVarint(perStreet[street]);
+        }
+        for (int i = 0; i < actions; i++) {
+            int type = hand.typeCode(i);
+            frame[position++] = (byte) (type << 4 | hand.getActionSeat(i));
+            if (carriesAmount(type)) {
+                writeVarint(hand.getActionAmount(i));
+            }
+        }
+
+        // Prefix the body with its length, sliding the body down to sit right after it
+        int bodyLength = position - LENGTH_ROOM;
+        position = 0;
+        writeVarint(bodyLength);
+        System.arraycopy(frame, LENGTH_ROOM, frame, position, bodyLength);
+        return position + bodyLength;
+    }
+
+    public byte[] getFrame() {
+        return frame;
+    }
+
+    // Decodes the next frame into hand; false at the end of the data or at a frame cut short by a crash
+    public static boolean decode(ByteBuffer in, RecordedHand hand) {
+        return decode(in, hand, true);
+    }
+
+    // Like decode, but stops after the cards and skips the actions (left empty)
+    public static boolean decodeHeader(ByteBuffer in, RecordedHand hand) {
+        return decode(in, hand, false);
+    }
+
+    // Last stage of the frame starting at offset, read from its flags byte without moving the buffer
+    public static GameStage lastStageAt(ByteBuffer in, int offset) {
+        int flagsAt = offset;
+        while (in.get(flagsAt) < 0) {
+            flagsAt++;
+        }
+        return STAGES[in.get(flagsAt + 1) >>> 2 & 0x7];
+    }
+
+    private static boolean decode(ByteBuffer in, RecordedHand hand, boolean withActions) {
+        if (!in.hasRemaining()) {
+            return false;
+        }
+        int start = in.position();
+        int bodyLength = in.remaining() >= LENGTH_ROOM || endsVarint(in) ? readVarint(in) : 0;
+        if (bodyLength <= 0 || in.remaining() < bodyLength) {
+            in.position(start);
+            return false;
+        }
+        int end = in.position() + bodyLength;
+
+        int flags = in.get() & 0xFF;
+        boolean seeded = (flags & FLAG_SEEDED) != 0;
+        long seed = seeded ? in.getLong() : 0L;
+        int smallBlind = readVarint(in);
+        int bigBlind = readVarint(in);
+        int seatByte = in.get() & 0xFF;
+        int seats = seatByte >>> 4;
+
+        hand.reset(smallBlind, bigBlind, seatByte & 0xF);
+        if (seeded) {
+            hand.setSeed(seed);
+        }
+        hand.setOutcomeCodes(flags >>> 2 & 0x7, (flags & FLAG_SHOWDOWN) != 0);
+        hand.setSeatCount(seats);
+        for (int seat = 0; seat < seats; seat++) {
+            int codes = in.get() & 0xFF;
+            int chips = readVarint(in);
+            int net = unzigzag(readVarint(in));
+            hand.setSeatCodes(seat, codes >>> 4, codes & 0xF, chips, net);
+        }
+
+        int boardCount = flags >>> 5;
+        int cards = seats * 2 + boardCount;
+        long bits = 0;
+        int bitCount = 0;
+        for (int i = 0; i < cards; i++) {
+            if (bitCount < 6) {
+                bits = bits << 8 | (in.get() & 0xFF);
+                bitCount += 8;
+            }
+            bitCount -= 6;
+            int card = (int) (bits >>> bitCount) & 0x3F;
+            if (i < seats * 2) {
+                hand.setHoleCardCode(i, card);
+            } else {
+                hand.addBoardCard(card);
+            }
+        }
+
+        if (!withActions) {
+            in.position(end);
+            return true;
+        }
+        int preflop = readVarint(in);
+        int flop = readVarint(in);
+        int turn = readVarint(in);
+        int river = readVarint(in);
+        int actions = preflop + flop + turn + river;
+        for (int i = 0; i < actions; i++) {
+            int street = i < preflop ? 0 : i < preflop + flop ? 1 : i < preflop + flop + turn ? 2 : 3;
+            int codes = in.get() & 0xFF;
+            int type = codes >>> 4;
+            int amount = carriesAmount(type) ? readVarint(in) : 0;
+            hand.addActionCodes(codes & 0xF, street, type, amount);
+        }
+
+        in.position(end);
+        return true;
+    }
+
+    // FOLD and CHECK move no chips; every later ActionType does
+    private static boolean carriesAmount(int type) {
+        return type >= 2;
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            frame[position++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        frame[position++] = (byte) value;
+    }
+
+    private static boolean endsVarint(ByteBuffer in) {
+        for (int i = in.position(); i < in.limit(); i++) {
+            if (in.get(i) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static int zigzag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    private static int unzigzag(int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+}
@@ -0,0 +1,112 @@
+package poker.history;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// Bulk import of third-party text hand histories. Files are parsed in parallel, one file per worker,
+// each with its own parser and RecordedHand; the sink sees one hand at a time and must not keep it.
+//   HandHistoryImporter --out=hand-history <files or directories of *.txt> [--dry-run]
+public final class HandHistoryImporter {
+
+    private HandHistoryImporter() {
+    }
+
+    public record Result(int files, long hands, long skipped, long nanos) {
+        public double handsPerSecond() {
+            return nanos > 0 ? hands * 1e9 / nanos : 0;
+        }
+    }
+
+    // The sink is called from several threads at once; a hand it refuses counts as skipped
+    public static Result importFiles(List<Path> files, Predicate<RecordedHand> sink) throws IOException {
+        LongAdder hands = new LongAdder();
+        LongAdder skipped = new LongAdder();
+        long started = System.nanoTime();
+        try {
+            files.parallelStream().forEach(file -> {
+                RecordedHand hand = new RecordedHand();
+                try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    PokerStarsParser parser = new PokerStarsParser(in);
+                    while (parser.next(hand)) {
+                        if (sink.test(hand)) {
+                            hands.increment();
+                        } else {
+                            skipped.increment();
+                        }
+                    }
+                    skipped.add(parser.getSkippedCount());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(file.toString(), e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new Result(files.size(), hands.sum(), skipped.sum(), System.nanoTime() - started);
+    }
+
+    // Plain files as given, plus every *.txt under the given directories
+    public static List<Path> collectFiles(List<Path> inputs) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                try (Stream<Path> walk = Files.walk(input)) {
+                    walk.filter(Files::isRegularFile)
+                        .filter(file -> file.getFileName().toString().endsWith(".txt"))
+                        .forEach(files::add);
+                }
+            } else {
+                files.add(input);
+            }
+        }
+        return files;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path out = Path.of("hand-history");
+        boolean dryRun = false;
+        List<Path> inputs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--out=")) {
+                out = Path.of(arg.substring(6));
+            } else if (arg.equals("--dry-run")) {
+                dryRun = true;
+            } else {
+                inputs.add(Path.of(arg));
+            }
+        }
+        List<Path> files = collectFiles(inputs);
+        if (files.isEmpty()) {
+            System.err.println("No hand-history files given");
+            return;
+        }
+
+        Result result;
+        if (dryRun) {
+            result = importFiles(files, hand -> true);
+        } else {
+            try (HandHistoryWriter writer = new HandHistoryWriter(out)) {
+                result = importFiles(files, hand -> {
+                    try {
+                        return writer.appendWaiting(hand);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Import interrupted", e);
+                    }
+                });
+            }
+        }
+        System.out.printf("%d files: %,d hands imported, %,d skipped in %.1f s (%,.0f hands/s)%s%n",
+            result.files(), result.hands(), result.skipped(), result.nanos() / 1e9, result.handsPerSecond(),
+            dryRun ? ", dry run" : " -> " + out);
+    }
+}
@@ -0,0 +1,236 @@
+package poker.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+// Read side of the hand history: every segment is memory-mapped and frames are decoded straight out of
+// the mapping. Queries go through the per-segment indexes, so they touch only the matching frames.
+// Safe for concurrent queries; each one works on its own buffer views.
+public final class HandHistoryReader implements Closeable {
+    private static final int MIN_LEAF_HANDS = 4096;
+
+    private final List<Segment> segments;
+
+    private HandHistoryReader(List<Segment> segments) {
+        this.segments = segments;
+    }
+
+    // Indexes of new or grown segments are built in parallel and saved for the next open
+    public static HandHistoryReader open(Path directory) throws IOException {
+        List<Path> files = HandHistoryWriter.listSegments(directory);
+        try {
+            List<Segment> segments = files.parallelStream().map(HandHistoryReader::openSegment).toList();
+            return new HandHistoryReader(new ArrayList<>(segments));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Segment openSegment(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            HandCodec.readSegmentHeader(data);
+            ByteBuffer frames = data.slice();
+            return new Segment(file, frames, SegmentIndex.open(file, frames, size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getHandCount() {
+        long hands = 0;
+        for (Segment segment : segments) {
+            hands += segment.index().getHandCount();
+        }
+        return hands;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public long count(HandQuery query) {
+        OffsetList offsets = new OffsetList();
+        long matches = 0;
+        for (Segment segment : segments) {
+            matches += candidates(segment, query, offsets);
+        }
+        return matches;
+    }
+
+    // Decodes each matching hand into one reused RecordedHand; seat is the first matching seat,
+    // or -1 when the query has no seat criteria. Returns the number of hands visited.
+    public long forEach(HandQuery query, HandVisitor visitor) {
+        OffsetList offsets = new OffsetList();
+        RecordedHand hand = new RecordedHand();
+        long visited = 0;
+        for (Segment segment : segments) {
+            int matches = candidates(segment, query, offsets);
+            ByteBuffer in = segment.frames().duplicate();
+            for (int i = 0; i < matches; i++) {
+                in.position(offsets.get(i));
+                HandCodec.decode(in, hand);
+                visitor.visit(segment.file(), hand, firstMatchingSeat(query, hand));
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    // Fork-join reduction over the matching hands. The matches of all segments are cut into ranges;
+    // each leaf task decodes its range into its own RecordedHand and its own accumulator, and the
+    // partial accumulators are combined pairwise on the way back up. Seats are left to the accumulator.
+    public <A> A reduce(HandQuery query, Supplier<A> identity, BiConsumer<A, RecordedHand> accumulator,
+                        BinaryOperator<A> combiner) {
+        OffsetList offsets = new OffsetList();
+        int[][] matches = new int[segments.size()][];
+        long[] starts = new long[segments.size() + 1];
+        for (int i = 0; i < segments.size(); i++) {
+            matches[i] = offsets.toArray(candidates(segments.get(i), query, offsets));
+            starts[i + 1] = starts[i] + matches[i].length;
+        }
+        long total = starts[segments.size()];
+        long leafHands = Math.max(MIN_LEAF_HANDS, total / (ForkJoinPool.getCommonPoolParallelism() * 4L));
+        return ForkJoinPool.commonPool().invoke(
+            new ReduceTask<>(this, matches, starts, 0, total, leafHands, identity, accumulator, combiner));
+    }
+
+    private static int firstMatchingSeat(HandQuery query, RecordedHand hand) {
+        if (query.hasSeatCriteria()) {
+            for (int seat = 0; seat < hand.getSeatCount(); seat++) {
+                if (query.matchesSeat(hand, seat)) {
+                    return seat;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Leaves the segment's matching frame offsets, in file order, at the front of offsets
+    private static int candidates(Segment segment, HandQuery query, OffsetList offsets) {
+        SegmentIndex index = segment.index();
+        offsets.clear();
+        int fromStage = query.reached() != null ? query.reached().ordinal() : 0;
+
+        if (!query.hasSeatCriteria()) {
+            for (int stage = fromStage; stage < SegmentIndex.STAGES; stage++) {
+                index.addStagePostings(stage, offsets);
+            }
+            offsets.sortDistinct();
+            return offsets.size();
+        }
+
+        int typeFrom = query.seatType() != null ? query.seatType().ordinal() : 0;
+        int typeTo = query.seatType() != null ? typeFrom + 1 : SegmentIndex.TYPES;
+        int positionFrom = query.position() != null ? query.position().ordinal() : 0;
+        int positionTo = query.position() != null ? positionFrom + 1 : SegmentIndex.POSITIONS;
+        int classFrom = query.handClass() >= 0 ? query.handClass() : 0;
+        int classTo = query.handClass() >= 0 ? classFrom + 1 : SegmentIndex.CLASSES;
+        for (int type = typeFrom; type < typeTo; type++) {
+            for (int position = positionFrom; position < positionTo; position++) {
+                for (int handClass = classFrom; handClass < classTo; handClass++) {
+                    index.addSeatPostings(SegmentIndex.seatKey(type, position, handClass), offsets);
+                }
+            }
+        }
+        offsets.sortDistinct();
+        if (fromStage == 0) {
+            return offsets.size();
+        }
+
+        // Street filter on top of seat postings: one flags byte per candidate, all within the mapping
+        ByteBuffer frames = segment.frames();
+        int kept = 0;
+        for (int i = 0; i < offsets.size(); i++) {
+            int offset = offsets.get(i);
+            if (HandCodec.lastStageAt(frames, offset).ordinal() >= fromStage) {
+                offsets.set(kept++, offset);
+            }
+        }
+        return kept;
+    }
+
+    // Mappings are released when the reader is garbage collected; this only drops the references
+    @Override
+    public void close() {
+        segments.clear();
+    }
+
+    private static final class ReduceTask<A> extends RecursiveTask<A> {
+        private final HandHistoryReader reader;
+        private final int[][] matches;
+        private final long[] starts;
+        private final long from;
+        private final long to;
+        private final long leafHands;
+        private final Supplier<A> identity;
+        private final BiConsumer<A, RecordedHand> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        ReduceTask(HandHistoryReader reader, int[][] matches, long[] starts, long from, long to, long leafHands,
+                   Supplier<A> identity, BiConsumer<A, RecordedHand> accumulator, BinaryOperator<A> combiner) {
+            this.reader = reader;
+            this.matches = matches;
+            this.starts = starts;
+            this.from = from;
+            this.to = to;
+            this.leafHands = leafHands;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from > leafHands) {
+                long middle = (from + to) >>> 1;
+                ReduceTask<A> left = new ReduceTask<>(reader, matches, starts, from, middle, leafHands,
+                    identity, accumulator, combiner);
+                left.fork();
+                A right = new ReduceTask<>(reader, matches, starts, middle, to, leafHands,
+                    identity, accumulator, combiner).compute();
+                return combiner.apply(left.join(), right);
+            }
+
+            A result = identity.get();
+            RecordedHand hand = new RecordedHand();
+            int segment = Arrays.binarySearch(starts, from);
+            segment = segment >= 0 ? segment : -segment - 2;
+            ByteBuffer in = null;
+            for (long i = from; i < to; i++) {
+                while (i >= starts[segment + 1]) {
+                    segment++;
+                    in = null;
+                }
+                if (in == null) {
+                    in = reader.segments.get(segment).frames().duplicate();
+                }
+                in.position(matches[segment][(int) (i - starts[segment])]);
+                HandCodec.decode(in, hand);
+                accumulator.accept(result, hand);
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    public interface HandVisitor {
+        void visit(Path segment, RecordedHand hand, int seat);
+    }
+
+    private record Segment(Path file, ByteBuffer frames, SegmentIndex index) {}
+}
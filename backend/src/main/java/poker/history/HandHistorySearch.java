@@ -0,0 +1,98 @@
+package poker.history;
+
+import poker.model.Card;
+import poker.model.GameStage;
+import poker.model.Position;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Command-line queries over a hand-history directory, e.g.
+//   HandHistorySearch --dir=hand-history --seat=HUMAN --hand=AKo --position=BTN [--reached=FLOP] [--show=20]
+public final class HandHistorySearch {
+
+    private HandHistorySearch() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        HandQuery query = HandQuery.any();
+        if (options.containsKey("seat")) {
+            query = query.seat(SeatType.valueOf(options.get("seat").toUpperCase(Locale.ROOT)));
+        }
+        if (options.containsKey("hand")) {
+            query = query.holding(options.get("hand"));
+        }
+        if (options.containsKey("position")) {
+            query = query.from(parsePosition(options.get("position")));
+        }
+        if (options.containsKey("reached")) {
+            query = query.reaching(GameStage.valueOf(options.get("reached").toUpperCase(Locale.ROOT)));
+        }
+        int show = Integer.parseInt(options.getOrDefault("show", "10"));
+
+        long started = System.nanoTime();
+        try (HandHistoryReader reader = HandHistoryReader.open(Path.of(options.getOrDefault("dir", "hand-history")))) {
+            System.out.printf("Opened %,d hands in %d segments in %.1f ms%n",
+                reader.getHandCount(), reader.getSegmentCount(), (System.nanoTime() - started) / 1e6);
+
+            started = System.nanoTime();
+            long matches = reader.count(query);
+            System.out.printf("%,d hands match %s (%.2f ms)%n", matches, query, (System.nanoTime() - started) / 1e6);
+
+            long[] shown = {0};
+            if (show > 0) {
+                reader.forEach(query, (segment, hand, seat) -> {
+                    if (shown[0]++ < show) {
+                        System.out.println("  " + describe(hand, seat));
+                    }
+                });
+            }
+        }
+    }
+
+    private static Position parsePosition(String text) {
+        for (Position position : Position.values()) {
+            if (position.getAbbreviation().equalsIgnoreCase(text) || position.name().equalsIgnoreCase(text)) {
+                return position;
+            }
+        }
+        throw new IllegalArgumentException("Unknown position: " + text);
+    }
+
+    private static String describe(RecordedHand hand, int seat) {
+        StringBuilder sb = new StringBuilder();
+        if (hand.hasSeed()) {
+            sb.append("seed ").append(hand.getSeed()).append("  ");
+        }
+        sb.append(hand.getSeatCount()).append("-max  ");
+        if (seat >= 0) {
+            Position position = hand.getPosition(seat);
+            sb.append(position != null ? position.getAbbreviation() : "?").append(' ')
+                .append(hand.getSeatType(seat)).append(' ')
+                .append(card(hand.getHoleCard(seat, 0))).append(card(hand.getHoleCard(seat, 1)))
+                .append(String.format("  %+.1f bb  ", hand.getNet(seat) / (double) hand.getBigBlind()));
+        }
+        sb.append("board ");
+        for (int i = 0; i < hand.getBoardCount(); i++) {
+            sb.append(card(hand.getBoardCard(i)));
+        }
+        sb.append("  ended ").append(hand.getLastStage()).append(hand.isShowdown() ? " (showdown)" : "");
+        return sb.toString();
+    }
+
+    private static String card(int index) {
+        return index == RecordedHand.UNKNOWN_CARD ? "??" : Card.fromIndex(index).toNotation();
+    }
+}
@@ -0,0 +1,291 @@
+package poker.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Append-only hand history. Game threads encode a hand into a shared batch buffer under a short
+// lock and return; one background thread swaps the batch out and writes it to the current segment
+// in a single sequential write. If the disk falls so far behind that the batch fills up, hands are
+// dropped and counted rather than stalling the table. A batch that fails to write is cut back off the
+// segment (or, failing that, the segment is abandoned for a new one), so every segment holds whole
+// frames only; its hands are counted as lost.
+public final class HandHistoryWriter implements Closeable {
+    public static final String SEGMENT_SUFFIX = ".phh";
+    public static final long DEFAULT_SEGMENT_BYTES = 256L << 20;
+    public static final int DEFAULT_BATCH_BYTES = 64 << 10;
+    public static final int DEFAULT_BUFFER_BYTES = 4 << 20;
+    // Readers address frames with int offsets, and a segment can run one buffer past its size before
+    // rotating, so both stay well under 2 GB
+    public static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int batchBytes;
+    private final long flushNanos;
+    private final Thread thread;
+
+    private final Object lock = new Object();
+    private final HandCodec codec = new HandCodec();
+    private byte[] filling;
+    private byte[] draining;
+    private int filled;
+    private int fillingHands;
+    private boolean closed;
+
+    private FileChannel segment;
+    private long segmentSize;
+    private int nextSegment;
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong lost = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private volatile IOException failure;
+
+    public HandHistoryWriter(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES, DEFAULT_BATCH_BYTES, DEFAULT_BUFFER_BYTES, 200);
+    }
+
+    public HandHistoryWriter(Path directory, long segmentBytes, int batchBytes, int bufferBytes,
+                             long flushMillis) throws IOException {
+        if (segmentBytes <= 0 || segmentBytes > MAX_SEGMENT_BYTES || bufferBytes <= 0 || bufferBytes > MAX_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Segment and buffer sizes must be between 1 byte and "
+                + (MAX_SEGMENT_BYTES >> 20) + " MB");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.batchBytes = batchBytes;
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.filling = new byte[bufferBytes];
+        this.draining = new byte[bufferBytes];
+
+        List<Path> existing = listSegments(directory);
+        this.nextSegment = existing.isEmpty() ? 1 : segmentNumber(existing.get(existing.size() - 1)) + 1;
+
+        this.thread = new Thread(this::drainLoop, "hand-history-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Segments in write order
+    public static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                .filter(file -> file.getFileName().toString().matches("hands-\\d+\\" + SEGMENT_SUFFIX))
+                .toList());
+            segments.sort((a, b) -> Integer.compare(segmentNumber(a), segmentNumber(b)));
+            return segments;
+        }
+    }
+
+    private static int segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring("hands-".length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // Never blocks on disk; false when the hand was dropped because the writer is closed or behind
+    public boolean append(RecordedHand hand) {
+        synchronized (lock) {
+            if (closed) {
+                return false;
+            }
+            int length = codec.encode(hand);
+            if (filled + length > filling.length) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            System.arraycopy(codec.getFrame(), 0, filling, filled, length);
+            filled += length;
+            fillingHands++;
+            if (filled >= batchBytes) {
+                lock.notifyAll();
+            }
+        }
+        appended.incrementAndGet();
+        return true;
+    }
+
+    // For bulk producers such as importers: waits for the writer thread to make room instead of dropping.
+    // False, counted as dropped, only for a hand whose frame is larger than the whole buffer.
+    public boolean appendWaiting(RecordedHand hand) throws InterruptedException {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Hand history writer is closed");
+            }
+            int length = codec.encode(hand);
+            while (filled + length > filling.length) {
+                if (length > filling.length) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                lock.notifyAll();
+                lock.wait();
+                if (closed) {
+                    throw new IllegalStateException("Hand history writer is closed");
+                }
+                // Other producers encoded into the shared frame while this one waited
+                length = codec.encode(hand);
+            }
+            System.arraycopy(codec.getFrame(), 0, filling, filled, length);
+            filled += length;
+            fillingHands++;
+            if (filled >= batchBytes) {
+                lock.notifyAll();
+            }
+        }
+        appended.incrementAndGet();
+        return true;
+    }
+
+    public long getAppendedCount() {
+        return appended.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    // Hands whose batch failed to reach the disk
+    public long getLostCount() {
+        return lost.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private void drainLoop() {
+        boolean done = false;
+        while (!done) {
+            int length;
+            int hands;
+            synchronized (lock) {
+                long deadline = System.nanoTime() + flushNanos;
+                long remaining;
+                while (!closed && filled < batchBytes && (remaining = deadline - System.nanoTime()) > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                }
+                done = closed;
+                byte[] full = filling;
+                filling = draining;
+                draining = full;
+                length = filled;
+                hands = fillingHands;
+                filled = 0;
+                fillingHands = 0;
+                lock.notifyAll();
+            }
+            if (length > 0) {
+                write(draining, length, hands);
+            }
+        }
+        closeSegment();
+    }
+
+    private void write(byte[] batch, int length, int hands) {
+        try {
+            if (segment == null || segmentSize >= segmentBytes) {
+                openNextSegment();
+            }
+        } catch (IOException e) {
+            failure = e;
+            lost.addAndGet(hands);
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch, 0, length);
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+            segmentSize += length;
+            bytesWritten.addAndGet(length);
+        } catch (IOException e) {
+            failure = e;
+            lost.addAndGet(hands);
+            discardPartialBatch();
+        }
+    }
+
+    // Cuts a torn batch back off the segment so the next one follows a whole frame; a segment that
+    // cannot be cut is left as it is, ending in a torn frame readers stop at, and writing moves on
+    private void discardPartialBatch() {
+        try {
+            segment.truncate(segmentSize);
+            segment.position(segmentSize);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+            closeSegment();
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        closeSegment();
+        Path file = directory.resolve(String.format("hands-%06d%s", nextSegment++, SEGMENT_SUFFIX));
+        segment = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HandCodec.SEGMENT_HEADER_BYTES);
+            HandCodec.writeSegmentHeader(header, System.currentTimeMillis());
+            header.flip();
+            while (header.hasRemaining()) {
+                segment.write(header);
+            }
+        } catch (IOException e) {
+            // A segment without its header is unreadable: remove it and try a fresh one next batch
+            closeSegment();
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        segmentSize = HandCodec.SEGMENT_HEADER_BYTES;
+    }
+
+    // Forced to the device first, so a finished segment (or the last one, on close) survives a power loss
+    private void closeSegment() {
+        if (segment != null) {
+            try (FileChannel closing = segment) {
+                closing.force(true);
+            } catch (IOException e) {
+                failure = e;
+            }
+            segment = null;
+        }
+    }
+
+    // Writes out everything appended so far and stops the writer thread
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        IOException error = failure;
+        if (error != null) {
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package poker.history;
+
+import poker.model.GameStage;
+import poker.model.HoleCards;
+import poker.model.Position;
+
+// Hands with a seat matching every given seat criterion, optionally only those that reached a street.
+// Null (or -1 for the hand class) means any; e.g. HandQuery.any().seat(HUMAN).holding("AKo").from(BUTTON)
+public record HandQuery(
+    SeatType seatType,
+    int handClass,
+    Position position,
+    GameStage reached
+) {
+    public static HandQuery any() {
+        return new HandQuery(null, -1, null, null);
+    }
+
+    public HandQuery seat(SeatType seatType) {
+        return new HandQuery(seatType, handClass, position, reached);
+    }
+
+    public HandQuery holding(String notation) {
+        return new HandQuery(seatType, HoleCards.classIndexOf(notation), position, reached);
+    }
+
+    public HandQuery from(Position position) {
+        return new HandQuery(seatType, handClass, position, reached);
+    }
+
+    // Hands whose last street is this one or later
+    public HandQuery reaching(GameStage reached) {
+        return new HandQuery(seatType, handClass, position, reached);
+    }
+
+    public boolean hasSeatCriteria() {
+        return seatType != null || handClass >= 0 || position != null;
+    }
+
+    public boolean matchesSeat(RecordedHand hand, int seat) {
+        if (seatType != null && hand.getSeatType(seat) != seatType) {
+            return false;
+        }
+        if (position != null && hand.getPosition(seat) != position) {
+            return false;
+        }
+        if (handClass >= 0) {
+            int card1 = hand.getHoleCard(seat, 0);
+            int card2 = hand.getHoleCard(seat, 1);
+            return card1 != RecordedHand.UNKNOWN_CARD && card2 != RecordedHand.UNKNOWN_CARD
+                && HoleCards.classIndex(card1, card2) == handClass;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package poker.history;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+// Growable int array of frame offsets gathered from index postings for one segment
+final class OffsetList {
+    private int[] values = new int[64];
+    private int size;
+
+    void clear() {
+        size = 0;
+    }
+
+    void addAll(IntBuffer source, int start, int length) {
+        if (values.length < size + length) {
+            values = Arrays.copyOf(values, Math.max(size + length, values.length * 2));
+        }
+        source.get(start, values, size, length);
+        size += length;
+    }
+
+    // Sorts into file order and drops offsets gathered from more than one posting list
+    void sortDistinct() {
+        Arrays.sort(values, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || values[i] != values[distinct - 1]) {
+                values[distinct++] = values[i];
+            }
+        }
+        size = distinct;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    void set(int index, int value) {
+        values[index] = value;
+    }
+
+    int[] toArray(int length) {
+        return Arrays.copyOf(values, length);
+    }
+}
@@ -0,0 +1,425 @@
+package poker.history;
+
+import poker.model.ActionType;
+import poker.model.Card;
+import poker.model.GameStage;
+import poker.model.Position;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Streaming parser for PokerStars-style text hand histories, the layout most sites and tracker
+// converters export. Reads one hand at a time into a RecordedHand, so memory is bounded by the
+// longest hand, not the file. Cards are read straight from the line with Card.parseIndex.
+// Amounts become integer chips, or cents when written with a currency sign.
+// The hero ("Dealt to") is recorded as HUMAN and everyone else as UNKNOWN. Non-Hold'em hands,
+// and hands the parser cannot follow, are skipped and counted.
+public final class PokerStarsParser {
+    private static final GameStage[] STAGES = GameStage.values();
+    private static final ActionType[] TYPES = ActionType.values();
+    // POSITIONS[n][r]: position of the seat r places after the button at an n-handed table.
+    // Heads-up is settled by the blind posts in finish() instead
+    private static final Position[][] POSITIONS = new Position[10][];
+
+    static {
+        for (int count = 2; count <= 9; count++) {
+            POSITIONS[count] = new Position[count];
+            for (int relative = 0; relative < count; relative++) {
+                POSITIONS[count][relative] = Position.ofSeat(relative, count);
+            }
+        }
+    }
+
+    private final BufferedReader in;
+    private boolean started;
+    private String pending;
+    private long skipped;
+
+    private boolean holdem;
+    private boolean broken;
+    private boolean inSummary;
+    private boolean showdown;
+    private int street;
+    private int buttonNumber;
+    private int smallBlind;
+    private int bigBlind;
+    private int smallBlindSeat;
+    private int hero;
+
+    private int seats;
+    private final String[] names = new String[RecordedHand.MAX_SEATS];
+    private final int[] seatNumbers = new int[RecordedHand.MAX_SEATS];
+    private final int[] chips = new int[RecordedHand.MAX_SEATS];
+    private final int[] invested = new int[RecordedHand.MAX_SEATS];
+    private final int[] returned = new int[RecordedHand.MAX_SEATS];
+    private final int[] streetPut = new int[RecordedHand.MAX_SEATS];
+    private final int[] holeCards = new int[RecordedHand.MAX_SEATS * 2];
+    private int boardCount;
+    private final int[] board = new int[5];
+
+    private int actionCount;
+    private int[] actionSeat = new int[32];
+    private int[] actionStreet = new int[32];
+    private int[] actionType = new int[32];
+    private int[] actionAmount = new int[32];
+
+    public PokerStarsParser(BufferedReader in) {
+        this.in = in;
+    }
+
+    // Hands skipped so far: other games, or text the parser could not follow
+    public long getSkippedCount() {
+        return skipped;
+    }
+
+    // Reads the next Hold'em hand into hand; false at the end of the input
+    public boolean next(RecordedHand hand) throws IOException {
+        while (true) {
+            String header = pending != null ? pending : readHeader();
+            pending = null;
+            if (header == null) {
+                return false;
+            }
+            begin(header);
+            String line;
+            while ((line = readLine()) != null && !isHeader(line)) {
+                if (!broken && holdem && !line.isEmpty()) {
+                    parseLine(line);
+                }
+            }
+            pending = line;
+            if (holdem && !broken && seats >= 2) {
+                finish(hand);
+                return true;
+            }
+            skipped++;
+        }
+    }
+
+    private String readHeader() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (isHeader(line)) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    // Files saved by Windows tools often begin with a byte order mark, which would hide the first header
+    private String readLine() throws IOException {
+        String line = in.readLine();
+        if (!started) {
+            started = true;
+            if (line != null && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+        }
+        return line;
+    }
+
+    private static boolean isHeader(String line) {
+        return line.startsWith("PokerStars ") && (line.indexOf(" Hand #") > 0 || line.indexOf(" Game #") > 0);
+    }
+
+    private void begin(String header) {
+        holdem = header.contains("Hold'em");
+        broken = false;
+        inSummary = false;
+        showdown = false;
+        street = 0;
+        buttonNumber = -1;
+        smallBlind = 0;
+        bigBlind = 0;
+        smallBlindSeat = -1;
+        hero = -1;
+        seats = 0;
+        boardCount = 0;
+        actionCount = 0;
+    }
+
+    private void parseLine(String line) {
+        if (line.startsWith("*** ")) {
+            parseMarker(line);
+        } else if (inSummary) {
+            parseSummary(line);
+        } else if (line.startsWith("Table '")) {
+            int at = line.indexOf("Seat #");
+            buttonNumber = at < 0 ? -1 : (int) parseAmount(line, at + 6);
+        } else if (street == 0 && actionCount == 0 && line.startsWith("Seat ") && line.contains(" in chips")) {
+            parseSeat(line);
+        } else if (line.startsWith("Dealt to ")) {
+            int seat = seatStartingAt(line, 9);
+            int bracket = seat < 0 ? -1 : line.indexOf('[', 9 + names[seat].length());
+            if (bracket > 0) {
+                hero = seat;
+                readCards(line, bracket, seat);
+            }
+        } else if (line.startsWith("Uncalled bet (")) {
+            int close = line.indexOf(") returned to ");
+            int seat = close < 0 ? -1 : seatStartingAt(line, close + 14);
+            long amount = parseAmount(line, 14);
+            if (seat < 0 || amount < 0) {
+                broken = true;
+            } else {
+                returned[seat] += (int) amount;
+            }
+        } else {
+            parseSeatLine(line);
+        }
+    }
+
+    private void parseMarker(String line) {
+        if (line.startsWith("*** FLOP ***")) {
+            nextStreet(1);
+        } else if (line.startsWith("*** TURN ***")) {
+            nextStreet(2);
+        } else if (line.startsWith("*** RIVER ***")) {
+            nextStreet(3);
+        } else if (line.startsWith("*** SHOW DOWN ***") || line.startsWith("*** SHOWDOWN ***")) {
+            showdown = true;
+        } else if (line.startsWith("*** SUMMARY ***")) {
+            inSummary = true;
+        }
+    }
+
+    private void nextStreet(int next) {
+        street = next;
+        Arrays.fill(streetPut, 0, seats, 0);
+    }
+
+    // Seat 3: Name ($2.00 in chips) [is sitting out]
+    private void parseSeat(String line) {
+        if (line.contains(" is sitting out") || line.contains(" out of hand")) {
+            return;
+        }
+        int colon = line.indexOf(": ");
+        int chipsAt = line.lastIndexOf(" (", line.indexOf(" in chips"));
+        if (colon < 0 || chipsAt <= colon || seats == RecordedHand.MAX_SEATS) {
+            broken = true;
+            return;
+        }
+        int seat = seats++;
+        seatNumbers[seat] = (int) parseAmount(line, 5);
+        names[seat] = line.substring(colon + 2, chipsAt);
+        chips[seat] = (int) parseAmount(line, chipsAt + 2);
+        invested[seat] = 0;
+        returned[seat] = 0;
+        streetPut[seat] = 0;
+        holeCards[seat * 2] = RecordedHand.UNKNOWN_CARD;
+        holeCards[seat * 2 + 1] = RecordedHand.UNKNOWN_CARD;
+    }
+
+    // "Name: verb ..." actions and shows, and "Name collected X from pot"
+    private void parseSeatLine(String line) {
+        int seat = seatStartingAt(line, 0);
+        if (seat < 0) {
+            return;
+        }
+        int at = names[seat].length();
+        if (line.startsWith(" collected ", at)) {
+            long amount = parseAmount(line, at + 11);
+            if (amount < 0) {
+                broken = true;
+            } else {
+                returned[seat] += (int) amount;
+            }
+            return;
+        }
+        if (!line.startsWith(": ", at)) {
+            return;
+        }
+        at += 2;
+        boolean allIn = line.endsWith("and is all-in");
+        if (line.startsWith("folds", at)) {
+            action(seat, ActionType.FOLD, 0);
+        } else if (line.startsWith("checks", at)) {
+            action(seat, ActionType.CHECK, 0);
+        } else if (line.startsWith("calls ", at)) {
+            put(seat, allIn ? ActionType.ALL_IN : ActionType.CALL, parseAmount(line, at + 6));
+        } else if (line.startsWith("bets ", at)) {
+            put(seat, allIn ? ActionType.ALL_IN : ActionType.BET, parseAmount(line, at + 5));
+        } else if (line.startsWith("raises ", at)) {
+            int to = line.indexOf(" to ", at + 7);
+            long total = to < 0 ? -1 : parseAmount(line, to + 4);
+            put(seat, allIn ? ActionType.ALL_IN : ActionType.RAISE, total < 0 ? -1 : total - streetPut[seat]);
+        } else if (line.startsWith("posts small blind ", at)) {
+            long amount = parseAmount(line, at + 18);
+            smallBlind = smallBlind == 0 && amount > 0 ? (int) amount : smallBlind;
+            smallBlindSeat = smallBlindSeat < 0 ? seat : smallBlindSeat;
+            post(seat, amount, true);
+        } else if (line.startsWith("posts big blind ", at)) {
+            long amount = parseAmount(line, at + 16);
+            bigBlind = bigBlind == 0 && amount > 0 ? (int) amount : bigBlind;
+            post(seat, amount, true);
+        } else if (line.startsWith("posts small & big blinds ", at)) {
+            post(seat, parseAmount(line, at + 25), true);
+        } else if (line.startsWith("posts the ante ", at)) {
+            post(seat, parseAmount(line, at + 15), false);
+        } else if (line.startsWith("shows [", at)) {
+            readCards(line, at + 6, seat);
+        }
+    }
+
+    private void parseSummary(String line) {
+        if (line.startsWith("Board [")) {
+            for (int at = 7; boardCount < board.length; at += 3) {
+                int card = Card.parseIndex(line, at);
+                if (card < 0) {
+                    break;
+                }
+                board[boardCount++] = card;
+            }
+        } else if (line.startsWith("Seat ")) {
+            int colon = line.indexOf(": ");
+            int seat = colon < 0 ? -1 : seatStartingAt(line, colon + 2);
+            int shown = seat < 0 ? -1 : line.indexOf(" showed [", colon);
+            // The summary only repeats what the hand already said; a line it cannot read costs nothing
+            int card1 = shown < 0 ? -1 : Card.parseIndex(line, shown + 9);
+            int card2 = shown < 0 ? -1 : Card.parseIndex(line, shown + 12);
+            if (card1 >= 0 && card2 >= 0 && holeCards[seat * 2] == RecordedHand.UNKNOWN_CARD) {
+                holeCards[seat * 2] = card1;
+                holeCards[seat * 2 + 1] = card2;
+            }
+        }
+    }
+
+    // "[Ah Kd]" starting at bracket
+    private void readCards(String line, int bracket, int seat) {
+        int card1 = Card.parseIndex(line, bracket + 1);
+        int card2 = Card.parseIndex(line, bracket + 4);
+        if (card1 < 0 || card2 < 0) {
+            broken = true;
+            return;
+        }
+        holeCards[seat * 2] = card1;
+        holeCards[seat * 2 + 1] = card2;
+    }
+
+    private void post(int seat, long amount, boolean live) {
+        if (amount < 0) {
+            broken = true;
+            return;
+        }
+        invested[seat] += (int) amount;
+        if (live) {
+            streetPut[seat] += (int) amount;
+        }
+    }
+
+    private void put(int seat, ActionType type, long amount) {
+        if (amount < 0) {
+            broken = true;
+            return;
+        }
+        invested[seat] += (int) amount;
+        streetPut[seat] += (int) amount;
+        action(seat, type, (int) amount);
+    }
+
+    private void action(int seat, ActionType type, int amount) {
+        if (actionCount == actionSeat.length) {
+            int grown = actionCount * 2;
+            actionSeat = Arrays.copyOf(actionSeat, grown);
+            actionStreet = Arrays.copyOf(actionStreet, grown);
+            actionType = Arrays.copyOf(actionType, grown);
+            actionAmount = Arrays.copyOf(actionAmount, grown);
+        }
+        actionSeat[actionCount] = seat;
+        actionStreet[actionCount] = street;
+        actionType[actionCount] = type.ordinal();
+        actionAmount[actionCount] = amount;
+        actionCount++;
+    }
+
+    // Seat whose name starts the text at `at` followed by ':' or ' '; the longest name wins
+    // so that "Bob" does not claim Bobby's lines
+    private int seatStartingAt(String line, int at) {
+        int found = -1;
+        for (int seat = 0; seat < seats; seat++) {
+            String name = names[seat];
+            int end = at + name.length();
+            if (line.startsWith(name, at) && (end == line.length() || line.charAt(end) == ':' || line.charAt(end) == ' ')
+                    && (found < 0 || name.length() > names[found].length())) {
+                found = seat;
+            }
+        }
+        return found;
+    }
+
+    // "$1,234.5" -> 123450 cents, "1,500" -> 1500 chips, skipping a leading currency sign or '(';
+    // -1 when there is no number
+    static long parseAmount(CharSequence text, int at) {
+        int i = at;
+        boolean currency = false;
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '$' || c == '€' || c == '£') {
+                currency = true;
+            } else if (c != '(') {
+                break;
+            }
+        }
+        long value = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (decimals >= 0) {
+                    if (decimals == 2) {
+                        continue;
+                    }
+                    decimals++;
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' && decimals < 0 && i + 1 < text.length() && Character.isDigit(text.charAt(i + 1))) {
+                decimals = 0;
+            } else if (c != ',') {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return -1;
+        }
+        if (currency || decimals >= 0) {
+            for (int d = Math.max(decimals, 0); d < 2; d++) {
+                value *= 10;
+            }
+        }
+        return value;
+    }
+
+    private void finish(RecordedHand hand) {
+        int button = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            if (seatNumbers[seat] == buttonNumber) {
+                button = seat;
+            }
+        }
+        hand.reset(smallBlind, bigBlind, button);
+        // Heads-up the button posts the small blind and acts first preflop, which is what the engine
+        // calls BUTTON; the other seat is the big blind
+        int headsUpButton = smallBlindSeat >= 0 ? smallBlindSeat : button;
+        for (int seat = 0; seat < seats; seat++) {
+            Position position;
+            if (seats == 2) {
+                position = seat == headsUpButton ? Position.BUTTON : Position.BIG_BLIND;
+            } else {
+                position = seats < POSITIONS.length ? POSITIONS[seats][(seat - button + seats) % seats] : null;
+            }
+            hand.addSeat(seat == hero ? SeatType.HUMAN : SeatType.UNKNOWN, position, chips[seat]);
+            hand.setHoleCards(seat, holeCards[seat * 2], holeCards[seat * 2 + 1]);
+            hand.setNet(seat, returned[seat] - invested[seat]);
+        }
+        for (int i = 0; i < boardCount; i++) {
+            hand.addBoardCard(board[i]);
+        }
+        for (int i = 0; i < actionCount; i++) {
+            hand.addAction(actionSeat[i], STAGES[actionStreet[i]], TYPES[actionType[i]], actionAmount[i]);
+        }
+        hand.setOutcome(STAGES[street], showdown);
+    }
+}
@@ -0,0 +1,237 @@
+package poker.history;
+
+import poker.model.ActionType;
+import poker.model.GameStage;
+import poker.model.Position;
+
+import java.util.Arrays;
+
+// One hand of the binary history in reusable primitive arrays. The engine and importers fill it,
+// HandCodec encodes it, and readers decode frame after frame into the same instance.
+// Seats are in table order; cards are Card.getIndex() values or UNKNOWN_CARD.
+public final class RecordedHand {
+    public static final int MAX_SEATS = 10;
+    public static final int UNKNOWN_CARD = 63;
+
+    private static final GameStage[] STAGES = GameStage.values();
+    private static final ActionType[] TYPES = ActionType.values();
+    private static final Position[] POSITIONS = Position.values();
+
+    private long seed;
+    private boolean seeded;
+    private int smallBlind;
+    private int bigBlind;
+    private int buttonSeat;
+    private int lastStage;
+    private boolean showdown;
+
+    private int seatCount;
+    private final byte[] seatType = new byte[MAX_SEATS];
+    private final byte[] seatPosition = new byte[MAX_SEATS];
+    private final int[] startingChips = new int[MAX_SEATS];
+    private final int[] net = new int[MAX_SEATS];
+    private final byte[] holeCards = new byte[MAX_SEATS * 2];
+
+    private int boardCount;
+    private final byte[] board = new byte[5];
+
+    private int actionCount;
+    private byte[] actionSeat = new byte[32];
+    private byte[] actionStreet = new byte[32];
+    private byte[] actionType = new byte[32];
+    private int[] actionAmount = new int[32];
+
+    public void reset(int smallBlind, int bigBlind, int buttonSeat) {
+        this.seeded = false;
+        this.seed = 0;
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.buttonSeat = buttonSeat;
+        this.lastStage = 0;
+        this.showdown = false;
+        this.seatCount = 0;
+        this.boardCount = 0;
+        this.actionCount = 0;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.seeded = true;
+    }
+
+    // position may be null when the source does not say (imported hands)
+    public int addSeat(SeatType type, Position position, int chips) {
+        if (seatCount == MAX_SEATS) {
+            throw new IllegalStateException("At most " + MAX_SEATS + " seats per hand");
+        }
+        int seat = seatCount++;
+        seatType[seat] = (byte) type.ordinal();
+        seatPosition[seat] = (byte) (position != null ? position.ordinal() : POSITIONS.length);
+        startingChips[seat] = chips;
+        net[seat] = 0;
+        holeCards[seat * 2] = UNKNOWN_CARD;
+        holeCards[seat * 2 + 1] = UNKNOWN_CARD;
+        return seat;
+    }
+
+    public void setHoleCards(int seat, int card1, int card2) {
+        holeCards[seat * 2] = (byte) card1;
+        holeCards[seat * 2 + 1] = (byte) card2;
+    }
+
+    public void setNet(int seat, int chips) {
+        net[seat] = chips;
+    }
+
+    public void addBoardCard(int card) {
+        board[boardCount++] = (byte) card;
+    }
+
+    // Actions must arrive in street order; amount is the chips the action put into the pot
+    public void addAction(int seat, GameStage street, ActionType type, int amount) {
+        addActionCodes(seat, street.ordinal(), type.ordinal(), amount);
+    }
+
+    public void setOutcome(GameStage lastStage, boolean showdown) {
+        this.lastStage = lastStage.ordinal();
+        this.showdown = showdown;
+    }
+
+    public boolean hasSeed() {
+        return seeded;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getSmallBlind() {
+        return smallBlind;
+    }
+
+    public int getBigBlind() {
+        return bigBlind;
+    }
+
+    public int getButtonSeat() {
+        return buttonSeat;
+    }
+
+    public GameStage getLastStage() {
+        return STAGES[lastStage];
+    }
+
+    public boolean isShowdown() {
+        return showdown;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public SeatType getSeatType(int seat) {
+        return SeatType.fromCode(seatType[seat]);
+    }
+
+    public Position getPosition(int seat) {
+        int ordinal = seatPosition[seat];
+        return ordinal < POSITIONS.length ? POSITIONS[ordinal] : null;
+    }
+
+    public int getStartingChips(int seat) {
+        return startingChips[seat];
+    }
+
+    public int getNet(int seat) {
+        return net[seat];
+    }
+
+    public int getHoleCard(int seat, int which) {
+        return holeCards[seat * 2 + which];
+    }
+
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    public int getBoardCard(int index) {
+        return board[index];
+    }
+
+    public int getActionCount() {
+        return actionCount;
+    }
+
+    public int getActionSeat(int action) {
+        return actionSeat[action];
+    }
+
+    public GameStage getActionStreet(int action) {
+        return STAGES[actionStreet[action]];
+    }
+
+    public ActionType getActionType(int action) {
+        return TYPES[actionType[action]];
+    }
+
+    public int getActionAmount(int action) {
+        return actionAmount[action];
+    }
+
+    // Raw codes for the codec, which works below the enum level
+    int seatTypeCode(int seat) {
+        return seatType[seat];
+    }
+
+    int positionCode(int seat) {
+        return seatPosition[seat];
+    }
+
+    int streetCode(int action) {
+        return actionStreet[action];
+    }
+
+    int typeCode(int action) {
+        return actionType[action];
+    }
+
+    int lastStageCode() {
+        return lastStage;
+    }
+
+    void setSeatCodes(int seat, int typeCode, int positionCode, int chips, int netChips) {
+        seatType[seat] = (byte) typeCode;
+        seatPosition[seat] = (byte) positionCode;
+        startingChips[seat] = chips;
+        net[seat] = netChips;
+    }
+
+    // slot is seat * 2 + which
+    void setHoleCardCode(int slot, int card) {
+        holeCards[slot] = (byte) card;
+    }
+
+    void setSeatCount(int seatCount) {
+        this.seatCount = seatCount;
+    }
+
+    void setOutcomeCodes(int lastStage, boolean showdown) {
+        this.lastStage = lastStage;
+        this.showdown = showdown;
+    }
+
+    void addActionCodes(int seat, int street, int type, int amount) {
+        if (actionCount == actionSeat.length) {
+            int grown = actionCount * 2;
+            actionSeat = Arrays.copyOf(actionSeat, grown);
+            actionStreet = Arrays.copyOf(actionStreet, grown);
+            actionType = Arrays.copyOf(actionType, grown);
+            actionAmount = Arrays.copyOf(actionAmount, grown);
+        }
+        actionSeat[actionCount] = (byte) seat;
+        actionStreet[actionCount] = (byte) street;
+        actionType[actionCount] = (byte) type;
+        actionAmount[actionCount] = amount;
+        actionCount++;
+    }
+}
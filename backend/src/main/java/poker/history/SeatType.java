@@ -0,0 +1,44 @@
+package poker.history;
+
+import poker.ai.AIStrategy;
+import poker.ai.CallingStationAI;
+import poker.ai.EquityAI;
+import poker.ai.LooseAggressiveAI;
+import poker.ai.MctsAI;
+import poker.ai.TightPassiveAI;
+import poker.model.AIPlayer;
+import poker.model.Player;
+
+// Who sat in a seat, stored as a 4-bit code; new strategies get new constants at the end so old logs still decode
+public enum SeatType {
+    HUMAN,
+    CALLING_STATION,
+    TIGHT_PASSIVE,
+    LOOSE_AGGRESSIVE,
+    OTHER_BOT,
+    UNKNOWN,
+    EQUITY,
+    MCTS;
+
+    private static final SeatType[] VALUES = values();
+
+    public static SeatType of(Player player) {
+        if (player.isHuman()) {
+            return HUMAN;
+        }
+        if (player instanceof AIPlayer ai) {
+            AIStrategy strategy = ai.getStrategy();
+            if (strategy instanceof CallingStationAI) return CALLING_STATION;
+            if (strategy instanceof TightPassiveAI) return TIGHT_PASSIVE;
+            if (strategy instanceof LooseAggressiveAI) return LOOSE_AGGRESSIVE;
+            if (strategy instanceof EquityAI) return EQUITY;
+            if (strategy instanceof MctsAI) return MCTS;
+            return OTHER_BOT;
+        }
+        return UNKNOWN;
+    }
+
+    public static SeatType fromCode(int code) {
+        return code < VALUES.length ? VALUES[code] : UNKNOWN;
+    }
+}
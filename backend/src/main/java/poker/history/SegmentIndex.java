@@ -0,0 +1,177 @@
+package poker.history;
+
+import poker.model.GameStage;
+import poker.model.HoleCards;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Secondary indexes for one segment, kept beside it as hands-NNNNNN.idx and memory-mapped on later opens.
+// Two CSR tables of frame offsets: one keyed by seat (seat type x position x hand class), one by the
+// street the hand ended on. Offsets within a key are ascending, i.e. in file order.
+final class SegmentIndex {
+    static final int TYPES = 16;
+    static final int POSITIONS = 10;
+    static final int CLASSES = 170;
+    static final int UNKNOWN_CLASS = HoleCards.CLASSES;
+    static final int SEAT_KEYS = TYPES * POSITIONS * CLASSES;
+    static final int STAGES = GameStage.values().length;
+
+    private static final int MAGIC = 0x504B4849; // "PKHI"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+
+    private final IntBuffer ints;
+    private final int handCount;
+    private final int seatEntries;
+
+    private SegmentIndex(IntBuffer ints, int handCount, int seatEntries) {
+        this.ints = ints;
+        this.handCount = handCount;
+        this.seatEntries = seatEntries;
+    }
+
+    static int seatKey(int typeCode, int positionCode, int handClass) {
+        return (typeCode * POSITIONS + positionCode) * CLASSES + handClass;
+    }
+
+    // Maps the sidecar if it covers the whole segment, otherwise rebuilds it and tries to save it
+    static SegmentIndex open(Path segment, ByteBuffer frames, long segmentBytes) throws IOException {
+        Path sidecar = sidecarOf(segment);
+        if (Files.exists(sidecar)) {
+            try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+                ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (isComplete(mapped, segmentBytes)) {
+                    return fromBuffer(mapped);
+                }
+            }
+        }
+
+        ByteBuffer built = build(frames, segmentBytes);
+        save(sidecar, built);
+        return fromBuffer(built);
+    }
+
+    // Written to a temporary file and renamed over the sidecar, so a reader (or a crash) never sees half of one
+    private static void save(Path sidecar, ByteBuffer built) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(sidecar.getParent(), sidecar.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer out = built.duplicate();
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, sidecar, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // Read-only history directory: the index just lives on the heap for this reader
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    // Header matches this segment and the tables it announces are all there
+    private static boolean isComplete(ByteBuffer mapped, long segmentBytes) {
+        if (mapped.remaining() < HEADER_BYTES || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION
+                || mapped.getLong(8) != segmentBytes) {
+            return false;
+        }
+        long ints = SEAT_KEYS + 1 + STAGES + 1 + (long) mapped.getInt(20) + mapped.getInt(16);
+        return mapped.remaining() == HEADER_BYTES + ints * 4;
+    }
+
+    static Path sidecarOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return segment.resolveSibling(name.substring(0, name.length() - HandHistoryWriter.SEGMENT_SUFFIX.length()) + ".idx");
+    }
+
+    private static SegmentIndex fromBuffer(ByteBuffer buffer) {
+        int hands = buffer.getInt(16);
+        int seatEntries = buffer.getInt(20);
+        IntBuffer ints = buffer.duplicate().position(HEADER_BYTES).slice().asIntBuffer();
+        return new SegmentIndex(ints, hands, seatEntries);
+    }
+
+    // Two passes over the frames: count entries per key, then place each offset at its key's cursor
+    private static ByteBuffer build(ByteBuffer frames, long segmentBytes) {
+        RecordedHand hand = new RecordedHand();
+        int[] seatStarts = new int[SEAT_KEYS + 1];
+        int[] stageStarts = new int[STAGES + 1];
+        int hands = 0;
+        int seatEntries = 0;
+
+        ByteBuffer in = frames.duplicate();
+        while (HandCodec.decodeHeader(in, hand)) {
+            hands++;
+            stageStarts[hand.getLastStage().ordinal() + 1]++;
+            for (int seat = 0; seat < hand.getSeatCount(); seat++) {
+                seatStarts[keyOf(hand, seat) + 1]++;
+                seatEntries++;
+            }
+        }
+        for (int key = 0; key < SEAT_KEYS; key++) {
+            seatStarts[key + 1] += seatStarts[key];
+        }
+        for (int stage = 0; stage < STAGES; stage++) {
+            stageStarts[stage + 1] += stageStarts[stage];
+        }
+
+        int tables = SEAT_KEYS + 1 + STAGES + 1;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + (tables + seatEntries + hands) * 4);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(segmentBytes).putInt(hands).putInt(seatEntries);
+        IntBuffer ints = buffer.duplicate().position(HEADER_BYTES).slice().asIntBuffer();
+        ints.put(seatStarts).put(stageStarts);
+
+        int seatBase = tables;
+        int stageBase = tables + seatEntries;
+        int[] seatCursor = Arrays.copyOf(seatStarts, SEAT_KEYS);
+        int[] stageCursor = Arrays.copyOf(stageStarts, STAGES);
+        in = frames.duplicate();
+        int offset = in.position();
+        while (HandCodec.decodeHeader(in, hand)) {
+            ints.put(stageBase + stageCursor[hand.getLastStage().ordinal()]++, offset);
+            for (int seat = 0; seat < hand.getSeatCount(); seat++) {
+                ints.put(seatBase + seatCursor[keyOf(hand, seat)]++, offset);
+            }
+            offset = in.position();
+        }
+        return buffer.position(0);
+    }
+
+    private static int keyOf(RecordedHand hand, int seat) {
+        int card1 = hand.getHoleCard(seat, 0);
+        int card2 = hand.getHoleCard(seat, 1);
+        int handClass = card1 == RecordedHand.UNKNOWN_CARD || card2 == RecordedHand.UNKNOWN_CARD
+            ? UNKNOWN_CLASS : HoleCards.classIndex(card1, card2);
+        return seatKey(hand.seatTypeCode(seat), Math.min(hand.positionCode(seat), POSITIONS - 1), handClass);
+    }
+
+    int getHandCount() {
+        return handCount;
+    }
+
+    void addSeatPostings(int key, OffsetList out) {
+        int from = ints.get(key);
+        int to = ints.get(key + 1);
+        out.addAll(ints, SEAT_KEYS + 1 + STAGES + 1 + from, to - from);
+    }
+
+    void addStagePostings(int stage, OffsetList out) {
+        int from = ints.get(SEAT_KEYS + 1 + stage);
+        int to = ints.get(SEAT_KEYS + 1 + stage + 1);
+        out.addAll(ints, SEAT_KEYS + 1 + STAGES + 1 + seatEntries + from, to - from);
+    }
+}
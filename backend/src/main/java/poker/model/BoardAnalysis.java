@@ -0,0 +1,79 @@
+package poker.model;
+
+import java.util.List;
+
+// Facts about the community cards that every seat shares on a street: the card mask, ranks per suit
+// and the highest card. DealerManager builds it once per street and GameState carries it, so draw
+// checks only add their two hole cards. Ranks are bit masks with bit 0 for the deuce, as in
+// Card.getMask() per suit. Made hands are still ranked by HandEvaluator on the full seven-card mask.
+public final class BoardAnalysis {
+    public static final BoardAnalysis EMPTY = new BoardAnalysis(0L);
+
+    private static final int RANK_BITS = 0x1FFF;
+    private static final int ACE = 12;
+
+    private final long mask;
+    private final int cardCount;
+    private final int[] suitRanks = new int[4];
+    private final int highestRank;
+
+    private BoardAnalysis(long mask) {
+        this.mask = mask;
+        this.cardCount = Long.bitCount(mask);
+        int ranks = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            int bits = (int) (mask >>> (13 * suit)) & RANK_BITS;
+            suitRanks[suit] = bits;
+            ranks |= bits;
+        }
+        this.highestRank = ranks == 0 ? 0 : 31 - Integer.numberOfLeadingZeros(ranks) + 2;
+    }
+
+    public static BoardAnalysis of(List<Card> communityCards) {
+        if (communityCards.isEmpty()) {
+            return EMPTY;
+        }
+        long mask = 0L;
+        for (int i = 0; i < communityCards.size(); i++) {
+            mask |= communityCards.get(i).getMask();
+        }
+        return new BoardAnalysis(mask);
+    }
+
+    // Rank values 2..14 as bits of the same number, with the ace also at bit 1 for the wheel
+    public static int straightValues(int rankMask) {
+        int values = rankMask << 2;
+        if ((rankMask >>> ACE & 1) != 0) {
+            values |= 1 << 1;
+        }
+        return values;
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    public int getCardCount() {
+        return cardCount;
+    }
+
+    public boolean isEmpty() {
+        return cardCount == 0;
+    }
+
+    // Value (2..14) of the highest board card, 0 before the flop
+    public int getHighestRank() {
+        return highestRank;
+    }
+
+    // Number of the given hole cards of one suit plus the board's cards of that suit
+    public int suitCountWith(long holeMask, int suit) {
+        return Integer.bitCount(suitRanks[suit] | (int) (holeMask >>> (13 * suit)) & RANK_BITS);
+    }
+
+    public int rankMaskWith(long holeMask) {
+        long all = mask | holeMask;
+        return (int) all & RANK_BITS | (int) (all >>> 13) & RANK_BITS
+            | (int) (all >>> 26) & RANK_BITS | (int) (all >>> 39) & RANK_BITS;
+    }
+}
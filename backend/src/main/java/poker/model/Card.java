@@ -3,21 +3,50 @@ package poker.model;
 import java.util.Objects;
 
 public class Card implements Comparable<Card> {
+    private static final Card[] BY_INDEX = new Card[52];
+    private static final String RANK_SYMBOLS = "23456789TJQKA";
+    private static final String SUIT_CODES = "hdcs";
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                Card card = new Card(rank, suit);
+                BY_INDEX[card.index] = card;
+            }
+        }
+    }
+
     private final Rank rank;
     private final Suit suit;
+    private final int index;
 
     public Card(Rank rank, Suit suit) {
         this.rank = Objects.requireNonNull(rank);
         this.suit = Objects.requireNonNull(suit);
+        this.index = suit.ordinal() * 13 + rank.ordinal();
+    }
+
+    public static Card fromIndex(int index) {
+        return BY_INDEX[index];
     }
 
     public static Card of(String notation) {
-        if (notation == null || notation.length() != 2) {
+        int index = notation != null && notation.length() == 2 ? parseIndex(notation, 0) : -1;
+        if (index < 0) {
             throw new IllegalArgumentException("Invalid card notation: " + notation);
         }
-        Rank rank = Rank.fromSymbol(notation.substring(0, 1));
-        Suit suit = Suit.fromCode(notation.substring(1, 2));
-        return new Card(rank, suit);
+        return BY_INDEX[index];
+    }
+
+    // Index of the card written as rank symbol + suit code ("Ah", "td") at text[at], or -1.
+    // Reads two chars and allocates nothing, for parsers that see millions of cards.
+    public static int parseIndex(CharSequence text, int at) {
+        if (at < 0 || at + 1 >= text.length()) {
+            return -1;
+        }
+        int rank = RANK_SYMBOLS.indexOf(Character.toUpperCase(text.charAt(at)));
+        int suit = SUIT_CODES.indexOf(Character.toLowerCase(text.charAt(at + 1)));
+        return rank < 0 || suit < 0 ? -1 : suit * 13 + rank;
     }
 
     public Rank getRank() {
@@ -28,6 +57,15 @@ public class Card implements Comparable<Card> {
         return suit;
     }
 
+    // 0-51, suit-major: bit position of this card in a 52-bit card mask
+    public int getIndex() {
+        return index;
+    }
+
+    public long getMask() {
+        return 1L << index;
+    }
+
     @Override
     public int compareTo(Card other) {
         return Integer.compare(this.rank.getValue(), other.rank.getValue());
@@ -43,7 +81,7 @@ public class Card implements Comparable<Card> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(rank, suit);
+        return index;
     }
 
     @Override
@@ -3,23 +3,32 @@ package poker.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 public class Deck {
     private final List<Card> cards;
+    private final Random random;
     private int currentIndex;
 
     public Deck() {
+        this(new Random());
+    }
+
+    public Deck(Random random) {
+        this.random = random;
         cards = new ArrayList<>(52);
-        for (Suit suit : Suit.values()) {
-            for (Rank rank : Rank.values()) {
-                cards.add(new Card(rank, suit));
-            }
+        for (int i = 0; i < 52; i++) {
+            cards.add(Card.fromIndex(i));
         }
         shuffle();
     }
 
     public void shuffle() {
-        Collections.shuffle(cards);
+        // Start from the same order every time so a reseeded Random reproduces the deal
+        for (int i = 0; i < cards.size(); i++) {
+            cards.set(i, Card.fromIndex(i));
+        }
+        Collections.shuffle(cards, random);
         currentIndex = 0;
     }
 
@@ -0,0 +1,36 @@
+package poker.model;
+
+import java.util.List;
+
+// Simulated EV of the actions open at one decision, in big blinds, counted from the decision point
+// (chips already in the pot are sunk, so folding is worth 0)
+public record EvEstimate(
+    List<ActionEv> actions,
+    int chosenIndex,
+    int bestIndex,
+    int rollouts
+) {
+    public record ActionEv(Action action, double evBb) {}
+
+    public ActionEv getChosen() {
+        return actions.get(chosenIndex);
+    }
+
+    public ActionEv getBest() {
+        return actions.get(bestIndex);
+    }
+
+    public double getEvLossBb() {
+        return Math.max(0, getBest().evBb() - getChosen().evBb());
+    }
+
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        for (ActionEv option : actions) {
+            sb.append(String.format("%s: %+.2f bb%s\n", option.action().toRussianString(), option.evBb(),
+                option == getChosen() ? " (ваш выбор)" : ""));
+        }
+        sb.append(String.format("Потеря EV: %.2f bb (%d симуляций)\n", getEvLossBb(), rollouts));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package poker.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record GameSnapshot(
+    long version,
+    GameState state,
+    List<Player> players
+) {
+    public static GameSnapshot of(long version, GameState liveState, List<Player> tablePlayers) {
+        // Copy every seat once so the state and the table list share the same frozen players
+        Map<Player, Player> copies = new IdentityHashMap<>();
+        List<Player> frozenPlayers = new ArrayList<>(tablePlayers.size());
+        for (Player player : tablePlayers) {
+            Player copy = new PlayerSnapshot(player);
+            copies.put(player, copy);
+            frozenPlayers.add(copy);
+        }
+        for (Player player : liveState.getPlayers()) {
+            copies.computeIfAbsent(player, PlayerSnapshot::new);
+        }
+        return new GameSnapshot(version, liveState.frozenCopy(copies), Collections.unmodifiableList(frozenPlayers));
+    }
+
+    public Player getHuman() {
+        for (Player player : players) {
+            if (player.isHuman()) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    public boolean isHumanTurn() {
+        Player human = getHuman();
+        return human != null && state.getCurrentPlayer() == human && human.canAct();
+    }
+}
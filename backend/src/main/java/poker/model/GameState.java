@@ -3,10 +3,15 @@ package poker.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class GameState {
     private final List<Player> players;
     private final List<Card> communityCards;
+    private final List<Player> playersView;
+    private final List<Card> communityCardsView;
+    private BoardAnalysis board;
+    private OpponentRanges opponentRanges;
     private GameStage stage;
     private final Pot pot;
     private int currentBet;
@@ -17,10 +22,12 @@ public class GameState {
     private int lastRaiserIndex;
     private int actionsThisRound;
     private boolean bettingComplete;
+    private final boolean frozen;
 
     public GameState(List<Player> players, int smallBlind, int bigBlind) {
         this.players = new ArrayList<>(players);
         this.communityCards = new ArrayList<>();
+        this.board = BoardAnalysis.EMPTY;
         this.stage = GameStage.PREFLOP;
         this.pot = new Pot();
         this.currentBet = 0;
@@ -31,22 +38,113 @@ public class GameState {
         this.lastRaiserIndex = -1;
         this.actionsThisRound = 0;
         this.bettingComplete = false;
+        this.frozen = false;
+        this.playersView = Collections.unmodifiableList(this.players);
+        this.communityCardsView = Collections.unmodifiableList(this.communityCards);
+    }
+
+    private GameState(GameState source, Map<Player, Player> playerCopies) {
+        this.players = new ArrayList<>(source.players.size());
+        for (Player player : source.players) {
+            this.players.add(playerCopies.get(player));
+        }
+        this.communityCards = new ArrayList<>(source.communityCards);
+        this.board = source.getBoard();
+        this.opponentRanges = source.opponentRanges == null ? null : source.opponentRanges.frozenCopy();
+        this.stage = source.stage;
+        this.pot = new Pot(source.pot.getTotal());
+        this.currentBet = source.currentBet;
+        this.buttonPosition = source.buttonPosition;
+        this.activePlayerIndex = source.activePlayerIndex;
+        this.smallBlind = source.smallBlind;
+        this.bigBlind = source.bigBlind;
+        this.lastRaiserIndex = source.lastRaiserIndex;
+        this.actionsThisRound = source.actionsThisRound;
+        this.bettingComplete = source.bettingComplete;
+        this.frozen = true;
+        this.playersView = Collections.unmodifiableList(this.players);
+        this.communityCardsView = Collections.unmodifiableList(this.communityCards);
+    }
+
+    GameState frozenCopy(Map<Player, Player> playerCopies) {
+        return new GameState(this, playerCopies);
+    }
+
+    // Takes over every table field of source, keeping this state's own players; for rollouts that
+    // replay the rest of a hand from the same spot many times. Tracked ranges stay behind: rolled-out
+    // actions would not update them.
+    public void restoreFrom(GameState source) {
+        checkMutable();
+        communityCards.clear();
+        communityCards.addAll(source.communityCards);
+        board = source.getBoard();
+        stage = source.stage;
+        pot.reset();
+        pot.add(source.pot.getTotal());
+        currentBet = source.currentBet;
+        buttonPosition = source.buttonPosition;
+        activePlayerIndex = source.activePlayerIndex;
+        smallBlind = source.smallBlind;
+        bigBlind = source.bigBlind;
+        lastRaiserIndex = source.lastRaiserIndex;
+        actionsThisRound = source.actionsThisRound;
+        bettingComplete = source.bettingComplete;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Game state snapshot is immutable");
+        }
     }
 
     public List<Player> getPlayers() {
-        return Collections.unmodifiableList(players);
+        return playersView;
     }
 
     public List<Card> getCommunityCards() {
-        return Collections.unmodifiableList(communityCards);
+        return communityCardsView;
     }
 
     public void addCommunityCard(Card card) {
+        checkMutable();
         communityCards.add(card);
+        board = null;
     }
 
     public void addCommunityCards(List<Card> cards) {
+        checkMutable();
         communityCards.addAll(cards);
+        board = null;
+    }
+
+    // DealerManager attaches the analysis as it deals each street; cards added any other way get theirs
+    // on first use
+    public BoardAnalysis getBoard() {
+        BoardAnalysis analysis = board;
+        if (analysis == null) {
+            analysis = BoardAnalysis.of(communityCards);
+            board = analysis;
+        }
+        return analysis;
+    }
+
+    public void setBoard(BoardAnalysis board) {
+        checkMutable();
+        this.board = board;
+    }
+
+    // Null unless a RangeTracker follows this table
+    public OpponentRanges getOpponentRanges() {
+        return opponentRanges;
+    }
+
+    public void setOpponentRanges(OpponentRanges opponentRanges) {
+        checkMutable();
+        this.opponentRanges = opponentRanges;
     }
 
     public GameStage getStage() {
@@ -54,10 +152,12 @@ public class GameState {
     }
 
     public void setStage(GameStage stage) {
+        checkMutable();
         this.stage = stage;
     }
 
     public void advanceStage() {
+        checkMutable();
         this.stage = stage.next();
         resetBettingRound();
     }
@@ -71,6 +171,7 @@ public class GameState {
     }
 
     public void setCurrentBet(int bet) {
+        checkMutable();
         this.currentBet = bet;
     }
 
@@ -79,10 +180,12 @@ public class GameState {
     }
 
     public void setButtonPosition(int position) {
+        checkMutable();
         this.buttonPosition = position;
     }
 
     public void moveButton() {
+        checkMutable();
         buttonPosition = (buttonPosition + 1) % players.size();
     }
 
@@ -91,6 +194,7 @@ public class GameState {
     }
 
     public void setActivePlayerIndex(int index) {
+        checkMutable();
         this.activePlayerIndex = index;
     }
 
@@ -99,6 +203,7 @@ public class GameState {
     }
 
     public void nextPlayer() {
+        checkMutable();
         int startIndex = activePlayerIndex;
         int attempts = 0;
         do {
@@ -112,7 +217,12 @@ public class GameState {
     }
 
     public boolean hasPlayersWhoCanAct() {
-        return players.stream().anyMatch(Player::canAct);
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).canAct()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public int getBigBlind() {
@@ -134,11 +244,23 @@ public class GameState {
     }
 
     public int getPlayersInHand() {
-        return (int) players.stream().filter(Player::isInHand).count();
+        int count = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).isInHand()) {
+                count++;
+            }
+        }
+        return count;
     }
 
     public int getActivePlayersCount() {
-        return (int) players.stream().filter(Player::canAct).count();
+        int count = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).canAct()) {
+                count++;
+            }
+        }
+        return count;
     }
 
     public List<Player> getActivePlayers() {
@@ -157,14 +279,10 @@ public class GameState {
         return currentBet + bigBlind;
     }
 
+    // The position GameEngine assigns the seat for this hand
     public Position getPlayerPosition(Player player) {
         int playerIndex = players.indexOf(player);
-        int relativePosition = (playerIndex - buttonPosition + players.size()) % players.size();
-        List<Position> positions = Position.getPositionsForPlayerCount(players.size());
-        if (relativePosition < positions.size()) {
-            return positions.get(relativePosition);
-        }
-        return Position.MIDDLE_POSITION_1;
+        return Position.ofSeat((playerIndex - buttonPosition + players.size()) % players.size(), players.size());
     }
 
     public int getRaiserCount() {
@@ -183,6 +301,7 @@ public class GameState {
     }
 
     public void setLastRaiserIndex(int index) {
+        checkMutable();
         this.lastRaiserIndex = index;
     }
 
@@ -191,6 +310,7 @@ public class GameState {
     }
 
     public void resetBettingRound() {
+        checkMutable();
         currentBet = 0;
         actionsThisRound = 0;
         lastRaiserIndex = -1;
@@ -215,6 +335,7 @@ public class GameState {
     }
 
     public void setBettingComplete(boolean complete) {
+        checkMutable();
         this.bettingComplete = complete;
     }
 
@@ -223,7 +344,9 @@ public class GameState {
     }
 
     public void reset() {
+        checkMutable();
         communityCards.clear();
+        board = BoardAnalysis.EMPTY;
         stage = GameStage.PREFLOP;
         pot.reset();
         currentBet = 0;
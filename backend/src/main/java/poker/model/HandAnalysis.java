@@ -11,7 +11,8 @@ public record HandAnalysis(
     boolean wasOptimal,
     OddsResult oddsResult,
     String feedback,
-    List<String> tips
+    List<String> tips,
+    EvEstimate evEstimate
 ) {
     public String getSummary() {
         StringBuilder sb = new StringBuilder();
@@ -30,6 +31,9 @@ public record HandAnalysis(
         if (oddsResult != null) {
             sb.append(oddsResult.getSummary());
         }
+        if (evEstimate != null) {
+            sb.append(evEstimate.getSummary());
+        }
         return sb.toString();
     }
 }
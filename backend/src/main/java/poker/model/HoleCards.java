@@ -5,8 +5,29 @@ import java.util.List;
 import java.util.Objects;
 
 public class HoleCards {
+    public static final int CLASSES = 169;
+    public static final int COMBOS = 1326;
+
+    private static final String[] CLASS_NOTATIONS = new String[CLASSES];
+    private static final long[] COMBO_MASKS = new long[COMBOS];
+    private static final short[] COMBO_CLASSES = new short[COMBOS];
+
+    static {
+        for (int handClass = 0; handClass < CLASSES; handClass++) {
+            CLASS_NOTATIONS[handClass] = buildNotation(handClass);
+        }
+        for (int high = 1; high < 52; high++) {
+            for (int low = 0; low < high; low++) {
+                COMBO_MASKS[comboIndex(high, low)] = 1L << high | 1L << low;
+                COMBO_CLASSES[comboIndex(high, low)] = (short) classIndex(high, low);
+            }
+        }
+    }
+
     private final Card card1;
     private final Card card2;
+    private final int classIndex;
+    private final int comboIndex;
 
     public HoleCards(Card card1, Card card2) {
         Objects.requireNonNull(card1);
@@ -19,6 +40,8 @@ public class HoleCards {
             this.card1 = card2;
             this.card2 = card1;
         }
+        this.classIndex = classIndex(card1.getIndex(), card2.getIndex());
+        this.comboIndex = comboIndex(card1.getIndex(), card2.getIndex());
     }
 
     public Card getCard1() {
@@ -33,6 +56,10 @@ public class HoleCards {
         return Arrays.asList(card1, card2);
     }
 
+    public long getMask() {
+        return card1.getMask() | card2.getMask();
+    }
+
     public boolean isSuited() {
         return card1.getSuit() == card2.getSuit();
     }
@@ -55,11 +82,83 @@ public class HoleCards {
     }
 
     public String getNotation() {
-        String notation = "" + card1.getRank().getSymbol() + card2.getRank().getSymbol();
-        if (isPair()) {
-            return notation;
+        return CLASS_NOTATIONS[classIndex];
+    }
+
+    // Canonical starting-hand class 0-168 on a 13x13 rank grid (rank ordinals): pairs on the diagonal,
+    // suited hands at [high][low], offsuit hands at [low][high]
+    public static int classIndex(int card1, int card2) {
+        int rank1 = card1 % 13;
+        int rank2 = card2 % 13;
+        int high = Math.max(rank1, rank2);
+        int low = Math.min(rank1, rank2);
+        boolean suited = card1 / 13 == card2 / 13 && rank1 != rank2;
+        return suited || high == low ? high * 13 + low : low * 13 + high;
+    }
+
+    // "AKo", "T9s", "77" -> class index
+    public static int classIndexOf(String notation) {
+        if (notation == null || notation.length() < 2 || notation.length() > 3) {
+            throw new IllegalArgumentException("Invalid hand notation: " + notation);
+        }
+        int high = Rank.fromSymbol(notation.substring(0, 1)).ordinal();
+        int low = Rank.fromSymbol(notation.substring(1, 2)).ordinal();
+        if (high < low) {
+            int swap = high;
+            high = low;
+            low = swap;
+        }
+        if (high == low) {
+            // A pair has no suited or offsuit form: "77s" is not a hand
+            if (notation.length() != 2) {
+                throw new IllegalArgumentException("Invalid hand notation: " + notation);
+            }
+            return high * 13 + low;
+        }
+        if (notation.length() != 3 || "so".indexOf(Character.toLowerCase(notation.charAt(2))) < 0) {
+            throw new IllegalArgumentException("Invalid hand notation: " + notation);
         }
-        return notation + (isSuited() ? "s" : "o");
+        return Character.toLowerCase(notation.charAt(2)) == 's' ? high * 13 + low : low * 13 + high;
+    }
+
+    public static String classNotation(int classIndex) {
+        return CLASS_NOTATIONS[classIndex];
+    }
+
+    private static String buildNotation(int classIndex) {
+        Rank[] ranks = Rank.values();
+        int row = classIndex / 13;
+        int col = classIndex % 13;
+        if (row == col) {
+            return ranks[row].getSymbol() + ranks[col].getSymbol();
+        }
+        return row > col
+            ? ranks[row].getSymbol() + ranks[col].getSymbol() + "s"
+            : ranks[col].getSymbol() + ranks[row].getSymbol() + "o";
+    }
+
+    // Combo 0-1325 of two distinct card indices (Card.getIndex()), in either order
+    public static int comboIndex(int card1, int card2) {
+        int high = Math.max(card1, card2);
+        int low = Math.min(card1, card2);
+        return high * (high - 1) / 2 + low;
+    }
+
+    // Both cards of a combo as a Card.getMask() bit set
+    public static long comboMask(int comboIndex) {
+        return COMBO_MASKS[comboIndex];
+    }
+
+    public static int comboClass(int comboIndex) {
+        return COMBO_CLASSES[comboIndex];
+    }
+
+    public int getClassIndex() {
+        return classIndex;
+    }
+
+    public int getComboIndex() {
+        return comboIndex;
     }
 
     public int getHighCardValue() {
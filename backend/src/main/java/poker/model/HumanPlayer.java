@@ -22,6 +22,11 @@ public class HumanPlayer extends Player {
         throw new IllegalStateException("No action set for human player");
     }
 
+    @Override
+    public boolean isHuman() {
+        return true;
+    }
+
     public void setAction(Action action) {
         this.pendingAction = action;
     }
@@ -0,0 +1,108 @@
+package poker.model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+// What each seat of a hand may hold, as one weight per combo in HoleCards.comboIndex order; seats are
+// indexes into GameState.getPlayers(). Weights start equal and are multiplied by the likelihood of every
+// action the seat takes, so only ratios matter: zero rules a combo out. Plain float arrays and whole-array
+// loops keep an update to a few microseconds. Written by the engine thread only; snapshots take a frozen
+// copy, made once per stamp, so other threads never see weights change under them.
+public final class OpponentRanges {
+    // Rescaled before repeated small likelihoods underflow a float
+    private static final int RESCALE_EVERY = 8;
+    private static final AtomicLong STAMPS = new AtomicLong();
+
+    private final float[][] weights;
+    private final int[] updates;
+    private final boolean frozen;
+    private long stamp;
+    private OpponentRanges frozenCopy;
+
+    public OpponentRanges(int seats) {
+        this.weights = new float[seats][HoleCards.COMBOS];
+        this.updates = new int[seats];
+        this.frozen = false;
+        reset();
+    }
+
+    private OpponentRanges(OpponentRanges source) {
+        this.weights = new float[source.weights.length][];
+        for (int seat = 0; seat < weights.length; seat++) {
+            this.weights[seat] = source.weights[seat].clone();
+        }
+        this.updates = source.updates.clone();
+        this.frozen = true;
+        this.stamp = source.stamp;
+    }
+
+    // Immutable copy of the current weights, shared by every snapshot until the next update
+    OpponentRanges frozenCopy() {
+        if (frozen) {
+            return this;
+        }
+        if (frozenCopy == null || frozenCopy.stamp != stamp) {
+            frozenCopy = new OpponentRanges(this);
+        }
+        return frozenCopy;
+    }
+
+    public int getSeatCount() {
+        return weights.length;
+    }
+
+    // Changes with every update and is unique across tables, so it identifies these exact weights
+    public long getStamp() {
+        return stamp;
+    }
+
+    public void reset() {
+        checkMutable();
+        for (float[] seat : weights) {
+            Arrays.fill(seat, 1f);
+        }
+        Arrays.fill(updates, 0);
+        stamp = STAMPS.incrementAndGet();
+    }
+
+    // The weights of one seat; do not modify
+    public float[] getWeights(int seat) {
+        return weights[seat];
+    }
+
+    public float getWeight(int seat, int comboIndex) {
+        return weights[seat][comboIndex];
+    }
+
+    // likelihood: HoleCards.COMBOS values, the chance of the observed action with each combo
+    public void multiply(int seat, float[] likelihood) {
+        checkMutable();
+        float[] seatWeights = weights[seat];
+        for (int i = 0; i < seatWeights.length; i++) {
+            seatWeights[i] *= likelihood[i];
+        }
+        if (++updates[seat] % RESCALE_EVERY == 0) {
+            rescale(seatWeights);
+        }
+        stamp = STAMPS.incrementAndGet();
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Opponent ranges snapshot is immutable");
+        }
+    }
+
+    private static void rescale(float[] seatWeights) {
+        float max = 0f;
+        for (float weight : seatWeights) {
+            max = Math.max(max, weight);
+        }
+        if (max > 0f) {
+            float scale = 1f / max;
+            for (int i = 0; i < seatWeights.length; i++) {
+                seatWeights[i] *= scale;
+            }
+        }
+    }
+}
@@ -8,6 +8,8 @@ public abstract class Player {
     protected HoleCards holeCards;
     protected Position position;
     protected int currentBet;
+    // Chips put into the pot this hand, over every street; sizes the side pots at showdown
+    protected int handInvested;
     protected boolean folded;
     protected boolean allIn;
     protected int seatIndex;
@@ -26,6 +28,7 @@ public abstract class Player {
         int actualBet = Math.min(amount, chips);
         chips -= actualBet;
         currentBet += actualBet;
+        handInvested += actualBet;
         if (chips == 0) {
             allIn = true;
         }
@@ -49,6 +52,7 @@ public abstract class Player {
     public void resetForNewHand() {
         holeCards = null;
         currentBet = 0;
+        handInvested = 0;
         folded = false;
         allIn = false;
     }
@@ -81,6 +85,10 @@ public abstract class Player {
         return currentBet;
     }
 
+    public int getHandInvested() {
+        return handInvested;
+    }
+
     public boolean isFolded() {
         return folded;
     }
@@ -109,6 +117,10 @@ public abstract class Player {
         return !folded && !allIn && chips > 0;
     }
 
+    public boolean isHuman() {
+        return false;
+    }
+
     @Override
     public String toString() {
         return name + " ($" + chips + ")";
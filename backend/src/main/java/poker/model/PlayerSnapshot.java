@@ -0,0 +1,77 @@
+package poker.model;
+
+public final class PlayerSnapshot extends Player {
+    private final boolean human;
+    private final String playerType;
+
+    PlayerSnapshot(Player source) {
+        super(source.getName(), source.getChips());
+        this.holeCards = source.getHoleCards();
+        this.position = source.getPosition();
+        this.currentBet = source.getCurrentBet();
+        this.handInvested = source.getHandInvested();
+        this.folded = source.isFolded();
+        this.allIn = source.isAllIn();
+        this.seatIndex = source.getSeatIndex();
+        this.human = source.isHuman();
+        this.playerType = source instanceof AIPlayer ai ? ai.getPlayerType() : null;
+    }
+
+    @Override
+    public Action decideAction(GameState gameState) {
+        throw new UnsupportedOperationException("Snapshot players cannot act");
+    }
+
+    @Override
+    public boolean isHuman() {
+        return human;
+    }
+
+    public String getPlayerType() {
+        return playerType;
+    }
+
+    @Override
+    public void bet(int amount) {
+        throw immutable();
+    }
+
+    @Override
+    public void receiveCards(HoleCards cards) {
+        throw immutable();
+    }
+
+    @Override
+    public void fold() {
+        throw immutable();
+    }
+
+    @Override
+    public void win(int amount) {
+        throw immutable();
+    }
+
+    @Override
+    public void resetForNewHand() {
+        throw immutable();
+    }
+
+    @Override
+    public void resetBetForNewRound() {
+        throw immutable();
+    }
+
+    @Override
+    public void setPosition(Position position) {
+        throw immutable();
+    }
+
+    @Override
+    public void setSeatIndex(int seatIndex) {
+        throw immutable();
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("Player snapshot is immutable");
+    }
+}
@@ -54,6 +54,17 @@ public enum Position {
         return order >= 6;
     }
 
+    // Position of the seat seatsFromButton places after the button, matching who posts the blinds
+    // (button + 1 and button + 2): heads-up the button posts the big blind
+    public static Position ofSeat(int seatsFromButton, int playerCount) {
+        List<Position> positions = getPositionsForPlayerCount(playerCount);
+        if (playerCount == 3) {
+            return positions.get(seatsFromButton);
+        }
+        // [SB, BB, ..., BTN]: the button is last
+        return positions.get((seatsFromButton + playerCount - 1) % playerCount);
+    }
+
     public static List<Position> getPositionsForPlayerCount(int playerCount) {
         if (playerCount < 2 || playerCount > 9) {
             throw new IllegalArgumentException("Player count must be 2-9");
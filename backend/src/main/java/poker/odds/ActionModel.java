@@ -0,0 +1,201 @@
+package poker.odds;
+
+import poker.evaluation.HandEvaluator;
+import poker.history.SeatType;
+import poker.model.*;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.List;
+
+// How often each kind of player folds, plays passively (check, call) or aggressively (bet, raise) with
+// each kind of hand, unbet or facing a bet: the likelihoods RangeTracker weighs ranges by. Preflop a
+// hand is its starting-hand class; postflop it is the decile of its strength among every combo the board
+// leaves (strengthDeciles). Written by ActionModelGenerator from bot play; seat types without a model of
+// their own (humans, MCTS, other bots) get the one pooled over all bots. File: magic, model count, then
+// per model its SeatType ordinal (POOLED for the pooled one) and its preflop and postflop tables as
+// unsigned 16-bit fractions.
+public final class ActionModel {
+    public static final String RESOURCE = "/poker/action-model.bin";
+
+    public static final int FOLD = 0;
+    public static final int PASSIVE = 1;
+    public static final int AGGRESSIVE = 2;
+    public static final int KINDS = 3;
+
+    public static final int UNBET = 0;
+    public static final int FACING_BET = 1;
+    public static final int SITUATIONS = 2;
+
+    public static final int STRENGTH_BUCKETS = 10;
+
+    static final int MAGIC = 0x414D4431;
+    static final int POOLED = 0xFF;
+
+    private static final double SCALE = 65535.0;
+    private static final int POSTFLOP_STREETS = 3;
+    private static final int PREFLOP_CELLS = SITUATIONS * KINDS * HoleCards.CLASSES;
+    private static final int POSTFLOP_CELLS = POSTFLOP_STREETS * SITUATIONS * KINDS * STRENGTH_BUCKETS;
+    private static final ActionModel SHARED = loadDefault();
+
+    private final int[] typeCodes;
+    private final char[][] preflop;
+    private final char[][] postflop;
+    private final int[] modelOfType = new int[SeatType.values().length];
+
+    // An empty model per type, then the pooled one
+    public ActionModel(List<SeatType> types) {
+        this(typeCodes(types), new char[types.size() + 1][PREFLOP_CELLS], new char[types.size() + 1][POSTFLOP_CELLS]);
+    }
+
+    private ActionModel(int[] typeCodes, char[][] preflop, char[][] postflop) {
+        this.typeCodes = typeCodes;
+        this.preflop = preflop;
+        this.postflop = postflop;
+        Arrays.fill(modelOfType, typeCodes.length - 1);
+        for (int i = 0; i < typeCodes.length - 1; i++) {
+            modelOfType[typeCodes[i]] = i;
+        }
+    }
+
+    private static int[] typeCodes(List<SeatType> types) {
+        int[] codes = new int[types.size() + 1];
+        for (int i = 0; i < types.size(); i++) {
+            codes[i] = types.get(i).ordinal();
+        }
+        codes[types.size()] = POOLED;
+        return codes;
+    }
+
+    public static ActionModel shared() {
+        return SHARED;
+    }
+
+    public static ActionModel loadDefault() {
+        try (InputStream in = ActionModel.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing action model resource " + RESOURCE);
+            }
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read action model", e);
+        }
+    }
+
+    public static ActionModel read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an action model file");
+        }
+        int count = in.readUnsignedByte();
+        int[] typeCodes = new int[count];
+        char[][] preflop = new char[count][PREFLOP_CELLS];
+        char[][] postflop = new char[count][POSTFLOP_CELLS];
+        for (int model = 0; model < count; model++) {
+            int code = in.readUnsignedByte();
+            if ((code == POOLED) != (model == count - 1) || code != POOLED && code >= SeatType.values().length) {
+                throw new IOException("Bad seat type in action model: " + code);
+            }
+            typeCodes[model] = code;
+            for (int i = 0; i < PREFLOP_CELLS; i++) {
+                preflop[model][i] = in.readChar();
+            }
+            for (int i = 0; i < POSTFLOP_CELLS; i++) {
+                postflop[model][i] = in.readChar();
+            }
+        }
+        return new ActionModel(typeCodes, preflop, postflop);
+    }
+
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+        out.writeInt(MAGIC);
+        out.writeByte(typeCodes.length);
+        for (int model = 0; model < typeCodes.length; model++) {
+            out.writeByte(typeCodes[model]);
+            for (char value : preflop[model]) {
+                out.writeChar(value);
+            }
+            for (char value : postflop[model]) {
+                out.writeChar(value);
+            }
+        }
+        out.flush();
+    }
+
+    public int getModelCount() {
+        return typeCodes.length;
+    }
+
+    // The model that describes this seat type: its own, or the pooled one
+    public int modelOf(SeatType type) {
+        return modelOfType[type.ordinal()];
+    }
+
+    public int pooledModel() {
+        return typeCodes.length - 1;
+    }
+
+    // hand: starting-hand class preflop, strength decile after
+    public double probability(int model, GameStage stage, int situation, int kind, int hand) {
+        return (stage == GameStage.PREFLOP ? preflop[model][preflopCell(situation, kind, hand)]
+            : postflop[model][postflopCell(stage, situation, kind, hand)]) / SCALE;
+    }
+
+    public void setProbability(int model, GameStage stage, int situation, int kind, int hand, double probability) {
+        char value = (char) Math.round(probability * SCALE);
+        if (stage == GameStage.PREFLOP) {
+            preflop[model][preflopCell(situation, kind, hand)] = value;
+        } else {
+            postflop[model][postflopCell(stage, situation, kind, hand)] = value;
+        }
+    }
+
+    public static int situationOf(Player player, GameState state) {
+        return state.getAmountToCall(player) > 0 ? FACING_BET : UNBET;
+    }
+
+    // An all-in counts as aggressive only when it puts in more than the bet to call
+    public static int kindOf(Action action, Player player, GameState state) {
+        return switch (action.getType()) {
+            case FOLD -> FOLD;
+            case CHECK, CALL -> PASSIVE;
+            case BET, RAISE -> AGGRESSIVE;
+            case ALL_IN -> player.getCurrentBet() + player.getChips() > state.getCurrentBet() ? AGGRESSIVE : PASSIVE;
+        };
+    }
+
+    // Decile of each combo's strength on board, 0 for the weakest tenth; combos touching the board get 0.
+    // scratch: HoleCards.COMBOS longs, so a street costs no allocation.
+    public static void strengthDeciles(HandEvaluator evaluator, long board, byte[] deciles, long[] scratch) {
+        int live = 0;
+        for (int combo = 0; combo < HoleCards.COMBOS; combo++) {
+            long mask = HoleCards.comboMask(combo);
+            deciles[combo] = 0;
+            if ((mask & board) == 0) {
+                scratch[live++] = (long) evaluator.evaluateValue(mask | board) << 11 | combo;
+            }
+        }
+        Arrays.sort(scratch, 0, live);
+        int tieStart = 0;
+        for (int i = 0; i < live; i++) {
+            if (i > 0 && scratch[i] >>> 11 != scratch[i - 1] >>> 11) {
+                tieStart = i;
+            }
+            deciles[(int) (scratch[i] & 0x7FF)] = (byte) (tieStart * STRENGTH_BUCKETS / live);
+        }
+    }
+
+    private static int preflopCell(int situation, int kind, int handClass) {
+        return (situation * KINDS + kind) * HoleCards.CLASSES + handClass;
+    }
+
+    private static int postflopCell(GameStage stage, int situation, int kind, int decile) {
+        int street = switch (stage) {
+            case FLOP -> 0;
+            case TURN -> 1;
+            default -> 2;
+        };
+        return ((street * SITUATIONS + situation) * KINDS + kind) * STRENGTH_BUCKETS + decile;
+    }
+}
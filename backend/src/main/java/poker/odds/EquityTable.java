@@ -0,0 +1,97 @@
+package poker.odds;
+
+import poker.model.GameStage;
+import poker.model.HandRank;
+import poker.model.HoleCards;
+
+import java.io.*;
+
+// Precomputed showdown equities against 1-8 random hands, the last resort of RangeEquityCalculator:
+// preflop per starting-hand class, postflop per street and made-hand category. Written by
+// PreflopChartGenerator; file: magic, opponent count, then 169 x 8 preflop and 3 x 10 x 8 postflop
+// values as unsigned 16-bit fractions.
+public final class EquityTable {
+    public static final String RESOURCE = "/poker/equity-table.bin";
+    public static final int MAX_OPPONENTS = 8;
+    public static final int CATEGORIES = HandRank.values().length;
+
+    static final int MAGIC = 0x45515431;
+
+    private static final double SCALE = 65535.0;
+    private static final int STREETS = 3;
+
+    private final char[] preflop = new char[HoleCards.CLASSES * MAX_OPPONENTS];
+    private final char[] postflop = new char[STREETS * CATEGORIES * MAX_OPPONENTS];
+
+    public EquityTable() {
+    }
+
+    public static EquityTable loadDefault() {
+        try (InputStream in = EquityTable.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing equity table resource " + RESOURCE);
+            }
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read equity table", e);
+        }
+    }
+
+    public static EquityTable read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        if (in.readInt() != MAGIC || in.readUnsignedByte() != MAX_OPPONENTS) {
+            throw new IOException("Not an equity table file");
+        }
+        EquityTable table = new EquityTable();
+        for (int i = 0; i < table.preflop.length; i++) {
+            table.preflop[i] = in.readChar();
+        }
+        for (int i = 0; i < table.postflop.length; i++) {
+            table.postflop[i] = in.readChar();
+        }
+        return table;
+    }
+
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+        out.writeInt(MAGIC);
+        out.writeByte(MAX_OPPONENTS);
+        for (char value : preflop) {
+            out.writeChar(value);
+        }
+        for (char value : postflop) {
+            out.writeChar(value);
+        }
+        out.flush();
+    }
+
+    public double preflop(int classIndex, int opponents) {
+        return preflop[classIndex * MAX_OPPONENTS + clamp(opponents) - 1] / SCALE;
+    }
+
+    // strength: HandRank.getStrength() of the hand made with the board so far
+    public double postflop(GameStage stage, int strength, int opponents) {
+        return postflop[postflopCell(stage, strength, opponents)] / SCALE;
+    }
+
+    public void setPreflop(int classIndex, int opponents, double equity) {
+        preflop[classIndex * MAX_OPPONENTS + opponents - 1] = (char) Math.round(equity * SCALE);
+    }
+
+    public void setPostflop(GameStage stage, int strength, int opponents, double equity) {
+        postflop[postflopCell(stage, strength, opponents)] = (char) Math.round(equity * SCALE);
+    }
+
+    private static int postflopCell(GameStage stage, int strength, int opponents) {
+        int street = switch (stage) {
+            case FLOP -> 0;
+            case TURN -> 1;
+            default -> 2;
+        };
+        return (street * CATEGORIES + strength - 1) * MAX_OPPONENTS + clamp(opponents) - 1;
+    }
+
+    private static int clamp(int opponents) {
+        return Math.max(1, Math.min(MAX_OPPONENTS, opponents));
+    }
+}
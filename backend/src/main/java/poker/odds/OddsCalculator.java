@@ -3,14 +3,25 @@ package poker.odds;
 import poker.model.*;
 
 public class OddsCalculator {
+    private static final OddsCalculator SHARED = new OddsCalculator();
+
     private final OutsCalculator outsCalculator;
     private final PotOddsCalculator potOddsCalculator;
     private final EquityCalculator equityCalculator;
 
     public OddsCalculator() {
-        this.outsCalculator = new OutsCalculator();
-        this.potOddsCalculator = new PotOddsCalculator();
-        this.equityCalculator = new EquityCalculator();
+        this(OutsCalculator.shared(), PotOddsCalculator.shared(), EquityCalculator.shared());
+    }
+
+    public OddsCalculator(OutsCalculator outsCalculator, PotOddsCalculator potOddsCalculator,
+                          EquityCalculator equityCalculator) {
+        this.outsCalculator = outsCalculator;
+        this.potOddsCalculator = potOddsCalculator;
+        this.equityCalculator = equityCalculator;
+    }
+
+    public static OddsCalculator shared() {
+        return SHARED;
     }
 
     public OddsResult calculateOdds(Player player, GameState state) {
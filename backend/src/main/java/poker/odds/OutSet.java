@@ -0,0 +1,28 @@
+package poker.odds;
+
+import poker.model.Card;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outs as card bit sets (Card.getMask()): cards that improve the hand by themselves on the next street,
+// and on the flop the other cards that only do it as a turn and river pair, with the count of such pairs
+public record OutSet(long cards, long backdoorCards, int backdoorRunouts) {
+    public static final OutSet NONE = new OutSet(0L, 0L, 0);
+
+    public int count() {
+        return Long.bitCount(cards);
+    }
+
+    public boolean contains(Card card) {
+        return (cards & card.getMask()) != 0;
+    }
+
+    public List<Card> getCards() {
+        List<Card> result = new ArrayList<>(count());
+        for (long rest = cards; rest != 0; rest &= rest - 1) {
+            result.add(Card.fromIndex(Long.numberOfTrailingZeros(rest)));
+        }
+        return result;
+    }
+}
@@ -4,6 +4,11 @@ import poker.model.GameState;
 import poker.model.Player;
 
 public class PotOddsCalculator {
+    private static final PotOddsCalculator SHARED = new PotOddsCalculator();
+
+    public static PotOddsCalculator shared() {
+        return SHARED;
+    }
 
     public double calculate(GameState state, Player player) {
         int potSize = state.getPot().getTotal();
@@ -0,0 +1,309 @@
+package poker.odds;
+
+import poker.evaluation.HandEvaluator;
+import poker.model.BoardAnalysis;
+import poker.model.GameStage;
+import poker.model.HoleCards;
+import poker.trace.EquityEvent;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Showdown equity of two hole cards against one modeled range per opponent (two-card masks with equal
+// weights, or per-combo weights as RangeTracker keeps them), answered by a deadline. Heads-up spots
+// small enough are enumerated exactly; otherwise opponent hands and runouts are sampled until the
+// deadline or the sample cap; if the deadline leaves fewer than MIN_SAMPLES, the answer comes from the
+// precomputed EquityTable against random hands, which knows only the made hand, so draws are floored by
+// the rule of 4-2 on their exact outs.
+public class RangeEquityCalculator {
+    public static final int DEFAULT_EXACT_LIMIT = 40_000;
+    public static final int MIN_SAMPLES = 200;
+
+    private static final RangeEquityCalculator SHARED = new RangeEquityCalculator();
+    private static final long DECK = (1L << 52) - 1;
+    private static final int DEADLINE_CHECK_MASK = 15;
+    // Deals tried per wanted sample before the ranges count as too blocked to sample
+    private static final int MAX_DEALS_PER_SAMPLE = 32;
+
+    private final HandEvaluator evaluator;
+    private final EquityTable table;
+    private final OutsCalculator outsCalculator;
+    private final int exactLimit;
+
+    public RangeEquityCalculator() {
+        this(HandEvaluator.shared(), EquityTable.loadDefault(), OutsCalculator.shared(), DEFAULT_EXACT_LIMIT);
+    }
+
+    // exactLimit: most evaluations an exact enumeration may take
+    public RangeEquityCalculator(HandEvaluator evaluator, EquityTable table, OutsCalculator outsCalculator,
+                                 int exactLimit) {
+        this.evaluator = evaluator;
+        this.table = table;
+        this.outsCalculator = outsCalculator;
+        this.exactLimit = exactLimit;
+    }
+
+    public static RangeEquityCalculator shared() {
+        return SHARED;
+    }
+
+    public enum Method { EXACT, SAMPLED, TABLE }
+
+    public record Estimate(double equity, Method method, int samples) {}
+
+    // deadline: System.nanoTime() value after which no more work starts
+    public Estimate estimate(long hole, BoardAnalysis board, long[][] ranges, long deadline, int maxSamples,
+                             Random random) {
+        return estimate(hole, board, ranges, new float[ranges.length][], deadline, maxSamples, random);
+    }
+
+    // weights: HoleCards.COMBOS weights per opponent in HoleCards.comboIndex order, as in OpponentRanges
+    public Estimate estimate(long hole, BoardAnalysis board, float[][] weights, long deadline, int maxSamples,
+                             Random random) {
+        long dead = hole | board.getMask();
+        long[][] ranges = new long[weights.length][];
+        float[][] cumulative = new float[weights.length][];
+        for (int o = 0; o < weights.length; o++) {
+            long[] combos = new long[HoleCards.COMBOS];
+            float[] sums = new float[HoleCards.COMBOS];
+            int count = 0;
+            float total = 0f;
+            for (int combo = 0; combo < HoleCards.COMBOS; combo++) {
+                long mask = HoleCards.comboMask(combo);
+                if (weights[o][combo] > 0f && (mask & dead) == 0) {
+                    total += weights[o][combo];
+                    combos[count] = mask;
+                    sums[count++] = total;
+                }
+            }
+            ranges[o] = Arrays.copyOf(combos, count);
+            cumulative[o] = Arrays.copyOf(sums, count);
+        }
+        return estimate(hole, board, ranges, cumulative, deadline, maxSamples, random);
+    }
+
+    // cumulative: running weight totals per range, or null where the combos weigh the same
+    private Estimate estimate(long hole, BoardAnalysis board, long[][] ranges, float[][] cumulative, long deadline,
+                              int maxSamples, Random random) {
+        EquityEvent event = EquityEvent.beginIfEnabled();
+        int missing = 5 - board.getCardCount();
+        Estimate estimate = null;
+        if (ranges.length == 1 && missing <= 2 && exactCost(hole | board.getMask(), ranges[0], missing) <= exactLimit) {
+            double equity = exact(hole, board.getMask(), ranges[0], cumulative[0], missing, deadline);
+            if (!Double.isNaN(equity)) {
+                estimate = new Estimate(equity, Method.EXACT, 0);
+            }
+        }
+        if (estimate == null) {
+            estimate = sampled(hole, board.getMask(), missing, ranges, cumulative, deadline, maxSamples, random);
+        }
+        if (estimate == null) {
+            estimate = new Estimate(tableEquity(hole, board, ranges.length), Method.TABLE, 0);
+        }
+
+        if (event != null && event.shouldCommit()) {
+            event.street = stageOf(board).name();
+            event.method = estimate.method().name().toLowerCase();
+            event.cardsToCome = missing;
+            event.samples = estimate.samples();
+            event.equity = estimate.equity();
+            event.commit();
+        }
+        return estimate;
+    }
+
+    public double tableEquity(long hole, BoardAnalysis board, int opponents) {
+        if (board.isEmpty()) {
+            int first = Long.numberOfTrailingZeros(hole);
+            int second = 63 - Long.numberOfLeadingZeros(hole);
+            return table.preflop(HoleCards.classIndex(first, second), opponents);
+        }
+        int strength = HandEvaluator.strengthOf(evaluator.evaluateValue(hole | board.getMask()));
+        double made = table.postflop(stageOf(board), strength, opponents);
+        int missing = 5 - board.getCardCount();
+        if (missing == 0) {
+            return made;
+        }
+        int outs = outsCalculator.countOuts(hole, board);
+        return Math.max(made, Math.min(1.0, outs * (missing == 2 ? 4 : 2) / 100.0));
+    }
+
+    private static long exactCost(long dead, long[] range, int missing) {
+        long combos = 0;
+        for (long combo : range) {
+            if ((combo & dead) == 0) {
+                combos++;
+            }
+        }
+        long live = 52 - Long.bitCount(dead) - 2;
+        long runouts = missing == 0 ? 1 : missing == 1 ? live : live * (live - 1) / 2;
+        return combos * runouts;
+    }
+
+    // Every unblocked combo against every runout, each combo counted by its weight; NaN if the deadline
+    // passes first
+    private double exact(long hole, long board, long[] range, float[] cumulative, int missing, long deadline) {
+        long dead = hole | board;
+        int[] heroValues = heroRunoutValues(hole, board, missing);
+        double won = 0;
+        double showdowns = 0;
+        for (int i = 0; i < range.length; i++) {
+            long combo = range[i];
+            if ((combo & dead) != 0) {
+                continue;
+            }
+            if (System.nanoTime() >= deadline) {
+                return Double.NaN;
+            }
+            double weight = cumulative == null ? 1 : cumulative[i] - (i > 0 ? cumulative[i - 1] : 0f);
+            long live = DECK & ~(dead | combo);
+            double comboWon = 0;
+            int runouts = 0;
+            if (missing == 0) {
+                comboWon += share(heroValues[0], evaluator.evaluateValue(combo | board));
+                runouts++;
+            } else if (missing == 1) {
+                for (long rest = live; rest != 0; rest &= rest - 1) {
+                    int card = Long.numberOfTrailingZeros(rest);
+                    comboWon += share(heroValues[card], evaluator.evaluateValue(combo | board | 1L << card));
+                    runouts++;
+                }
+            } else {
+                for (long first = live; first != 0; first &= first - 1) {
+                    int turn = Long.numberOfTrailingZeros(first);
+                    for (long second = first & first - 1; second != 0; second &= second - 1) {
+                        int river = Long.numberOfTrailingZeros(second);
+                        int villain = evaluator.evaluateValue(combo | board | 1L << turn | 1L << river);
+                        comboWon += share(heroValues[turn * 52 + river], villain);
+                        runouts++;
+                    }
+                }
+            }
+            won += weight * comboWon;
+            showdowns += weight * runouts;
+        }
+        return showdowns == 0 ? Double.NaN : won / showdowns;
+    }
+
+    // The hero's value per runout, shared by every combo: [0] on the river, [card] for one card to
+    // come, [turn * 52 + river] for two
+    private int[] heroRunoutValues(long hole, long board, int missing) {
+        long live = DECK & ~(hole | board);
+        if (missing == 0) {
+            return new int[]{evaluator.evaluateValue(hole | board)};
+        }
+        int[] values = new int[missing == 1 ? 52 : 52 * 52];
+        for (long first = live; first != 0; first &= first - 1) {
+            int turn = Long.numberOfTrailingZeros(first);
+            if (missing == 1) {
+                values[turn] = evaluator.evaluateValue(hole | board | 1L << turn);
+                continue;
+            }
+            for (long second = first & first - 1; second != 0; second &= second - 1) {
+                int river = Long.numberOfTrailingZeros(second);
+                values[turn * 52 + river] = evaluator.evaluateValue(hole | board | 1L << turn | 1L << river);
+            }
+        }
+        return values;
+    }
+
+    // Monte Carlo over opponent hands, then runouts. A trial whose hands collide is dealt again from
+    // scratch, so card removal conditions the ranges without a hand ever leaving its range. Null if the
+    // deadline, or ranges too blocked to deal, leave too few samples
+    private Estimate sampled(long hole, long board, int missing, long[][] ranges, float[][] cumulative,
+                             long deadline, int maxSamples, Random random) {
+        for (long[] range : ranges) {
+            if (range.length == 0) {
+                return null;
+            }
+        }
+        long[] hands = new long[ranges.length];
+        long attemptLimit = (long) maxSamples * MAX_DEALS_PER_SAMPLE;
+        double won = 0;
+        int samples = 0;
+        for (long attempts = 0; samples < maxSamples && attempts < attemptLimit; attempts++) {
+            if ((attempts & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() >= deadline) {
+                break;
+            }
+            long used = dealHands(hole | board, ranges, cumulative, hands, random);
+            if (used == 0) {
+                continue;
+            }
+            long runout = board;
+            for (int i = 0; i < missing; i++) {
+                long card = randomCard(used, random);
+                used |= card;
+                runout |= card;
+            }
+            int hero = evaluator.evaluateValue(hole | runout);
+            int ties = 0;
+            boolean lost = false;
+            for (int o = 0; o < hands.length && !lost; o++) {
+                int villain = evaluator.evaluateValue(hands[o] | runout);
+                if (villain > hero) {
+                    lost = true;
+                } else if (villain == hero) {
+                    ties++;
+                }
+            }
+            if (!lost) {
+                won += 1.0 / (ties + 1);
+            }
+            samples++;
+        }
+        return samples < Math.min(MIN_SAMPLES, maxSamples) ? null : new Estimate(won / samples, Method.SAMPLED, samples);
+    }
+
+    // One combo per range, drawn by weight into hands; the cards now used, or 0 if two hands collide
+    private static long dealHands(long dead, long[][] ranges, float[][] cumulative, long[] hands, Random random) {
+        long used = dead;
+        for (int o = 0; o < ranges.length; o++) {
+            long[] range = ranges[o];
+            long combo = range[cumulative[o] == null ? random.nextInt(range.length) : weightedIndex(cumulative[o], random)];
+            if ((combo & used) != 0) {
+                return 0;
+            }
+            hands[o] = combo;
+            used |= combo;
+        }
+        return used;
+    }
+
+    // First running total above a uniform point of the whole
+    private static int weightedIndex(float[] cumulative, Random random) {
+        float point = random.nextFloat() * cumulative[cumulative.length - 1];
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] > point) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static long randomCard(long used, Random random) {
+        while (true) {
+            long card = 1L << random.nextInt(52);
+            if ((card & used) == 0) {
+                return card;
+            }
+        }
+    }
+
+    private static double share(int hero, int villain) {
+        return hero > villain ? 1 : hero == villain ? 0.5 : 0;
+    }
+
+    private static GameStage stageOf(BoardAnalysis board) {
+        return switch (board.getCardCount()) {
+            case 0 -> GameStage.PREFLOP;
+            case 3 -> GameStage.FLOP;
+            case 4 -> GameStage.TURN;
+            default -> GameStage.RIVER;
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package poker.odds;
+
+import poker.engine.ActionListener;
+import poker.evaluation.HandEvaluator;
+import poker.history.SeatType;
+import poker.model.*;
+
+import java.util.List;
+
+// Bayesian range tracking for one table: every seat starts the hand on all 1326 combos, and each action
+// multiplies its weights by how likely that action is with each combo under the ActionModel of the
+// seat's type. The likelihood vectors are built once per model, street, situation and kind of action
+// (preflop once for good, postflop when a board comes, from one strength ranking shared by all seats),
+// so an action costs one pass over 1326 floats. A floor on every likelihood keeps a surprising action
+// from ruling combos out for good. Attach with GameEngine.setActionListener; the ranges ride on the
+// hand's GameState.
+public final class RangeTracker implements ActionListener {
+    static final float LIKELIHOOD_FLOOR = 0.05f;
+
+    private static final int STREETS = 4;
+
+    private final ActionModel model;
+    private final HandEvaluator evaluator;
+    private final byte[] deciles = new byte[HoleCards.COMBOS];
+    private final long[] scratch = new long[HoleCards.COMBOS];
+    // Per model, street, situation and kind; postflop entries hold for boardVersion only
+    private final float[][] likelihoods;
+    private final int[] likelihoodBoard;
+    private final float[] handLikelihoods = new float[HoleCards.CLASSES];
+    private OpponentRanges ranges;
+    private SeatType[] seatTypes = new SeatType[0];
+    private long board = -1;
+    private int boardVersion;
+
+    public RangeTracker() {
+        this(ActionModel.shared(), HandEvaluator.shared());
+    }
+
+    public RangeTracker(ActionModel model, HandEvaluator evaluator) {
+        this.model = model;
+        this.evaluator = evaluator;
+        int vectors = model.getModelCount() * STREETS * ActionModel.SITUATIONS * ActionModel.KINDS;
+        this.likelihoods = new float[vectors][];
+        this.likelihoodBoard = new int[vectors];
+    }
+
+    @Override
+    public void handStarted(GameState state) {
+        List<Player> players = state.getPlayers();
+        if (ranges == null || ranges.getSeatCount() != players.size()) {
+            ranges = new OpponentRanges(players.size());
+            seatTypes = new SeatType[players.size()];
+        } else {
+            ranges.reset();
+        }
+        for (int i = 0; i < players.size(); i++) {
+            seatTypes[i] = SeatType.of(players.get(i));
+        }
+        board = -1;
+        state.setOpponentRanges(ranges);
+    }
+
+    @Override
+    public void actionChosen(Player player, GameState state, Action action) {
+        if (state.getOpponentRanges() != ranges) {
+            return;
+        }
+        int seat = state.getPlayers().indexOf(player);
+        GameStage stage = state.getStage();
+        if (stage != GameStage.PREFLOP) {
+            long mask = state.getBoard().getMask();
+            if (mask != board) {
+                ActionModel.strengthDeciles(evaluator, mask, deciles, scratch);
+                board = mask;
+                boardVersion++;
+            }
+        }
+        int situation = ActionModel.situationOf(player, state);
+        int kind = ActionModel.kindOf(action, player, state);
+        ranges.multiply(seat, likelihood(model.modelOf(seatTypes[seat]), stage, situation, kind));
+    }
+
+    public OpponentRanges getRanges() {
+        return ranges;
+    }
+
+    private float[] likelihood(int actionModel, GameStage stage, int situation, int kind) {
+        int street = stage.ordinal();
+        int slot = ((actionModel * STREETS + street) * ActionModel.SITUATIONS + situation) * ActionModel.KINDS + kind;
+        float[] vector = likelihoods[slot];
+        boolean preflop = stage == GameStage.PREFLOP;
+        if (vector != null && (preflop || likelihoodBoard[slot] == boardVersion)) {
+            return vector;
+        }
+        if (vector == null) {
+            vector = new float[HoleCards.COMBOS];
+            likelihoods[slot] = vector;
+        }
+        int hands = preflop ? HoleCards.CLASSES : ActionModel.STRENGTH_BUCKETS;
+        for (int hand = 0; hand < hands; hand++) {
+            double probability = model.probability(actionModel, stage, situation, kind, hand);
+            handLikelihoods[hand] = (float) (LIKELIHOOD_FLOOR + (1 - LIKELIHOOD_FLOOR) * probability);
+        }
+        for (int combo = 0; combo < HoleCards.COMBOS; combo++) {
+            vector[combo] = handLikelihoods[preflop ? HoleCards.comboClass(combo) : deciles[combo]];
+        }
+        likelihoodBoard[slot] = boardVersion;
+        return vector;
+    }
+}
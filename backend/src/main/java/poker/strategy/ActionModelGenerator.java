@@ -0,0 +1,182 @@
+package poker.strategy;
+
+import poker.ai.*;
+import poker.engine.ActionListener;
+import poker.engine.GameEngine;
+import poker.evaluation.HandEvaluator;
+import poker.history.SeatType;
+import poker.model.*;
+import poker.odds.ActionModel;
+import poker.odds.PotOddsCalculator;
+import poker.odds.RangeEquityCalculator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Offline job behind src/main/resources/poker/action-model.bin. Plays hands at 2-9 seat tables of
+// randomly drawn bots and counts, per bot type, street, situation (unbet or facing a bet) and hand
+// (class preflop, strength decile after), how often each kind of action was chosen. A cell's
+// probabilities lean on the pooled frequencies of all bots by PRIOR_HANDS pseudo-decisions, so thinly
+// seen hands borrow from the rest. MCTS bots are left out: a search per decision makes them too slow to
+// sample. Equity bots get a fixed sample count instead of a time budget, so the output is deterministic
+// for a given seed and hand count.
+public class ActionModelGenerator {
+    static final List<SeatType> TYPES = List.of(SeatType.CALLING_STATION, SeatType.TIGHT_PASSIVE,
+        SeatType.LOOSE_AGGRESSIVE, SeatType.EQUITY);
+    static final double PRIOR_HANDS = 4.0;
+
+    private static final int HANDS_PER_TABLE = 100;
+    private static final long UNLIMITED_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int STACK = 2000;
+    private static final int STREETS = 4;
+    private static final int HANDS = HoleCards.CLASSES;
+
+    private final int hands;
+    private final long seed;
+    // [model][street][situation][kind][hand]; the pooled counts are the last model
+    private final long[][][][][] counts = new long[TYPES.size() + 1][STREETS][ActionModel.SITUATIONS]
+        [ActionModel.KINDS][HANDS];
+
+    public ActionModelGenerator(int hands, long seed) {
+        this.hands = hands;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int hands = 50_000;
+        long seed = 1;
+        Path out = Path.of("src/main/resources/poker/action-model.bin");
+        for (String arg : args) {
+            if (arg.startsWith("--hands=")) {
+                hands = Integer.parseInt(arg.substring("--hands=".length()));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            } else if (arg.startsWith("--out=")) {
+                out = Path.of(arg.substring("--out=".length()));
+            } else {
+                System.err.println("Usage: ActionModelGenerator [--hands=50000] [--seed=1] [--out=file]");
+                System.exit(2);
+            }
+        }
+
+        long started = System.nanoTime();
+        ActionModel model = new ActionModelGenerator(hands, seed).generate();
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        try (OutputStream stream = Files.newOutputStream(out)) {
+            model.write(stream);
+        }
+        System.out.printf("Wrote %s (%d bytes) in %.1f s%n", out, Files.size(out),
+            (System.nanoTime() - started) / 1e9);
+    }
+
+    public ActionModel generate() {
+        Random random = new Random(seed);
+        ActionCounter counter = new ActionCounter();
+        for (int played = 0; played < hands; played += HANDS_PER_TABLE) {
+            int seats = PreflopCharts.MIN_PLAYERS + random.nextInt(PreflopCharts.MAX_PLAYERS - PreflopCharts.MIN_PLAYERS + 1);
+            List<Player> players = new ArrayList<>(seats);
+            for (int i = 0; i < seats; i++) {
+                SeatType type = TYPES.get(random.nextInt(TYPES.size()));
+                players.add(new AIPlayer("Bot " + (i + 1), STACK, bot(type, new Random(random.nextLong()))));
+            }
+            GameEngine engine = new GameEngine(players, 10, 20, new Random(random.nextLong()));
+            engine.setActionListener(counter);
+            for (int hand = 0; hand < Math.min(HANDS_PER_TABLE, hands - played); hand++) {
+                for (Player player : players) {
+                    if (player.getChips() < STACK) {
+                        player.win(STACK - player.getChips());
+                    }
+                }
+                engine.playHand();
+            }
+        }
+        return model();
+    }
+
+    private static AIStrategy bot(SeatType type, Random random) {
+        StartingHandChart chart = StartingHandChart.shared();
+        return switch (type) {
+            case CALLING_STATION -> new CallingStationAI(random, chart);
+            case TIGHT_PASSIVE -> new TightPassiveAI(random, chart, HandEvaluator.shared());
+            case LOOSE_AGGRESSIVE -> new LooseAggressiveAI(random, chart);
+            default -> new EquityAI(random, chart, RangeEquityCalculator.shared(), PotOddsCalculator.shared(),
+                UNLIMITED_MICROS, RangeEquityCalculator.MIN_SAMPLES);
+        };
+    }
+
+    private ActionModel model() {
+        ActionModel model = new ActionModel(TYPES);
+        int pooled = TYPES.size();
+        for (GameStage stage : List.of(GameStage.PREFLOP, GameStage.FLOP, GameStage.TURN, GameStage.RIVER)) {
+            int street = stage.ordinal();
+            int handCount = stage == GameStage.PREFLOP ? HoleCards.CLASSES : ActionModel.STRENGTH_BUCKETS;
+            for (int situation = 0; situation < ActionModel.SITUATIONS; situation++) {
+                for (int hand = 0; hand < handCount; hand++) {
+                    long[] pooledCounts = kindCounts(pooled, street, situation, hand);
+                    long pooledTotal = pooledCounts[0] + pooledCounts[1] + pooledCounts[2];
+                    double[] prior = new double[ActionModel.KINDS];
+                    for (int kind = 0; kind < ActionModel.KINDS; kind++) {
+                        prior[kind] = (pooledCounts[kind] + 1.0) / (pooledTotal + ActionModel.KINDS);
+                        model.setProbability(model.pooledModel(), stage, situation, kind, hand, prior[kind]);
+                    }
+                    for (int type = 0; type < TYPES.size(); type++) {
+                        long[] typeCounts = kindCounts(type, street, situation, hand);
+                        long total = typeCounts[0] + typeCounts[1] + typeCounts[2];
+                        for (int kind = 0; kind < ActionModel.KINDS; kind++) {
+                            double probability = (typeCounts[kind] + PRIOR_HANDS * prior[kind]) / (total + PRIOR_HANDS);
+                            model.setProbability(type, stage, situation, kind, hand, probability);
+                        }
+                    }
+                }
+            }
+        }
+        return model;
+    }
+
+    private long[] kindCounts(int model, int street, int situation, int hand) {
+        long[] result = new long[ActionModel.KINDS];
+        for (int kind = 0; kind < ActionModel.KINDS; kind++) {
+            result[kind] = counts[model][street][situation][kind][hand];
+        }
+        return result;
+    }
+
+    // Counts every bot decision under the seat's own type and the pooled model
+    private final class ActionCounter implements ActionListener {
+        private final byte[] deciles = new byte[HoleCards.COMBOS];
+        private final long[] scratch = new long[HoleCards.COMBOS];
+        private long board = -1;
+
+        @Override
+        public void actionChosen(Player player, GameState state, Action action) {
+            int type = TYPES.indexOf(SeatType.of(player));
+            if (type < 0) {
+                return;
+            }
+            int hand;
+            if (state.getStage() == GameStage.PREFLOP) {
+                hand = player.getHoleCards().getClassIndex();
+            } else {
+                long mask = state.getBoard().getMask();
+                if (mask != board) {
+                    ActionModel.strengthDeciles(HandEvaluator.shared(), mask, deciles, scratch);
+                    board = mask;
+                }
+                hand = deciles[player.getHoleCards().getComboIndex()];
+            }
+            int street = state.getStage().ordinal();
+            int situation = ActionModel.situationOf(player, state);
+            int kind = ActionModel.kindOf(action, player, state);
+            counts[type][street][situation][kind][hand]++;
+            counts[TYPES.size()][street][situation][kind][hand]++;
+        }
+    }
+}
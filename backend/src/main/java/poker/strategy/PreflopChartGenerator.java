@@ -0,0 +1,377 @@
+package poker.strategy;
+
+import poker.evaluation.HandEvaluator;
+import poker.model.GameStage;
+import poker.model.HoleCards;
+import poker.model.Position;
+import poker.odds.EquityTable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Offline job behind src/main/resources/poker/preflop-charts.bin. Simulates showdowns with the mask
+// evaluator to rank the 169 classes by equity against 1-8 random hands, then per player count and
+// position:
+//   open      the hand is at least even to be the best of itself and everyone left to act
+//             (fewer than 1 - 0.5^(1/behind) of all combos rank above it);
+//   call      heads-up equity against the range that opens just before this seat beats the pot odds of
+//             calling a 3bb raise (blinds already posted count) plus a margin for playing the hand out;
+//   3-bet     the same equity reaches THREE_BET_EQUITY.
+// The same run writes equity-table.bin: those preflop equities, plus postflop equity against 1-8 random
+// hands per street and made-hand category. Deterministic for a given seed and sample count.
+public class PreflopChartGenerator {
+    static final double RAISE_BB = 3.0;
+    static final double REALIZATION_MARGIN = 0.05;
+    static final double THREE_BET_EQUITY = 0.58;
+
+    private static final int COMBO_WEIGHTS_TOTAL = HoleCards.COMBOS;
+
+    private final int samples;
+    private final long seed;
+
+    public PreflopChartGenerator(int samples, long seed) {
+        this.samples = samples;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int samples = 20_000;
+        long seed = 1;
+        Path out = Path.of("src/main/resources/poker/preflop-charts.bin");
+        Path equityOut = Path.of("src/main/resources/poker/equity-table.bin");
+        for (String arg : args) {
+            if (arg.startsWith("--samples=")) {
+                samples = Integer.parseInt(arg.substring("--samples=".length()));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            } else if (arg.startsWith("--out=")) {
+                out = Path.of(arg.substring("--out=".length()));
+            } else if (arg.startsWith("--equity-out=")) {
+                equityOut = Path.of(arg.substring("--equity-out=".length()));
+            } else {
+                System.err.println("Usage: PreflopChartGenerator [--samples=20000] [--seed=1] [--out=file]"
+                    + " [--equity-out=file]");
+                System.exit(2);
+            }
+        }
+
+        long started = System.nanoTime();
+        PreflopChartGenerator generator = new PreflopChartGenerator(samples, seed);
+        double[][] equity = generator.preflopEquities();
+        PreflopCharts charts = generator.generate(equity, true);
+        EquityTable table = generator.equityTable(equity);
+        for (Path path : List.of(out, equityOut)) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+        }
+        try (OutputStream stream = Files.newOutputStream(out)) {
+            charts.write(stream);
+        }
+        try (OutputStream stream = Files.newOutputStream(equityOut)) {
+            table.write(stream);
+        }
+        System.out.printf("Wrote %s (%d bytes) and %s (%d bytes) in %.1f s%n", out, Files.size(out),
+            equityOut, Files.size(equityOut), (System.nanoTime() - started) / 1e9);
+    }
+
+    // equity[opponents][class] against that many random hands, for 1-8 opponents
+    public double[][] preflopEquities() {
+        double[][] equity = new double[PreflopCharts.MAX_PLAYERS][];
+        for (int opponents = 1; opponents < PreflopCharts.MAX_PLAYERS; opponents++) {
+            int count = opponents;
+            equity[opponents] = IntStream.range(0, HoleCards.CLASSES).parallel()
+                .mapToDouble(handClass -> equityVsRandom(handClass, count))
+                .toArray();
+        }
+        return equity;
+    }
+
+    public PreflopCharts generate(double[][] equity, boolean report) {
+        int[][] rankings = new int[PreflopCharts.MAX_PLAYERS][];
+        for (int opponents = 1; opponents < PreflopCharts.MAX_PLAYERS; opponents++) {
+            rankings[opponents] = ranking(equity[opponents]);
+        }
+
+        PreflopCharts charts = new PreflopCharts();
+        for (int players = PreflopCharts.MIN_PLAYERS; players <= PreflopCharts.MAX_PLAYERS; players++) {
+            List<Position> order = actionOrder(players);
+            boolean[][] opens = new boolean[order.size()][];
+            for (int seat = 0; seat < order.size(); seat++) {
+                int behind = order.size() - 1 - seat;
+                opens[seat] = behind == 0 ? new boolean[HoleCards.CLASSES] : openRange(rankings[behind], behind);
+            }
+            for (int seat = 0; seat < order.size(); seat++) {
+                Position position = order.get(seat);
+                long[] raiserRange = combos(opens[Math.max(0, seat - 1)]);
+                double required = requiredEquity(position, players);
+                boolean[] open = opens[seat];
+                long tableSeed = seatSeed(players, seat);
+                int[] flags = new int[HoleCards.CLASSES];
+                IntStream.range(0, HoleCards.CLASSES).parallel().forEach(handClass -> {
+                    double vsRaise = equityVsRange(handClass, raiserRange, tableSeed);
+                    int cell = open[handClass] ? PreflopCharts.OPEN : 0;
+                    if (vsRaise >= THREE_BET_EQUITY) {
+                        cell |= PreflopCharts.THREE_BET | PreflopCharts.CALL;
+                    } else if (vsRaise >= required) {
+                        cell |= PreflopCharts.CALL;
+                    }
+                    flags[handClass] = cell;
+                });
+                for (int handClass = 0; handClass < HoleCards.CLASSES; handClass++) {
+                    charts.set(players, position, handClass, flags[handClass]);
+                }
+                if (report) {
+                    System.out.printf("%d players %-5s open %5.1f%%  call %5.1f%%  3-bet %5.1f%%%n", players,
+                        position.getAbbreviation(), share(flags, PreflopCharts.OPEN),
+                        share(flags, PreflopCharts.CALL), share(flags, PreflopCharts.THREE_BET));
+                }
+            }
+        }
+        return charts;
+    }
+
+    // Postflop cells take ten times the preflop sample count per street and opponent count, spread over
+    // whatever categories the random deals make; a category never seen inherits the one below it
+    public EquityTable equityTable(double[][] preflop) {
+        EquityTable table = new EquityTable();
+        for (int opponents = 1; opponents <= EquityTable.MAX_OPPONENTS; opponents++) {
+            for (int handClass = 0; handClass < HoleCards.CLASSES; handClass++) {
+                table.setPreflop(handClass, opponents, preflop[opponents][handClass]);
+            }
+        }
+        for (GameStage stage : List.of(GameStage.FLOP, GameStage.TURN, GameStage.RIVER)) {
+            for (int opponents = 1; opponents <= EquityTable.MAX_OPPONENTS; opponents++) {
+                double[] byCategory = postflopEquity(stage.getCommunityCardCount(), opponents);
+                double previous = 0;
+                for (int strength = 1; strength <= EquityTable.CATEGORIES; strength++) {
+                    double value = Double.isNaN(byCategory[strength]) ? previous : byCategory[strength];
+                    table.setPostflop(stage, strength, opponents, value);
+                    previous = value;
+                }
+            }
+        }
+        return table;
+    }
+
+    // Mean showdown share per category (index = HandRank strength), NaN where no deal made it
+    private double[] postflopEquity(int boardCards, int opponents) {
+        SplittableRandom random = new SplittableRandom(seed * 7919 + boardCards * 97L + opponents);
+        HandEvaluator evaluator = new HandEvaluator();
+        int[] deck = deckWithout(0L);
+        double[] won = new double[EquityTable.CATEGORIES + 1];
+        int[] dealt = new int[EquityTable.CATEGORIES + 1];
+        int deals = samples * 10;
+        for (int sample = 0; sample < deals; sample++) {
+            shuffle(deck, 7 + 2 * opponents, random);
+            long hero = 1L << deck[0] | 1L << deck[1];
+            long board = 0L;
+            for (int i = 0; i < 5; i++) {
+                board |= 1L << deck[2 + i];
+            }
+            long seen = board;
+            for (int i = 5; i > boardCards; i--) {
+                seen &= ~(1L << deck[1 + i]);
+            }
+            int strength = HandEvaluator.strengthOf(evaluator.evaluateValue(hero | seen));
+            int best = evaluator.evaluateValue(hero | board);
+            int ties = 0;
+            boolean lost = false;
+            for (int o = 0; o < opponents && !lost; o++) {
+                int value = evaluator.evaluateValue(1L << deck[7 + 2 * o] | 1L << deck[8 + 2 * o] | board);
+                if (value > best) {
+                    lost = true;
+                } else if (value == best) {
+                    ties++;
+                }
+            }
+            dealt[strength]++;
+            if (!lost) {
+                won[strength] += 1.0 / (ties + 1);
+            }
+        }
+        double[] equity = new double[EquityTable.CATEGORIES + 1];
+        for (int strength = 1; strength <= EquityTable.CATEGORIES; strength++) {
+            equity[strength] = dealt[strength] == 0 ? Double.NaN : won[strength] / dealt[strength];
+        }
+        return equity;
+    }
+
+    // Preflop acting order: UTG first and the blinds last; heads-up the button (small blind) first
+    static List<Position> actionOrder(int players) {
+        List<Position> seats = Position.getPositionsForPlayerCount(players);
+        if (players <= 3) {
+            return seats;
+        }
+        List<Position> order = new ArrayList<>(seats.subList(2, players));
+        order.addAll(seats.subList(0, 2));
+        return order;
+    }
+
+    // Share of the pot a call must win: the call over the final pot, with the blinds as dead money
+    static double requiredEquity(Position position, int players) {
+        double posted = position == Position.BIG_BLIND ? 1.0
+            : position == Position.SMALL_BLIND || players == 2 && position == Position.BUTTON ? 0.5 : 0.0;
+        double call = RAISE_BB - posted;
+        double pot = 2 * RAISE_BB + 1.5 - posted;
+        return call / pot + REALIZATION_MARGIN;
+    }
+
+    private static boolean[] openRange(int[] ranking, int behind) {
+        double limit = 1 - Math.pow(0.5, 1.0 / behind);
+        boolean[] open = new boolean[HoleCards.CLASSES];
+        int above = 0;
+        for (int handClass : ranking) {
+            if ((double) above / COMBO_WEIGHTS_TOTAL >= limit) {
+                break;
+            }
+            open[handClass] = true;
+            above += comboCount(handClass);
+        }
+        return open;
+    }
+
+    private static int[] ranking(double[] equity) {
+        return IntStream.range(0, equity.length).boxed()
+            .sorted(Comparator.comparingDouble((Integer handClass) -> -equity[handClass]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    private double equityVsRandom(int handClass, int opponents) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + handClass * 1009L + opponents);
+        HandEvaluator evaluator = new HandEvaluator();
+        int[] hero = canonicalCards(handClass);
+        int[] deck = deckWithout(1L << hero[0] | 1L << hero[1]);
+        long heroMask = 1L << hero[0] | 1L << hero[1];
+        int needed = 2 * opponents + 5;
+        double won = 0;
+        for (int sample = 0; sample < samples; sample++) {
+            shuffle(deck, needed, random);
+            long board = 0L;
+            for (int i = 0; i < 5; i++) {
+                board |= 1L << deck[2 * opponents + i];
+            }
+            int best = evaluator.evaluateValue(heroMask | board);
+            int ties = 0;
+            boolean lost = false;
+            for (int o = 0; o < opponents && !lost; o++) {
+                int value = evaluator.evaluateValue(1L << deck[2 * o] | 1L << deck[2 * o + 1] | board);
+                if (value > best) {
+                    lost = true;
+                } else if (value == best) {
+                    ties++;
+                }
+            }
+            if (!lost) {
+                won += 1.0 / (ties + 1);
+            }
+        }
+        return won / samples;
+    }
+
+    private double equityVsRange(int handClass, long[] range, long tableSeed) {
+        SplittableRandom random = new SplittableRandom(tableSeed * 31 + handClass);
+        HandEvaluator evaluator = new HandEvaluator();
+        int[] hero = canonicalCards(handClass);
+        long heroMask = 1L << hero[0] | 1L << hero[1];
+        long[] open = Arrays.stream(range).filter(combo -> (combo & heroMask) == 0).toArray();
+        if (open.length == 0) {
+            return 1.0;
+        }
+        int[] deck = deckWithout(heroMask);
+        double won = 0;
+        for (int sample = 0; sample < samples; sample++) {
+            long villain = open[random.nextInt(open.length)];
+            long board = 0L;
+            int drawn = 0;
+            int end = deck.length;
+            while (drawn < 5) {
+                int pick = random.nextInt(end);
+                int card = deck[pick];
+                deck[pick] = deck[--end];
+                deck[end] = card;
+                if ((villain & 1L << card) == 0) {
+                    board |= 1L << card;
+                    drawn++;
+                }
+            }
+            int heroValue = evaluator.evaluateValue(heroMask | board);
+            int villainValue = evaluator.evaluateValue(villain | board);
+            won += heroValue > villainValue ? 1 : heroValue == villainValue ? 0.5 : 0;
+        }
+        return won / samples;
+    }
+
+    private long seatSeed(int players, int seat) {
+        return seed * 131 + players * 17L + seat;
+    }
+
+    private static void shuffle(int[] deck, int count, SplittableRandom random) {
+        for (int i = 0; i < count; i++) {
+            int pick = i + random.nextInt(deck.length - i);
+            int card = deck[pick];
+            deck[pick] = deck[i];
+            deck[i] = card;
+        }
+    }
+
+    private static int[] deckWithout(long dead) {
+        int[] deck = new int[52 - Long.bitCount(dead)];
+        int count = 0;
+        for (int card = 0; card < 52; card++) {
+            if ((dead & 1L << card) == 0) {
+                deck[count++] = card;
+            }
+        }
+        return deck;
+    }
+
+    // One combo of the class; every combo of a class has the same equity against random or suit-blind
+    // ranges
+    private static int[] canonicalCards(int handClass) {
+        int row = handClass / 13;
+        int col = handClass % 13;
+        if (row == col) {
+            return new int[]{row, 13 + row};
+        }
+        return row > col ? new int[]{row, col} : new int[]{col, 13 + row};
+    }
+
+    private static long[] combos(boolean[] range) {
+        List<Long> combos = new ArrayList<>();
+        for (int combo = 0; combo < HoleCards.COMBOS; combo++) {
+            long mask = HoleCards.comboMask(combo);
+            int first = Long.numberOfTrailingZeros(mask);
+            int second = 63 - Long.numberOfLeadingZeros(mask);
+            if (range[HoleCards.classIndex(first, second)]) {
+                combos.add(mask);
+            }
+        }
+        return combos.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static int comboCount(int handClass) {
+        int row = handClass / 13;
+        int col = handClass % 13;
+        return row == col ? 6 : row > col ? 4 : 12;
+    }
+
+    private static double share(int[] flags, int flag) {
+        int combos = 0;
+        for (int handClass = 0; handClass < flags.length; handClass++) {
+            if ((flags[handClass] & flag) != 0) {
+                combos += comboCount(handClass);
+            }
+        }
+        return 100.0 * combos / HoleCards.COMBOS;
+    }
+}
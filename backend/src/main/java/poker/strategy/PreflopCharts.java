@@ -0,0 +1,93 @@
+package poker.strategy;
+
+import poker.model.HoleCards;
+import poker.model.Position;
+
+import java.io.*;
+import java.util.List;
+
+// Preflop decisions per player count (2-9), position and starting-hand class, as written by
+// PreflopChartGenerator. One byte per cell holds OPEN, CALL and THREE_BET flags, the last two for
+// facing a single raise. File: magic, min and max player count, then per player count the number of
+// positions and, per position, its ordinal and 169 cells in HoleCards.getClassIndex() order.
+public final class PreflopCharts {
+    public static final String RESOURCE = "/poker/preflop-charts.bin";
+    public static final int OPEN = 1;
+    public static final int CALL = 2;
+    public static final int THREE_BET = 4;
+
+    static final int MAGIC = 0x50464331;
+    static final int MIN_PLAYERS = 2;
+    static final int MAX_PLAYERS = 9;
+
+    private static final int POSITIONS = Position.values().length;
+
+    private final byte[] cells = new byte[(MAX_PLAYERS + 1) * POSITIONS * HoleCards.CLASSES];
+    private final boolean[] present = new boolean[(MAX_PLAYERS + 1) * POSITIONS];
+
+    PreflopCharts() {
+    }
+
+    public static PreflopCharts loadDefault() {
+        try (InputStream in = PreflopCharts.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing preflop chart resource " + RESOURCE);
+            }
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read preflop charts", e);
+        }
+    }
+
+    public static PreflopCharts read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a preflop chart file");
+        }
+        int minPlayers = in.readUnsignedByte();
+        int maxPlayers = in.readUnsignedByte();
+        if (minPlayers < MIN_PLAYERS || maxPlayers > MAX_PLAYERS) {
+            throw new IOException("Unsupported player counts " + minPlayers + "-" + maxPlayers);
+        }
+        PreflopCharts charts = new PreflopCharts();
+        for (int players = minPlayers; players <= maxPlayers; players++) {
+            int positions = in.readUnsignedByte();
+            for (int i = 0; i < positions; i++) {
+                int table = players * POSITIONS + in.readUnsignedByte();
+                in.readFully(charts.cells, table * HoleCards.CLASSES, HoleCards.CLASSES);
+                charts.present[table] = true;
+            }
+        }
+        return charts;
+    }
+
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+        out.writeInt(MAGIC);
+        out.writeByte(MIN_PLAYERS);
+        out.writeByte(MAX_PLAYERS);
+        for (int players = MIN_PLAYERS; players <= MAX_PLAYERS; players++) {
+            List<Position> positions = Position.getPositionsForPlayerCount(players);
+            out.writeByte(positions.size());
+            for (Position position : positions) {
+                out.writeByte(position.ordinal());
+                out.write(cells, (players * POSITIONS + position.ordinal()) * HoleCards.CLASSES, HoleCards.CLASSES);
+            }
+        }
+        out.flush();
+    }
+
+    public boolean covers(int players, Position position) {
+        return players >= MIN_PLAYERS && players <= MAX_PLAYERS && present[players * POSITIONS + position.ordinal()];
+    }
+
+    public int get(int players, Position position, int classIndex) {
+        return cells[(players * POSITIONS + position.ordinal()) * HoleCards.CLASSES + classIndex];
+    }
+
+    void set(int players, Position position, int classIndex, int flags) {
+        int table = players * POSITIONS + position.ordinal();
+        cells[table * HoleCards.CLASSES + classIndex] = (byte) flags;
+        present[table] = true;
+    }
+}
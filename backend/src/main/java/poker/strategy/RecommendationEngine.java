@@ -8,14 +8,25 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class RecommendationEngine {
+    private static final RecommendationEngine SHARED = new RecommendationEngine();
+
     private final StartingHandChart preflopChart;
     private final OddsCalculator oddsCalculator;
     private final HandEvaluator handEvaluator;
 
     public RecommendationEngine() {
-        this.preflopChart = new StartingHandChart();
-        this.oddsCalculator = new OddsCalculator();
-        this.handEvaluator = new HandEvaluator();
+        this(StartingHandChart.shared(), OddsCalculator.shared(), HandEvaluator.shared());
+    }
+
+    public RecommendationEngine(StartingHandChart preflopChart, OddsCalculator oddsCalculator,
+                                HandEvaluator handEvaluator) {
+        this.preflopChart = preflopChart;
+        this.oddsCalculator = oddsCalculator;
+        this.handEvaluator = handEvaluator;
+    }
+
+    public static RecommendationEngine shared() {
+        return SHARED;
     }
 
     public Recommendation getRecommendation(Player player, GameState state) {
@@ -33,7 +44,7 @@ public class RecommendationEngine {
         HoleCards cards = player.getHoleCards();
 
         ActionRecommendation action = preflopChart.getRecommendation(
-            cards, position, facingRaise, raiserCount
+            cards, position, state.getPlayers().size(), facingRaise, raiserCount
         );
 
         String reasoning = buildPreflopReasoning(cards, position, facingRaise, raiserCount, action);
@@ -52,10 +63,8 @@ public class RecommendationEngine {
     }
 
     private Recommendation getPostflopRecommendation(Player player, GameState state) {
-        List<Card> allCards = new ArrayList<>(state.getCommunityCards());
-        allCards.addAll(player.getHoleCards().getCards());
-
-        Hand currentHand = handEvaluator.evaluate(allCards);
+        long cards = state.getBoard().getMask() | player.getHoleCards().getMask();
+        HandRank currentRank = HandEvaluator.rankOf(handEvaluator.evaluateValue(cards));
         OddsResult odds = oddsCalculator.calculateOdds(player, state);
 
         int toCall = state.getAmountToCall(player);
@@ -64,25 +73,25 @@ public class RecommendationEngine {
         ActionRecommendation action;
         String reasoning;
 
-        if (currentHand.getRank().getStrength() >= HandRank.TWO_PAIR.getStrength()) {
+        if (currentRank.getStrength() >= HandRank.TWO_PAIR.getStrength()) {
             action = toCall == 0 ? ActionRecommendation.RAISE : ActionRecommendation.RAISE;
             reasoning = String.format(
                 "Сильная комбинация: %s. Ставь за велью!",
-                currentHand.getRank().getRussianName()
+                currentRank.getRussianName()
             );
         }
-        else if (currentHand.getRank().getStrength() >= HandRank.PAIR.getStrength()) {
+        else if (currentRank.getStrength() >= HandRank.PAIR.getStrength()) {
             if (toCall == 0) {
                 action = ActionRecommendation.RAISE;
                 reasoning = String.format(
                     "%s - ставь за велью. Новички часто коллируют со слабым.",
-                    currentHand.getRank().getRussianName()
+                    currentRank.getRussianName()
                 );
             } else if (odds.shouldCall()) {
                 action = ActionRecommendation.CALL;
                 reasoning = String.format(
                     "%s с эквити %.1f%% против пот-оддсов %.1f%% - можно коллировать.",
-                    currentHand.getRank().getRussianName(),
+                    currentRank.getRussianName(),
                     odds.equity() * 100,
                     odds.potOdds() * 100
                 );
@@ -90,7 +99,7 @@ public class RecommendationEngine {
                 action = ActionRecommendation.FOLD;
                 reasoning = String.format(
                     "%s слабовата. Эквити %.1f%% < нужных %.1f%%. Лучше фолд.",
-                    currentHand.getRank().getRussianName(),
+                    currentRank.getRussianName(),
                     odds.equity() * 100,
                     odds.requiredEquity() * 100
                 );
@@ -100,14 +109,14 @@ public class RecommendationEngine {
             if (odds.shouldCall()) {
                 action = toCall == 0 ? ActionRecommendation.CHECK : ActionRecommendation.CALL;
                 reasoning = String.format(
-                    "Дро: %d аутсов = %.1f%% шанс улучшиться. Пот-оддсы позволяют колл.",
+                    "Дро: %d аутсов, эквити %.1f%%. Пот-оддсы позволяют колл.",
                     odds.outs(),
                     odds.equity() * 100
                 );
             } else {
                 action = toCall == 0 ? ActionRecommendation.CHECK : ActionRecommendation.FOLD;
                 reasoning = String.format(
-                    "Дро: %d аутсов = %.1f%%, но пот-оддсы %.1f%% не позволяют. Чек/Фолд.",
+                    "Дро: %d аутсов, эквити %.1f%%, но пот-оддсы %.1f%% не позволяют. Чек/Фолд.",
                     odds.outs(),
                     odds.equity() * 100,
                     odds.potOdds() * 100
@@ -119,7 +128,7 @@ public class RecommendationEngine {
             reasoning = "Нет ничего - ни руки, ни дро. Не блефуй против новичков!";
         }
 
-        List<String> tips = buildPostflopTips(currentHand, odds, state);
+        List<String> tips = buildPostflopTips(currentRank, odds, state);
 
         int suggestedAmount = 0;
         if (action == ActionRecommendation.RAISE) {
@@ -166,22 +175,23 @@ public class RecommendationEngine {
         return tips;
     }
 
-    private List<String> buildPostflopTips(Hand hand, OddsResult odds, GameState state) {
+    private List<String> buildPostflopTips(HandRank rank, OddsResult odds, GameState state) {
         List<String> tips = new ArrayList<>();
 
-        if (hand.getRank().getStrength() >= HandRank.PAIR.getStrength()) {
+        if (rank.getStrength() >= HandRank.PAIR.getStrength()) {
             tips.add("Правило #2: Вэлью-бет толще! Новички коллируют со слабым.");
         }
 
-        if (hand.getRank().getStrength() < HandRank.PAIR.getStrength() && odds.outs() == 0) {
+        if (rank.getStrength() < HandRank.PAIR.getStrength() && odds.outs() == 0) {
             tips.add("Правило #3: Не блефуй часто! Новички не умеют фолдить.");
         }
 
         if (odds.outs() > 0) {
-            tips.add(String.format("Правило 4-2: %d аутов × %d = %.0f%% шанс улучшиться",
+            int multiplier = state.getStage() == GameStage.FLOP ? 4 : 2;
+            tips.add(String.format("Правило 4-2: %d аутов × %d = %d%% шанс улучшиться",
                 odds.outs(),
-                state.getStage() == GameStage.FLOP ? 4 : 2,
-                odds.equity() * 100
+                multiplier,
+                Math.min(100, odds.outs() * multiplier)
             ));
         }
 
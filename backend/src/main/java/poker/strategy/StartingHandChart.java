@@ -5,6 +5,7 @@ import poker.model.*;
 import java.util.*;
 
 public class StartingHandChart {
+    private static final StartingHandChart SHARED = new StartingHandChart();
 
     private static final Set<String> PREMIUM = Set.of(
         "AA", "KK", "QQ", "AKs", "AKo"
@@ -24,21 +25,71 @@ public class StartingHandChart {
         "ATo", "A9o", "KJo", "KTo", "QJo", "JTo", "T9o", "98o"
     );
 
+    // Strength of every starting-hand class, indexed by HoleCards.getClassIndex()
+    private static final HandStrength[] STRENGTHS = new HandStrength[HoleCards.CLASSES];
+
+    static {
+        Arrays.fill(STRENGTHS, HandStrength.TRASH);
+        PLAYABLE.forEach(notation -> STRENGTHS[HoleCards.classIndexOf(notation)] = HandStrength.PLAYABLE);
+        STRONG.forEach(notation -> STRENGTHS[HoleCards.classIndexOf(notation)] = HandStrength.STRONG);
+        PREMIUM.forEach(notation -> STRENGTHS[HoleCards.classIndexOf(notation)] = HandStrength.PREMIUM);
+    }
+
+    private final PreflopCharts charts;
+
+    public StartingHandChart() {
+        this(PreflopCharts.loadDefault());
+    }
+
+    public StartingHandChart(PreflopCharts charts) {
+        this.charts = charts;
+    }
+
+    public static StartingHandChart shared() {
+        return SHARED;
+    }
+
     public HandStrength getHandStrength(HoleCards cards) {
-        String notation = cards.getNotation();
+        return STRENGTHS[cards.getClassIndex()];
+    }
+
+    public HandStrength getHandStrength(int classIndex) {
+        return STRENGTHS[classIndex];
+    }
 
-        if (PREMIUM.contains(notation)) {
-            return HandStrength.PREMIUM;
+    // From the generated chart for this table size and position; with more than one raiser in front
+    // only 3-bet hands continue
+    public ActionRecommendation getRecommendation(HoleCards cards, Position position, int players,
+                                                   boolean facingRaise, int raiserCount) {
+        if (!charts.covers(players, position)) {
+            return getRecommendation(cards, position, facingRaise, raiserCount);
         }
-        if (STRONG.contains(notation)) {
-            return HandStrength.STRONG;
+        int flags = charts.get(players, position, cards.getClassIndex());
+        if (!facingRaise) {
+            if ((flags & PreflopCharts.OPEN) != 0) {
+                return ActionRecommendation.RAISE;
+            }
+            return position == Position.BIG_BLIND ? ActionRecommendation.CHECK : ActionRecommendation.FOLD;
         }
-        if (PLAYABLE.contains(notation)) {
-            return HandStrength.PLAYABLE;
+        if ((flags & PreflopCharts.THREE_BET) != 0) {
+            return ActionRecommendation.RERAISE;
+        }
+        if ((flags & PreflopCharts.CALL) != 0 && raiserCount <= 1) {
+            return ActionRecommendation.CALL;
+        }
+        return ActionRecommendation.FOLD;
+    }
+
+    // Whether the chart continues with the class from this seat in some spot (opens, calls or 3-bets);
+    // without a chart for the table, any hand above trash
+    public boolean plays(int players, Position position, int classIndex) {
+        if (!charts.covers(players, position)) {
+            return STRENGTHS[classIndex] != HandStrength.TRASH;
         }
-        return HandStrength.TRASH;
+        return charts.get(players, position, classIndex) != 0;
     }
 
+    // Table-size-blind fallback by hand strength tier
     public ActionRecommendation getRecommendation(HoleCards cards, Position position,
                                                    boolean facingRaise, int raiserCount) {
         HandStrength strength = getHandStrength(cards);
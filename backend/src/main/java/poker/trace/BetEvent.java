@@ -0,0 +1,39 @@
+package poker.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("poker.Bet")
+@Label("Bet Applied")
+@Description("Chips moved by BettingManager for a blind or an action")
+@Category("Poker")
+@StackTrace(false)
+public class BetEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(BetEvent.class);
+
+    @Label("Player")
+    public String player;
+
+    @Label("Action")
+    public String action;
+
+    @Label("Chips Added")
+    public int chipsAdded;
+
+    @Label("Pot After")
+    public int potAfter;
+
+    @Label("Current Bet After")
+    public int currentBetAfter;
+
+    @Label("All In")
+    public boolean allIn;
+
+    public static boolean isTracing() {
+        return TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,47 @@
+package poker.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("poker.Decision")
+@Label("Decision")
+@Description("A bot or human choosing an action; for the human this includes the wait for input")
+@Category("Poker")
+@StackTrace(false)
+public class DecisionEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(DecisionEvent.class);
+
+    @Label("Player")
+    public String player;
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Street")
+    public String street;
+
+    @Label("Action")
+    public String action;
+
+    @Label("Amount")
+    public int amount;
+
+    @Label("To Call")
+    public int toCall;
+
+    @Label("Pot")
+    public int pot;
+
+    public static DecisionEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        DecisionEvent event = new DecisionEvent();
+        event.begin();
+        return event;
+    }
+}
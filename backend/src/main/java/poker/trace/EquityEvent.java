@@ -0,0 +1,44 @@
+package poker.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("poker.Equity")
+@Label("Equity Computation")
+@Description("An equity estimate; samples is 0 for closed-form estimates")
+@Category("Poker")
+@StackTrace(false)
+public class EquityEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(EquityEvent.class);
+
+    @Label("Street")
+    public String street;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Outs")
+    public int outs;
+
+    @Label("Cards To Come")
+    public int cardsToCome;
+
+    @Label("Samples")
+    public long samples;
+
+    @Label("Equity")
+    public double equity;
+
+    public static EquityEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        EquityEvent event = new EquityEvent();
+        event.begin();
+        return event;
+    }
+}
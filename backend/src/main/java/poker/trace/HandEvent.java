@@ -0,0 +1,44 @@
+package poker.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("poker.Hand")
+@Label("Hand")
+@Description("One GameEngine.playHand call, from shuffle to pot award")
+@Category("Poker")
+@StackTrace(false)
+public class HandEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(HandEvent.class);
+
+    @Label("Players")
+    public int players;
+
+    @Label("Button Seat")
+    public int buttonSeat;
+
+    @Label("Last Street")
+    public String lastStreet;
+
+    @Label("Pot")
+    public int pot;
+
+    @Label("Winners")
+    public int winners;
+
+    @Label("Winning Hand")
+    public String winningHand;
+
+    public static HandEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        HandEvent event = new HandEvent();
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,38 @@
+package poker.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("poker.Showdown")
+@Label("Showdown")
+@Description("WinnerDeterminer.resolveShowdown: hand evaluation and pot split")
+@Category("Poker")
+@StackTrace(false)
+public class ShowdownEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(ShowdownEvent.class);
+
+    @Label("Players Evaluated")
+    public int playersEvaluated;
+
+    @Label("Winners")
+    public int winners;
+
+    @Label("Pot")
+    public int pot;
+
+    @Label("Winning Hand")
+    public String winningHand;
+
+    public static ShowdownEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        ShowdownEvent event = new ShowdownEvent();
+        event.begin();
+        return event;
+    }
+}
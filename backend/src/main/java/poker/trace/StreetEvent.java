@@ -0,0 +1,41 @@
+package poker.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("poker.Street")
+@Label("Street")
+@Description("One betting round, from the deal of the street to its last action")
+@Category("Poker")
+@StackTrace(false)
+public class StreetEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(StreetEvent.class);
+
+    @Label("Street")
+    public String street;
+
+    @Label("Board")
+    public String board;
+
+    @Label("Players In Hand")
+    public int playersInHand;
+
+    @Label("Actions")
+    public int actions;
+
+    @Label("Pot After")
+    public int potAfter;
+
+    public static StreetEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        StreetEvent event = new StreetEvent();
+        event.begin();
+        return event;
+    }
+}
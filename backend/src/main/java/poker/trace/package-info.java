@@ -0,0 +1,7 @@
+/**
+ * JDK Flight Recorder events for the engine ({@code poker.*} in a recording).
+ * <p>
+ * Events are only allocated while a recording has them enabled ({@code beginIfEnabled()} returns
+ * null and {@code isTracing()} false otherwise), so untraced hands keep their allocation budget.
+ */
+package poker.trace;
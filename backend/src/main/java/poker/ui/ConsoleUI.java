@@ -4,6 +4,7 @@ import poker.ai.AIStrategy;
 import poker.analytics.*;
 import poker.engine.GameEngine;
 import poker.model.*;
+import poker.odds.RangeTracker;
 
 import java.util.*;
 
@@ -76,6 +77,7 @@ public class ConsoleUI {
         stats = new SessionStats(config.startingChips());
 
         engine = new GameEngine(players, config.smallBlind(), config.bigBlind());
+        engine.setActionListener(new RangeTracker());
 
         engine.setHumanActionProvider((state, player) -> {
             renderer.renderTable(state, humanPlayer);
@@ -11,7 +11,7 @@ public class InputHandler {
 
     public InputHandler(Scanner scanner) {
         this.scanner = scanner;
-        this.recommendationEngine = new RecommendationEngine();
+        this.recommendationEngine = RecommendationEngine.shared();
     }
 
     public Action readAction(GameState state, Player player) {
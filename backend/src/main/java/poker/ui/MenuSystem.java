@@ -88,6 +88,8 @@ public class MenuSystem {
         System.out.println("  1. Calling Stations - коллируют всё (самый простой)");
         System.out.println("  2. Смешанный - разные типы новичков");
         System.out.println("  3. С маньяками - включает агрессивных игроков");
+        System.out.println("  4. Вычислители - считают эквити и пот-оддсы");
+        System.out.println("  5. Стратеги - просчитывают раздачу до конца (MCTS)");
         System.out.print("Выбор [1]: ");
 
         String input = scanner.nextLine().trim();
@@ -114,6 +116,8 @@ public class MenuSystem {
                     case 1 -> new TightPassiveAI();
                     default -> new LooseAggressiveAI();
                 };
+                case 4 -> new EquityAI();
+                case 5 -> new MctsAI();
                 default -> new CallingStationAI();
             };
             strategies.add(strategy);
@@ -149,6 +149,13 @@ public class TableRenderer {
             System.out.println("║  " + outs + padRight("", 56 - outs.length()) + "║");
         }
 
+        if (analysis.evEstimate() != null) {
+            EvEstimate ev = analysis.evEstimate();
+            String loss = String.format("Потеря EV: %.2f bb, лучше: %s", ev.getEvLossBb(),
+                ev.getBest().action().toRussianString());
+            System.out.println("║  " + loss + padRight("", 56 - loss.length()) + "║");
+        }
+
         System.out.println("╚══════════════════════════════════════════════════════════╝");
 
         for (String tip : analysis.tips()) {
@@ -0,0 +1,62 @@
+package poker.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import poker.analytics.DecisionAnalyzer;
+import poker.evaluation.HandEvaluator;
+import poker.evaluation.WinnerDeterminer;
+import poker.odds.OddsCalculator;
+import poker.strategy.RecommendationEngine;
+import poker.strategy.StartingHandChart;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class AnalysisConfig {
+
+    // The analysis services are stateless; the beans are the same instances GameEngine uses by default
+
+    @Bean
+    public HandEvaluator handEvaluator() {
+        return HandEvaluator.shared();
+    }
+
+    @Bean
+    public StartingHandChart startingHandChart() {
+        return StartingHandChart.shared();
+    }
+
+    @Bean
+    public OddsCalculator oddsCalculator() {
+        return OddsCalculator.shared();
+    }
+
+    @Bean
+    public RecommendationEngine recommendationEngine() {
+        return RecommendationEngine.shared();
+    }
+
+    @Bean
+    public DecisionAnalyzer decisionAnalyzer() {
+        return DecisionAnalyzer.shared();
+    }
+
+    @Bean
+    public WinnerDeterminer winnerDeterminer() {
+        return WinnerDeterminer.shared();
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService adviceExecutor(@Value("${poker.advice.threads:0}") int threads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, task -> {
+            Thread thread = new Thread(task, "advice-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package poker.web;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Unauthenticated, so only registered when poker.jfr.enabled is set; keep it off on public deployments
+@RestController
+@RequestMapping("/api/diagnostics")
+@ConditionalOnProperty(name = "poker.jfr.enabled", havingValue = "true")
+public class DiagnosticsController {
+
+    private final FlightRecordings recordings;
+
+    public DiagnosticsController(FlightRecordings recordings) {
+        this.recordings = recordings;
+    }
+
+    @GetMapping("/recording")
+    public ResponseEntity<FlightRecordings.Status> recordingStatus() {
+        return ResponseEntity.ok(recordings.status());
+    }
+
+    @PostMapping("/recording/start")
+    public ResponseEntity<FlightRecordings.Status> startRecording(
+            @RequestParam(defaultValue = "15") long maxAgeMinutes,
+            @RequestParam(defaultValue = "false") boolean profile) throws IOException {
+        if (maxAgeMinutes < 1 || maxAgeMinutes > FlightRecordings.MAX_AGE_LIMIT.toMinutes()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(recordings.start(Duration.ofMinutes(maxAgeMinutes), profile));
+    }
+
+    @PostMapping("/recording/dump")
+    public ResponseEntity<Resource> dumpRecording() throws IOException {
+        Path file;
+        try {
+            file = recordings.dump();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+            .body(new FileSystemResource(file));
+    }
+
+    @PostMapping("/recording/stop")
+    public ResponseEntity<FlightRecordings.Status> stopRecording() {
+        return ResponseEntity.ok(recordings.stop());
+    }
+}
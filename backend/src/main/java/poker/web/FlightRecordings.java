@@ -0,0 +1,151 @@
+package poker.web;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import poker.trace.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// On-demand JFR recordings. Off unless poker.jfr.enabled: a dump holds what the JVM knows about its host,
+// so even with the events below left out it is for trusted operators only.
+@Component
+@ConditionalOnProperty(name = "poker.jfr.enabled", havingValue = "true")
+public class FlightRecordings {
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+        DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+    private static final String FILE_PREFIX = "poker-";
+    private static final String FILE_SUFFIX = ".jfr";
+    public static final Duration MAX_AGE_LIMIT = Duration.ofHours(6);
+    // Events that carry environment variables, system properties, JVM arguments or other processes'
+    // command lines, where deployment secrets live; dropped from the JDK settings
+    static final List<String> SECRET_EVENTS = List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty",
+        "jdk.JVMInformation", "jdk.SystemProcess");
+    // Recording.enable takes exact event names, so every poker.trace event is listed
+    static final List<Class<? extends Event>> POKER_EVENTS = List.of(HandEvent.class, StreetEvent.class,
+        DecisionEvent.class, BetEvent.class, EquityEvent.class, ShowdownEvent.class);
+
+    private final Path directory;
+    private final int maxDumps;
+    private Recording recording;
+
+    public FlightRecordings(@Value("${poker.jfr.directory:recordings}") String directory,
+                            @Value("${poker.jfr.max-dumps:5}") int maxDumps) {
+        if (maxDumps < 1) {
+            throw new IllegalArgumentException("Max dumps must be positive");
+        }
+        this.directory = Path.of(directory);
+        this.maxDumps = maxDumps;
+    }
+
+    // maxAge: 1 minute to MAX_AGE_LIMIT
+    public synchronized Status start(Duration maxAge, boolean profile) throws IOException {
+        if (maxAge.compareTo(Duration.ofMinutes(1)) < 0 || maxAge.compareTo(MAX_AGE_LIMIT) > 0) {
+            throw new IllegalArgumentException("Max age must be between 1 minute and " + MAX_AGE_LIMIT.toHours() + " hours");
+        }
+        if (isRunning()) {
+            return status();
+        }
+        try {
+            // The JDK's "default" settings cost ~1% CPU, "profile" adds allocation and method sampling
+            Recording started = new Recording(settings(profile ? "profile" : "default"));
+            started.setName("poker-on-demand");
+            started.setToDisk(true);
+            started.setMaxAge(maxAge);
+            for (Class<? extends Event> event : POKER_EVENTS) {
+                started.enable(event);
+            }
+            started.start();
+            recording = started;
+        } catch (ParseException e) {
+            throw new IOException("Cannot read JFR settings", e);
+        }
+        return status();
+    }
+
+    static Map<String, String> settings(String configuration) throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(configuration).getSettings());
+        for (String event : SECRET_EVENTS) {
+            settings.put(event + "#enabled", "false");
+        }
+        return settings;
+    }
+
+    // Writes everything recorded so far to a new file, keeping only the newest maxDumps; the recording
+    // keeps running
+    public synchronized Path dump() throws IOException {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_PREFIX + FILE_TIMESTAMP.format(Instant.now()) + FILE_SUFFIX);
+        recording.dump(file);
+        deleteOldDumps();
+        return file;
+    }
+
+    // Dump names sort by time
+    private void deleteOldDumps() throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(directory)) {
+            dumps = new ArrayList<>(files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+                })
+                .sorted()
+                .toList());
+        }
+        for (int i = 0; i < dumps.size() - maxDumps; i++) {
+            Files.deleteIfExists(dumps.get(i));
+        }
+    }
+
+    public synchronized Status stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        return status();
+    }
+
+    public synchronized Status status() {
+        if (!isRunning()) {
+            return new Status(false, null, null, 0L);
+        }
+        return new Status(true, recording.getStartTime(), recording.getMaxAge(), recording.getSize());
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    @PreDestroy
+    public void close() {
+        stop();
+    }
+
+    public record Status(
+        boolean running,
+        Instant startedAt,
+        Duration maxAge,
+        long sizeBytes
+    ) {}
+}
@@ -1,20 +1,53 @@
 package poker.web;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import poker.analytics.DecisionAnalyzer;
+import poker.evaluation.WinnerDeterminer;
+import poker.history.HandHistoryWriter;
 import poker.model.Action;
 import poker.model.ActionType;
+import poker.model.GameSnapshot;
 import poker.web.dto.*;
 
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/game")
 public class GameController {
-
-    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private static final long ACTION_WAIT_MILLIS = 1_000;
+
+    private final SessionRegistry sessions;
+    private final WinnerDeterminer winnerDeterminer;
+    private final DecisionAnalyzer decisionAnalyzer;
+    private final ExecutorService adviceExecutor;
+    private final PokerMetrics metrics;
+    private final SlowHandRecorder slowHands;
+    private final HandHistoryWriter history;
+
+    public GameController(SessionRegistry sessions, WinnerDeterminer winnerDeterminer, DecisionAnalyzer decisionAnalyzer,
+                          @Qualifier("adviceExecutor") ExecutorService adviceExecutor,
+                          ObjectProvider<PokerMetrics> metrics,
+                          ObjectProvider<SlowHandRecorder> slowHands,
+                          ObjectProvider<HandHistoryWriter> history) {
+        this.sessions = sessions;
+        this.winnerDeterminer = winnerDeterminer;
+        this.decisionAnalyzer = decisionAnalyzer;
+        this.adviceExecutor = adviceExecutor;
+        this.metrics = metrics.getIfAvailable();
+        this.slowHands = slowHands.getIfAvailable();
+        this.history = history.getIfAvailable();
+    }
 
     @PostMapping("/create")
     public ResponseEntity<Map<String, String>> createGame(@RequestBody GameSetupRequest request) {
@@ -27,10 +60,16 @@ public class GameController {
             request.startingChips(),
             request.smallBlind(),
             request.bigBlind(),
-            request.aiType()
+            request.aiType(),
+            winnerDeterminer,
+            decisionAnalyzer,
+            adviceExecutor,
+            metrics,
+            slowHands,
+            history
         );
 
-        sessions.put(sessionId, session);
+        sessions.register(session);
 
         return ResponseEntity.ok(Map.of("sessionId", sessionId));
     }
@@ -50,22 +89,33 @@ public class GameController {
             Thread.currentThread().interrupt();
         }
 
-        return ResponseEntity.ok(createStateDto(session));
+        return stateResponse(session);
     }
 
     @GetMapping("/{sessionId}/state")
-    public ResponseEntity<GameStateDto> getState(@PathVariable String sessionId) {
+    public ResponseEntity<GameStateDto> getState(
+            @PathVariable String sessionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         GameSession session = sessions.get(sessionId);
         if (session == null) {
             return ResponseEntity.notFound().build();
         }
 
+        // Polls between actions see the same version: answer before any DTO or recommendation is built
+        String etag = session.getStateETag();
+        if (ifNoneMatch != null && matchesAny(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+
         var state = session.getCurrentState();
         if (state == null) {
             return ResponseEntity.ok(null);
         }
 
-        return ResponseEntity.ok(createStateDto(session));
+        return stateResponse(session);
     }
 
     @PostMapping("/{sessionId}/action")
@@ -79,22 +129,16 @@ public class GameController {
         }
 
         Action action = createAction(request.type(), request.amount());
-        session.submitAction(action);
-
-        // Wait for game to process (may complete the hand)
-        for (int i = 0; i < 10; i++) {
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-            if (session.isHandComplete() || !session.isGameRunning()) {
-                break;
-            }
+        // Answer as soon as the bots have played up to the human's next turn or the hand is over
+        try {
+            session.submitAction(action).get(ACTION_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Still playing: the client picks the rest up by polling the state
         }
 
-        return ResponseEntity.ok(createStateDto(session));
+        return stateResponse(session);
     }
 
     @DeleteMapping("/{sessionId}")
@@ -103,19 +147,66 @@ public class GameController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/stats")
+    public ResponseEntity<ServerStatsDto> stats() {
+        return ResponseEntity.ok(ServerStatsDto.from(sessions.getStats()));
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
         return ResponseEntity.ok(Map.of("status", "ok"));
     }
 
+    // If-None-Match by weak comparison: a comma-separated list of quoted tags, each maybe W/-prefixed,
+    // or * for any current representation
+    static boolean matchesAny(String ifNoneMatch, String etag) {
+        int i = 0;
+        int length = ifNoneMatch.length();
+        while (i < length) {
+            char c = ifNoneMatch.charAt(i);
+            if (c == ',' || Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '*') {
+                return true;
+            } else {
+                if (ifNoneMatch.startsWith("W/", i)) {
+                    i += 2;
+                }
+                if (i >= length || ifNoneMatch.charAt(i) != '"') {
+                    return false;
+                }
+                int end = ifNoneMatch.indexOf('"', i + 1);
+                if (end < 0) {
+                    return false;
+                }
+                if (end + 1 - i == etag.length() && ifNoneMatch.regionMatches(i, etag, 0, etag.length())) {
+                    return true;
+                }
+                i = end + 1;
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<GameStateDto> stateResponse(GameSession session) {
+        // Read the version before building so a concurrent change yields a stale tag, never a stale body
+        String etag = session.getStateETag();
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .body(createStateDto(session));
+    }
+
     private GameStateDto createStateDto(GameSession session) {
+        // One snapshot per response: players, board and recommendation all describe the same moment
+        GameSnapshot snapshot = session.getSnapshot();
+        DecisionAnalyzer.Advice advice = session.getAdvice(snapshot);
         return GameStateDto.from(
-            session.getCurrentState(),
-            session.getPlayers(), // Pass all players including eliminated
-            session.getHumanPlayer(),
+            snapshot,
             session.isHandComplete(),
             session.getLastResultMessage(),
-            session.getRecommendation()
+            advice != null ? GameSession.formatRecommendation(advice) : null,
+            advice != null ? advice.odds() : null
         );
     }
 
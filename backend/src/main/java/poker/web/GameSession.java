@@ -1,32 +1,64 @@
 package poker.web;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import poker.analytics.DecisionAnalyzer;
 import poker.engine.GameEngine;
+import poker.evaluation.WinnerDeterminer;
+import poker.history.HandHistoryWriter;
 import poker.model.*;
+import poker.odds.RangeTracker;
 import poker.ai.*;
-import poker.strategy.RecommendationEngine;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class GameSession {
+    private static final Logger log = LoggerFactory.getLogger(GameSession.class);
+
     private final String sessionId;
     private final GameEngine engine;
     private final List<Player> players;
     private final HumanPlayer humanPlayer;
-    private final RecommendationEngine recommendationEngine;
-    private final BlockingQueue<Action> humanActionQueue = new LinkedBlockingQueue<>();
+    private final DecisionAnalyzer analyzer;
+    private final Executor adviceExecutor;
+    private final PokerMetrics metrics;
+    private final BlockingQueue<SubmittedAction> humanActionQueue = new LinkedBlockingQueue<>();
+    private final AtomicLong stateVersion = new AtomicLong();
     private volatile boolean gameRunning = false;
     private volatile boolean handComplete = false;
     private volatile String lastResultMessage = null;
-    private Thread gameThread;
+    private volatile long lastAccessNanos = System.nanoTime();
+    private volatile boolean closed = false;
+    private volatile Thread gameThread;
+    private volatile PendingAdvice pendingAdvice;
+    private volatile boolean awaitingHuman;
+    // The action the hand thread took last; settled once the engine needs the human again or the hand ends
+    private volatile SubmittedAction takenAction;
 
     public GameSession(String sessionId, int playerCount, int humanPosition, int startingChips, int smallBlind, int bigBlind, String aiType) {
+        this(sessionId, playerCount, humanPosition, startingChips, smallBlind, bigBlind, aiType,
+            WinnerDeterminer.shared(), DecisionAnalyzer.shared(), ForkJoinPool.commonPool(), null, null, null);
+    }
+
+    public GameSession(String sessionId, int playerCount, int humanPosition, int startingChips, int smallBlind, int bigBlind, String aiType,
+                       WinnerDeterminer showdown, DecisionAnalyzer analyzer,
+                       Executor adviceExecutor, PokerMetrics metrics, SlowHandRecorder slowHands,
+                       HandHistoryWriter history) {
         this.sessionId = sessionId;
         this.players = new ArrayList<>();
-        this.recommendationEngine = new RecommendationEngine();
+        this.analyzer = analyzer;
+        this.adviceExecutor = adviceExecutor;
+        this.metrics = metrics;
 
         HumanPlayer human = null;
         for (int i = 0; i < playerCount; i++) {
@@ -40,13 +72,33 @@ public class GameSession {
         }
         this.humanPlayer = human;
 
-        this.engine = new GameEngine(players, smallBlind, bigBlind);
+        this.engine = new GameEngine(players, smallBlind, bigBlind, showdown, analyzer);
+        this.engine.setPublishSnapshots(true);
+        this.engine.setMetrics(metrics);
+        if (slowHands != null) {
+            this.engine.setSlowHandCapture(slowHands.getPolicy(), slowHands);
+        }
+        this.engine.setHandHistory(history);
+        this.engine.setActionListener(new RangeTracker());
+        this.engine.setStateUpdateListener(state -> {
+            stateVersion.incrementAndGet();
+            prepareAdvice(engine.getSnapshot());
+        });
         this.engine.setHumanActionProvider((state, player) -> {
+            awaitingHuman = true;
+            settleTakenAction();
             try {
-                return humanActionQueue.poll(5, TimeUnit.MINUTES);
+                SubmittedAction submitted = humanActionQueue.poll(5, TimeUnit.MINUTES);
+                if (submitted == null) {
+                    return Action.fold();
+                }
+                takenAction = submitted;
+                return submitted.action();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 return Action.fold();
+            } finally {
+                awaitingHuman = false;
             }
         });
     }
@@ -57,6 +109,8 @@ public class GameSession {
             case "calling_station" -> new CallingStationAI();
             case "tight_passive" -> new TightPassiveAI();
             case "loose_aggressive" -> new LooseAggressiveAI();
+            case "equity" -> new EquityAI();
+            case "mcts" -> new MctsAI();
             default -> switch (index % 3) {
                 case 0 -> new CallingStationAI();
                 case 1 -> new TightPassiveAI();
@@ -66,21 +120,23 @@ public class GameSession {
     }
 
     public void startHand() {
-        if (gameRunning) return;
+        if (gameRunning || closed) return;
 
         // Check if human player has 0 chips
         if (humanPlayer.getChips() <= 0) {
             handComplete = true;
             lastResultMessage = "Игра окончена! У вас закончились фишки.";
+            stateVersion.incrementAndGet();
             return;
         }
 
         gameRunning = true;
         handComplete = false;
         lastResultMessage = null;
-        humanActionQueue.clear();
+        discardQueuedActions();
+        stateVersion.incrementAndGet();
 
-        gameThread = new Thread(() -> {
+        Thread thread = new Thread(() -> {
             try {
                 GameEngine.HandResult result = engine.playHand();
                 if (result != null && !result.winners().isEmpty()) {
@@ -100,17 +156,82 @@ public class GameSession {
             } finally {
                 handComplete = true;
                 gameRunning = false;
+                stateVersion.incrementAndGet();
+                // Actions the hand never took are stale now; startHand would drop them anyway
+                settleTakenAction();
+                discardQueuedActions();
             }
-        });
-        gameThread.start();
+        }, "hand-" + sessionId);
+        thread.setDaemon(true);
+        gameThread = thread;
+        thread.start();
+    }
+
+    public void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    public boolean isAwaitingHuman() {
+        return awaitingHuman;
+    }
+
+    public long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    public void close() {
+        closed = true;
+        discardQueuedActions();
+        cancelAdvice();
+        // A hand blocked on the human's queue folds out once interrupted, letting the thread finish
+        Thread thread = gameThread;
+        if (thread != null && thread.isAlive()) {
+            thread.interrupt();
+        }
+    }
+
+    // Completes once the hand thread has played the action and everything after it, up to the human's next
+    // decision or the end of the hand; at once if no hand is running to take it
+    public CompletableFuture<Void> submitAction(Action action) {
+        SubmittedAction submitted = new SubmittedAction(action, new CompletableFuture<>());
+        humanActionQueue.offer(submitted);
+        // Checked after queueing: a hand that ends after this check still settles it, taken or not
+        if (!gameRunning || closed) {
+            submitted.settled().complete(null);
+        }
+        return submitted.settled();
+    }
+
+    private void settleTakenAction() {
+        SubmittedAction taken = takenAction;
+        if (taken != null) {
+            takenAction = null;
+            taken.settled().complete(null);
+        }
+    }
+
+    private void discardQueuedActions() {
+        SubmittedAction queued;
+        while ((queued = humanActionQueue.poll()) != null) {
+            queued.settled().complete(null);
+        }
     }
 
-    public void submitAction(Action action) {
-        humanActionQueue.offer(action);
+    public GameSnapshot getSnapshot() {
+        return engine.getSnapshot();
     }
 
     public GameState getCurrentState() {
-        return engine.getCurrentState();
+        GameSnapshot snapshot = engine.getSnapshot();
+        return snapshot != null ? snapshot.state() : null;
+    }
+
+    public long getStateVersion() {
+        return stateVersion.get();
+    }
+
+    public String getStateETag() {
+        return "\"" + stateVersion.get() + "\"";
     }
 
     public HumanPlayer getHumanPlayer() {
@@ -118,19 +239,73 @@ public class GameSession {
     }
 
     public String getRecommendation() {
+        return getRecommendation(engine.getSnapshot());
+    }
+
+    public String getRecommendation(GameSnapshot snapshot) {
+        DecisionAnalyzer.Advice advice = getAdvice(snapshot);
+        return advice != null ? formatRecommendation(advice) : null;
+    }
+
+    // Recommendation and odds for the human's decision in this snapshot, or null when it is not theirs
+    public DecisionAnalyzer.Advice getAdvice(GameSnapshot snapshot) {
         if (humanPlayer == null || handComplete) return null;
-        GameState state = getCurrentState();
-        if (state == null) return null;
-        if (state.getCurrentPlayer() != humanPlayer) return null;
+        if (snapshot == null || !snapshot.isHumanTurn()) return null;
+
+        PendingAdvice pending = pendingAdvice;
+        if (pending != null && pending.version() == snapshot.version()) {
+            try {
+                return pending.advice().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (CancellationException | ExecutionException e) {
+                // Superseded or failed in the background: fall through and compute it here
+            }
+        }
+        return computeAdvice(snapshot);
+    }
+
+    public static String formatRecommendation(DecisionAnalyzer.Advice advice) {
+        var rec = advice.recommendation();
+        return rec.action().getRussianName() + ": " + rec.reasoning();
+    }
 
+    private DecisionAnalyzer.Advice computeAdvice(GameSnapshot snapshot) {
+        long started = System.nanoTime();
         try {
-            var rec = recommendationEngine.getRecommendation(humanPlayer, state);
-            return rec.action().getRussianName() + ": " + rec.reasoning(); //???
-        } catch (Exception e) {
+            DecisionAnalyzer.Advice advice = analyzer.prepare(snapshot.getHuman(), snapshot.state());
+            if (metrics != null) {
+                metrics.recommendationComputed(System.nanoTime() - started);
+            }
+            return advice;
+        } catch (RuntimeException e) {
+            // A bug in the analysis must not fail the state poll: the player just sees no advice
+            log.warn("Advice failed in session {} at state version {}", sessionId, snapshot.version(), e);
             return null;
         }
     }
 
+    private void prepareAdvice(GameSnapshot snapshot) {
+        cancelAdvice();
+        // Build the human's whole advice (recommendation and odds) while the hand thread waits for input,
+        // so the next poll finds it ready
+        if (snapshot != null && snapshot.isHumanTurn() && !closed) {
+            pendingAdvice = new PendingAdvice(
+                snapshot.version(),
+                CompletableFuture.supplyAsync(() -> computeAdvice(snapshot), adviceExecutor)
+            );
+        }
+    }
+
+    private void cancelAdvice() {
+        PendingAdvice pending = pendingAdvice;
+        if (pending != null) {
+            pendingAdvice = null;
+            pending.advice().cancel(false);
+        }
+    }
+
     public List<Player> getPlayers() {
         return players;
     }
@@ -150,4 +325,8 @@ public class GameSession {
     public String getSessionId() {
         return sessionId;
     }
+
+    private record SubmittedAction(Action action, CompletableFuture<Void> settled) {}
+
+    private record PendingAdvice(long version, CompletableFuture<DecisionAnalyzer.Advice> advice) {}
 }
@@ -0,0 +1,30 @@
+package poker.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import poker.history.HandHistoryWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "poker.history.enabled", havingValue = "true", matchIfMissing = true)
+public class HandHistoryConfig {
+
+    // One writer for every session: hands from all tables interleave in the same segments
+    @Bean(destroyMethod = "close")
+    public HandHistoryWriter handHistoryWriter(
+            @Value("${poker.history.directory:hand-history}") String directory,
+            @Value("${poker.history.segment-mb:256}") long segmentMb,
+            @Value("${poker.history.flush-millis:200}") long flushMillis) throws IOException {
+        // Checked before the shift, which would wrap a huge value back into range
+        if (segmentMb < 1 || segmentMb > HandHistoryWriter.MAX_SEGMENT_BYTES >> 20) {
+            throw new IllegalArgumentException("poker.history.segment-mb must be between 1 and "
+                + (HandHistoryWriter.MAX_SEGMENT_BYTES >> 20));
+        }
+        return new HandHistoryWriter(Path.of(directory), segmentMb << 20, HandHistoryWriter.DEFAULT_BATCH_BYTES,
+            HandHistoryWriter.DEFAULT_BUFFER_BYTES, flushMillis);
+    }
+}
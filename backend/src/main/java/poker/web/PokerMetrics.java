@@ -0,0 +1,100 @@
+package poker.web;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import poker.ai.AIStrategy;
+import poker.engine.EngineMetrics;
+import poker.evaluation.HandEvaluator;
+import poker.history.HandHistoryWriter;
+import poker.model.GameStage;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Component
+@ConditionalOnProperty(name = "poker.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class PokerMetrics implements EngineMetrics {
+    private final MeterRegistry registry;
+    private final Timer handTimer;
+    private final Timer recommendationTimer;
+    // Decision timers per strategy class, indexed by street; looked up on every bot action
+    private final Map<Class<?>, AtomicReferenceArray<Timer>> decisionTimers = new ConcurrentHashMap<>();
+
+    public PokerMetrics(MeterRegistry registry, SessionRegistry sessions, HandEvaluator evaluator,
+                        ObjectProvider<HandHistoryWriter> history) {
+        this.registry = registry;
+        this.handTimer = Timer.builder("poker.hand.duration")
+            .description("Wall time of GameEngine.playHand, including waits for the human")
+            .register(registry);
+        this.recommendationTimer = Timer.builder("poker.recommendation.duration")
+            .description("RecommendationEngine.getRecommendation latency")
+            .register(registry);
+
+        Gauge.builder("poker.sessions.live", sessions, SessionRegistry::getLiveCount)
+            .description("Sessions held by the registry")
+            .register(registry);
+        Gauge.builder("poker.hands.blocked", sessions, SessionRegistry::getBlockedHandCount)
+            .description("Hand threads parked waiting for the human's action")
+            .register(registry);
+        FunctionCounter.builder("poker.sessions.evicted", sessions, SessionRegistry::getEvictedCount)
+            .description("Sessions evicted to stay under the session limit")
+            .register(registry);
+        FunctionCounter.builder("poker.sessions.expired", sessions, SessionRegistry::getExpiredCount)
+            .description("Sessions closed by the idle reaper")
+            .register(registry);
+        // Read only at scrape time: the evaluator itself just bumps a LongAdder, and only once metrics are on
+        evaluator.countEvaluations();
+        FunctionCounter.builder("poker.evaluator.calls", evaluator, HandEvaluator::getEvaluationCount)
+            .description("Hand evaluations; rate() gives calls per second")
+            .register(registry);
+        history.ifAvailable(writer -> {
+            FunctionCounter.builder("poker.history.hands", writer, HandHistoryWriter::getAppendedCount)
+                .description("Hands queued for the binary hand history")
+                .register(registry);
+            FunctionCounter.builder("poker.history.dropped", writer, HandHistoryWriter::getDroppedCount)
+                .description("Hands dropped because the history writer fell behind")
+                .register(registry);
+            FunctionCounter.builder("poker.history.lost", writer, HandHistoryWriter::getLostCount)
+                .description("Hands lost because their batch failed to write")
+                .register(registry);
+            FunctionCounter.builder("poker.history.bytes", writer, HandHistoryWriter::getBytesWritten)
+                .description("Hand-history bytes written to disk")
+                .baseUnit("bytes")
+                .register(registry);
+        });
+    }
+
+    @Override
+    public void handPlayed(long durationNanos) {
+        handTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void botDecision(AIStrategy strategy, GameStage street, long durationNanos) {
+        AtomicReferenceArray<Timer> byStreet = decisionTimers.computeIfAbsent(strategy.getClass(),
+            type -> new AtomicReferenceArray<>(GameStage.values().length));
+        Timer timer = byStreet.get(street.ordinal());
+        if (timer == null) {
+            // Racing threads register the same meter; the registry hands both the one instance
+            timer = Timer.builder("poker.bot.decision")
+                .description("AIStrategy.decide latency")
+                .tag("strategy", strategy.getClass().getSimpleName())
+                .tag("street", street.name().toLowerCase(Locale.ROOT))
+                .register(registry);
+            byStreet.compareAndSet(street.ordinal(), null, timer);
+        }
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recommendationComputed(long durationNanos) {
+        recommendationTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,123 @@
+package poker.web;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class SessionRegistry {
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final int maxSessions;
+    private final long idleTimeoutNanos;
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    public SessionRegistry(
+            @Value("${poker.sessions.max-sessions:200}") int maxSessions,
+            @Value("${poker.sessions.idle-timeout-minutes:30}") long idleTimeoutMinutes) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("Max sessions must be positive");
+        }
+        this.maxSessions = maxSessions;
+        this.idleTimeoutNanos = TimeUnit.MINUTES.toNanos(idleTimeoutMinutes);
+    }
+
+    public synchronized void register(GameSession session) {
+        while (sessions.size() >= maxSessions) {
+            if (!evictLeastRecentlyUsed()) {
+                break;
+            }
+        }
+        sessions.put(session.getSessionId(), session);
+    }
+
+    public GameSession get(String sessionId) {
+        GameSession session = sessions.get(sessionId);
+        if (session != null) {
+            session.touch();
+        }
+        return session;
+    }
+
+    public void remove(String sessionId) {
+        GameSession session = sessions.remove(sessionId);
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${poker.sessions.reap-interval-ms:60000}")
+    public void reapIdleSessions() {
+        long now = System.nanoTime();
+        for (GameSession session : sessions.values()) {
+            if (now - session.getLastAccessNanos() > idleTimeoutNanos
+                    && sessions.remove(session.getSessionId(), session)) {
+                session.close();
+                expiredCount.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean evictLeastRecentlyUsed() {
+        GameSession oldest = null;
+        for (GameSession session : sessions.values()) {
+            if (oldest == null || session.getLastAccessNanos() < oldest.getLastAccessNanos()) {
+                oldest = session;
+            }
+        }
+        if (oldest == null) {
+            return false;
+        }
+        if (sessions.remove(oldest.getSessionId(), oldest)) {
+            oldest.close();
+            evictedCount.incrementAndGet();
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        for (String sessionId : sessions.keySet()) {
+            remove(sessionId);
+        }
+    }
+
+    public int getLiveCount() {
+        return sessions.size();
+    }
+
+    public int getBlockedHandCount() {
+        int blocked = 0;
+        for (GameSession session : sessions.values()) {
+            if (session.isAwaitingHuman()) {
+                blocked++;
+            }
+        }
+        return blocked;
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    public Stats getStats() {
+        return new Stats(getLiveCount(), getEvictedCount(), getExpiredCount(), maxSessions);
+    }
+
+    public record Stats(
+        int live,
+        long evicted,
+        long expired,
+        int maxSessions
+    ) {}
+}
@@ -0,0 +1,95 @@
+package poker.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import poker.engine.SlowHandPolicy;
+import poker.engine.SlowHandRecord;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Appends captured slow hands as JSON lines; replay them with SlowHandReplay. Once the file reaches
+// max-file-mb it is renamed to <file>.1, replacing the previous one, and a new file is started.
+@Component
+@ConditionalOnProperty(name = "poker.slow-hands.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowHandRecorder implements Consumer<SlowHandRecord> {
+    private static final Logger log = LoggerFactory.getLogger(SlowHandRecorder.class);
+
+    private final ObjectMapper json;
+    private final Path file;
+    private final Path rotated;
+    private final long maxFileBytes;
+    private final SlowHandPolicy policy;
+    private final AtomicLong captured = new AtomicLong();
+    // Writes happen off the hand thread; slow hands are rare, so one thread keeps the file ordered
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "slow-hand-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SlowHandRecorder(
+            ObjectMapper json,
+            @Value("${poker.slow-hands.file:slow-hands.jsonl}") String file,
+            @Value("${poker.slow-hands.max-engine-millis:50}") long maxEngineMillis,
+            @Value("${poker.slow-hands.max-iterations:60}") int maxIterations,
+            @Value("${poker.slow-hands.max-file-mb:16}") long maxFileMb) {
+        this.json = json;
+        this.file = Path.of(file);
+        this.rotated = Path.of(file + ".1");
+        this.maxFileBytes = maxFileMb << 20;
+        this.policy = new SlowHandPolicy(TimeUnit.MILLISECONDS.toNanos(maxEngineMillis), maxIterations);
+    }
+
+    public SlowHandPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getCapturedCount() {
+        return captured.get();
+    }
+
+    @Override
+    public void accept(SlowHandRecord record) {
+        captured.incrementAndGet();
+        writer.execute(() -> append(record));
+    }
+
+    private void append(SlowHandRecord record) {
+        try {
+            if (Files.exists(file) && Files.size(file) >= maxFileBytes) {
+                Files.move(file, rotated, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Could not rotate {}", file, e);
+        }
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(json.writeValueAsString(record));
+            out.write('\n');
+        } catch (IOException e) {
+            log.warn("Could not write slow hand (seed {}) to {}", record.seed(), file, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
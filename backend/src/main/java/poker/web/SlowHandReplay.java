@@ -0,0 +1,43 @@
+package poker.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import poker.engine.HandReplayer;
+import poker.engine.SlowHandRecord;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Offline replay of captured slow hands, e.g. under a profiler:
+//   SlowHandReplay slow-hands.jsonl [record index, -1 for all] [repetitions]
+public final class SlowHandReplay {
+
+    private SlowHandReplay() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "slow-hands.jsonl");
+        int only = args.length > 1 ? Integer.parseInt(args[1]) : -1;
+        int repetitions = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        ObjectMapper json = new ObjectMapper();
+        List<String> lines = Files.readAllLines(file);
+        for (int i = 0; i < lines.size(); i++) {
+            if (only >= 0 && i != only || lines.get(i).isBlank()) {
+                continue;
+            }
+            SlowHandRecord record = json.readValue(lines.get(i), SlowHandRecord.class);
+            System.out.printf("#%d seed %d, %d seats, %d actions: %s (engine %.1f ms when captured)%n",
+                i, record.seed(), record.seats().size(), record.actions().size(), record.reason(),
+                record.engineNanos() / 1e6);
+
+            for (int run = 0; run < repetitions; run++) {
+                HandReplayer.Replay replay = HandReplayer.replay(record);
+                SlowHandRecord replayed = replay.replayed();
+                System.out.printf("  run %d: engine %.1f ms, %s%n", run + 1, replayed.engineNanos() / 1e6,
+                    replay.matchesRecord() ? "actions match" : "actions DIVERGED from the record");
+            }
+        }
+    }
+}
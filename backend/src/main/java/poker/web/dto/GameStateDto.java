@@ -1,7 +1,9 @@
 package poker.web.dto;
 
+import poker.model.GameSnapshot;
 import poker.model.GameState;
 import poker.model.GameStage;
+import poker.model.OddsResult;
 import poker.model.Player;
 
 import java.util.List;
@@ -18,9 +20,16 @@ public record GameStateDto(
     boolean handComplete,
     String resultMessage,
     String recommendation,
+    Double equity,
+    Double requiredEquity,
     List<String> availableActions
 ) {
     public static GameStateDto from(GameState state, List<Player> allPlayers, Player humanPlayer, boolean handComplete, String resultMessage, String recommendation) {
+        return from(state, allPlayers, humanPlayer, handComplete, resultMessage, recommendation, null);
+    }
+
+    // odds: the human's equity and the equity a call needs, shown with the recommendation
+    public static GameStateDto from(GameState state, List<Player> allPlayers, Player humanPlayer, boolean handComplete, String resultMessage, String recommendation, OddsResult odds) {
         boolean isHumanTurn = !handComplete && state != null && state.getCurrentPlayer() == humanPlayer && humanPlayer.canAct();
 
         // Use all players (including eliminated) for display
@@ -44,10 +53,25 @@ public record GameStateDto(
             handComplete,
             resultMessage,
             recommendation,
+            odds != null ? odds.equity() : null,
+            odds != null ? odds.requiredEquity() : null,
             List.of()
         );
     }
 
+    public static GameStateDto from(GameSnapshot snapshot, boolean handComplete, String resultMessage, String recommendation) {
+        return from(snapshot, handComplete, resultMessage, recommendation, null);
+    }
+
+    public static GameStateDto from(GameSnapshot snapshot, boolean handComplete, String resultMessage, String recommendation,
+                                    OddsResult odds) {
+        if (snapshot == null) {
+            return from(null, List.of(), null, handComplete, resultMessage, recommendation, odds);
+        }
+        // Use all players (including eliminated) for display
+        return from(snapshot.state(), snapshot.players(), snapshot.getHuman(), handComplete, resultMessage, recommendation, odds);
+    }
+
     public static GameStateDto from(GameState state, Player humanPlayer, boolean handComplete, String resultMessage, String recommendation) {
         return from(state, state != null ? state.getPlayers() : List.of(), humanPlayer, handComplete, resultMessage, recommendation);
     }
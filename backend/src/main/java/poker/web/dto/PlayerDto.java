@@ -30,7 +30,7 @@ public record PlayerDto(
             player.getPosition(),
             player.isFolded(),
             player.isAllIn(),
-            player instanceof poker.model.HumanPlayer,
+            player.isHuman(),
             cards
         );
     }
@@ -0,0 +1,29 @@
+package poker.web.dto;
+
+import poker.web.SessionRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+
+public record ServerStatsDto(
+    SessionRegistry.Stats sessions,
+    int liveThreads,
+    int peakThreads,
+    long heapUsedBytes,
+    long heapCommittedBytes,
+    long heapMaxBytes
+) {
+    public static ServerStatsDto from(SessionRegistry.Stats sessions) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        return new ServerStatsDto(
+            sessions,
+            threads.getThreadCount(),
+            threads.getPeakThreadCount(),
+            heap.getUsed(),
+            heap.getCommitted(),
+            heap.getMax()
+        );
+    }
+}
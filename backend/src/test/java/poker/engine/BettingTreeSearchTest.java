@@ -0,0 +1,66 @@
+package poker.engine;
+
+import org.junit.jupiter.api.Test;
+import poker.ai.CallingStationAI;
+import poker.evaluation.WinnerDeterminer;
+import poker.fixtures.Fixtures;
+import poker.model.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BettingTreeSearchTest {
+    private static final int ITERATIONS = 2_000;
+
+    // A single worker runs on the caller's thread and never touches the pool
+    private final BettingTreeSearch search =
+        new BettingTreeSearch(ForkJoinPool.commonPool(), 1, new CallingStationAI(), WinnerDeterminer.shared());
+
+    // The hero holds a royal flush on the river against a bot that calls anything: every chip bet is
+    // won, so shoving beats every smaller move
+    @Test
+    void shovesTheNutsIntoACallingStation() {
+        GameState state = river("Ah Kh", "Qh Jh Th 2c 3d");
+        Player hero = state.getPlayers().get(0);
+
+        BettingTreeSearch.Result result = search.search(hero, state, ITERATIONS, Long.MAX_VALUE / 2, Fixtures.SEED);
+
+        assertThat(result.move()).isEqualTo(BettingTreeSearch.Move.ALL_IN);
+        assertThat(result.action().getType()).isEqualTo(ActionType.ALL_IN);
+        assertThat(result.iterations()).isEqualTo(ITERATIONS);
+    }
+
+    @Test
+    void oneWorkerWithTheSameSeedSearchesTheSameWay() {
+        GameState state = river("9c 8c", "Tc 7d 2h Ks 3c");
+        Player hero = state.getPlayers().get(0);
+
+        BettingTreeSearch.Result first = search.search(hero, state, ITERATIONS, Long.MAX_VALUE / 2, Fixtures.SEED);
+        BettingTreeSearch.Result second = search.search(hero, state, ITERATIONS, Long.MAX_VALUE / 2, Fixtures.SEED);
+
+        assertThat(second.move()).isEqualTo(first.move());
+        assertThat(second.action().getAmount()).isEqualTo(first.action().getAmount());
+        assertThat(second.iterations()).isEqualTo(first.iterations());
+    }
+
+    private static GameState river(String hole, String board) {
+        List<Card> holeCards = cards(hole);
+        Player hero = new HumanPlayer("Hero", 1000);
+        hero.receiveCards(new HoleCards(holeCards.get(0), holeCards.get(1)));
+        Player villain = new AIPlayer("Villain", 1000, new CallingStationAI());
+        villain.receiveCards(new HoleCards(Card.of("4s"), Card.of("5s")));
+
+        GameState state = new GameState(List.of(hero, villain), 10, 20);
+        state.addCommunityCards(cards(board));
+        state.setStage(GameStage.RIVER);
+        state.getPot().add(200);
+        return state;
+    }
+
+    private static List<Card> cards(String cards) {
+        return Arrays.stream(cards.split(" ")).map(Card::of).toList();
+    }
+}
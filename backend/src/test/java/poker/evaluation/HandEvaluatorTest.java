@@ -0,0 +1,178 @@
+package poker.evaluation;
+
+import org.junit.jupiter.api.Test;
+import poker.fixtures.Fixtures;
+import poker.model.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HandEvaluatorTest {
+    private final HandEvaluator evaluator = HandEvaluator.shared();
+
+    // Seven-card hands in strictly ascending strength, each with the category of its best five
+    private static final Object[][] LADDER = {
+        {"2c 3d 4h 5s 7c 8d 9h", HandRank.HIGH_CARD},
+        {"2c 3d 4h 5s 7c 8d Th", HandRank.HIGH_CARD},
+        {"2c 3d 4h 9s Jc Qd Kh", HandRank.HIGH_CARD},
+        {"2c 3d 4h 8s Tc Qd Ah", HandRank.HIGH_CARD},
+        {"2c 2d 4h 5s 7c 8d 9h", HandRank.PAIR},
+        {"2c 2d 4h 5s 7c 8d Th", HandRank.PAIR},
+        {"3c 3d 4h 5s 7c 8d 9h", HandRank.PAIR},
+        {"Ac Ad 2h 3s 4c 6d 8h", HandRank.PAIR},
+        {"3c 3d 2h 2s 4c 6d 8h", HandRank.TWO_PAIR},
+        // Three pairs: the lowest pair plays no part, the best remaining card kicks
+        {"3c 3d 2h 2s 4c 4d 8h", HandRank.TWO_PAIR},
+        {"3c 3d 2h 2s 4c 4d 9h", HandRank.TWO_PAIR},
+        {"Ac Ad Kh Ks 2c 3d 4h", HandRank.TWO_PAIR},
+        {"2c 2d 2h 5s 7c 8d 9h", HandRank.THREE_OF_A_KIND},
+        {"2c 2d 2h 5s 7c 8d Th", HandRank.THREE_OF_A_KIND},
+        {"Ac Ad Ah 2s 3c 4d 7h", HandRank.THREE_OF_A_KIND},
+        // The wheel is the lowest straight
+        {"Ac 2d 3h 4s 5c 9d Jh", HandRank.STRAIGHT},
+        {"2c 3d 4h 5s 6c 9d Jh", HandRank.STRAIGHT},
+        {"2c 3d 4h 5s 6c 7d Jh", HandRank.STRAIGHT},
+        {"Tc Jd Qh Ks Ac 2d 3h", HandRank.STRAIGHT},
+        // A flush beats the straight in the same seven cards
+        {"2h 3h 4h 5s 6c 7h 9h", HandRank.FLUSH},
+        // Six suited cards: the top five play
+        {"2h 3h 4h 5h 7h 9h Jh", HandRank.FLUSH},
+        {"2h 3h 4h 6h 8h Ah 9c", HandRank.FLUSH},
+        // Two sets make the best full house
+        {"2c 2d 2h 3s 3c 4d 5h", HandRank.FULL_HOUSE},
+        {"2c 2d 2h 3s 3c 3d 5h", HandRank.FULL_HOUSE},
+        {"3c 3d 3h 4s 4c 2d 5h", HandRank.FULL_HOUSE},
+        {"Ac Ad Ah Ks Kc 2d 3h", HandRank.FULL_HOUSE},
+        {"2c 2d 2h 2s 3c 4d 5h", HandRank.FOUR_OF_A_KIND},
+        // Quads with a pair beside them take the best single kicker
+        {"2c 2d 2h 2s 3c 3d Ah", HandRank.FOUR_OF_A_KIND},
+        {"Ac Ad Ah As 2c 3d 4h", HandRank.FOUR_OF_A_KIND},
+        {"Ah 2h 3h 4h 5h 9c Jd", HandRank.STRAIGHT_FLUSH},
+        {"2h 3h 4h 5h 6h 9c Jd", HandRank.STRAIGHT_FLUSH},
+        {"9h Th Jh Qh Kh 2c 3d", HandRank.STRAIGHT_FLUSH},
+        {"Th Jh Qh Kh Ah 2c 3d", HandRank.ROYAL_FLUSH},
+    };
+
+    @Test
+    void ranksKnownHandsInOrder() {
+        int previous = Integer.MIN_VALUE;
+        for (Object[] rung : LADDER) {
+            String hand = (String) rung[0];
+            int value = evaluator.evaluateValue(mask(hand));
+            assertThat(HandEvaluator.rankOf(value)).as(hand).isEqualTo(rung[1]);
+            assertThat(evaluator.evaluate(cards(hand)).getRank()).as(hand).isEqualTo(rung[1]);
+            assertThat(value).as(hand).isGreaterThan(previous);
+            previous = value;
+        }
+    }
+
+    @Test
+    void tiesIgnoreSuitsAndUnplayedCards() {
+        assertThat(evaluator.evaluateValue(mask("Ac Kd Qh Js 9c 3d 2h")))
+            .isEqualTo(evaluator.evaluateValue(mask("Ad Kh Qs Jc 9d 4h 2s")));
+        assertThat(evaluator.evaluateValue(mask("7c 7d 7h 7s Ac 2d 3h")))
+            .isEqualTo(evaluator.evaluateValue(mask("7c 7d 7h 7s Ad Kh Qs")));
+    }
+
+    // The packed value must order random seven-card hands exactly like the best of their 21
+    // five-card subsets scored the slow, obvious way
+    @Test
+    void agreesWithBruteForceOnRandomHands() {
+        Random random = new Random(Fixtures.SEED);
+        List<List<Card>> hands = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            hands.add(Fixtures.shuffledDeck(random).subList(0, 7));
+        }
+        for (int i = 0; i + 1 < hands.size(); i++) {
+            List<Card> first = hands.get(i);
+            List<Card> second = hands.get(i + 1);
+            int fast = Integer.signum(Integer.compare(value(first), value(second)));
+            int slow = Integer.signum(Long.compare(bestOfSeven(first), bestOfSeven(second)));
+            assertThat(fast).as("%s vs %s", first, second).isEqualTo(slow);
+
+            Hand hand = evaluator.evaluate(first);
+            assertThat(hand.getCards()).as("%s", first).hasSize(5);
+            assertThat(value(hand.getCards())).as("best five of %s", first).isEqualTo(value(first));
+        }
+    }
+
+    private int value(List<Card> cards) {
+        return evaluator.evaluateValue(HandEvaluator.toMask(cards));
+    }
+
+    private static long bestOfSeven(List<Card> cards) {
+        long best = -1;
+        for (int skipA = 0; skipA < 7; skipA++) {
+            for (int skipB = skipA + 1; skipB < 7; skipB++) {
+                List<Card> five = new ArrayList<>(5);
+                for (int i = 0; i < 7; i++) {
+                    if (i != skipA && i != skipB) {
+                        five.add(cards.get(i));
+                    }
+                }
+                best = Math.max(best, scoreFive(five));
+            }
+        }
+        return best;
+    }
+
+    // Category, then the ranks that break ties: grouped by count, larger groups and higher ranks first
+    private static long scoreFive(List<Card> five) {
+        int[] counts = new int[15];
+        boolean flush = true;
+        for (Card card : five) {
+            counts[card.getRank().getValue()]++;
+            flush &= card.getSuit() == five.get(0).getSuit();
+        }
+        Integer[] ranks = five.stream().map(c -> c.getRank().getValue()).distinct().toArray(Integer[]::new);
+        Arrays.sort(ranks, (a, b) -> counts[a] != counts[b] ? counts[b] - counts[a] : b - a);
+
+        int straightTop = 0;
+        if (ranks.length == 5) {
+            if (ranks[0] - ranks[4] == 4) {
+                straightTop = ranks[0];
+            } else if (ranks[0] == 14 && ranks[1] == 5) {
+                straightTop = 5;
+            }
+        }
+        int category;
+        if (straightTop > 0 && flush) {
+            category = 8;
+        } else if (counts[ranks[0]] == 4) {
+            category = 7;
+        } else if (counts[ranks[0]] == 3 && counts[ranks[1]] == 2) {
+            category = 6;
+        } else if (flush) {
+            category = 5;
+        } else if (straightTop > 0) {
+            category = 4;
+        } else if (counts[ranks[0]] == 3) {
+            category = 3;
+        } else if (counts[ranks[0]] == 2 && counts[ranks[1]] == 2) {
+            category = 2;
+        } else if (counts[ranks[0]] == 2) {
+            category = 1;
+        } else {
+            category = 0;
+        }
+
+        long score = category;
+        for (int i = 0; i < 5; i++) {
+            int rank = straightTop > 0 ? (i == 0 ? straightTop : 0) : i < ranks.length ? ranks[i] : 0;
+            score = score * 16 + rank;
+        }
+        return score;
+    }
+
+    private static long mask(String cards) {
+        return HandEvaluator.toMask(cards(cards));
+    }
+
+    private static List<Card> cards(String cards) {
+        return Arrays.stream(cards.split(" ")).map(Card::of).toList();
+    }
+}
@@ -0,0 +1,80 @@
+package poker.evaluation;
+
+import org.junit.jupiter.api.Test;
+import poker.model.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WinnerDeterminerTest {
+    private static final List<Card> BOARD = cards("2c 7d 9h Js 3s");
+
+    private final WinnerDeterminer showdown = WinnerDeterminer.shared();
+
+    @Test
+    void shortAllInWinsOnlyWhatItCovered() {
+        Player shortStack = seat("Short", 100, "Ac Ad");
+        Player big = seat("Big", 300, "Kc Kd");
+        Player caller = seat("Caller", 300, "Qc Qd");
+        GameState state = table(shortStack, big, caller);
+
+        WinnerDeterminer.ShowdownResult result = showdown.resolveShowdown(state);
+
+        assertThat(result.winnings()).containsOnly(
+            Map.entry(shortStack, 300),
+            Map.entry(big, 400));
+        assertThat(result.winners()).containsExactly(shortStack, big);
+        assertThat(result.isSplit()).isFalse();
+    }
+
+    @Test
+    void foldedChipsStayInThePotsTheyReached() {
+        Player shortStack = seat("Short", 50, "Ac Ad");
+        Player folder = seat("Folder", 200, "8c 8d");
+        Player big = seat("Big", 400, "Kc Kd");
+        Player caller = seat("Caller", 400, "Qc Qd");
+        folder.fold();
+        GameState state = table(shortStack, folder, big, caller);
+
+        int[] shares = showdown.splitPot(state.getPlayers(), BOARD, state.getPot().getTotal());
+
+        // Main pot: 50 from each of four; the side pot holds the rest, folded chips included
+        assertThat(shares).containsExactly(200, 0, 850, 0);
+    }
+
+    @Test
+    void tiedSidePotSplitsWithTheOddChipToTheEarliestSeat() {
+        Player shortStack = seat("Short", 100, "Ac Ad");
+        Player first = seat("First", 251, "Kc Qh");
+        Player second = seat("Second", 250, "Kd Qs");
+        Player third = seat("Third", 250, "Kh Qd");
+        GameState state = table(shortStack, first, second, third);
+
+        int[] shares = showdown.splitPot(state.getPlayers(), BOARD, state.getPot().getTotal());
+
+        // 400 main to the aces; 450 side three ways; First's uncalled chip comes back to First
+        assertThat(shares).containsExactly(400, 151, 150, 150);
+        assertThat(Arrays.stream(shares).sum()).isEqualTo(851);
+    }
+
+    private static Player seat(String name, int invested, String hole) {
+        Player player = new HumanPlayer(name, invested);
+        player.receiveCards(new HoleCards(cards(hole).get(0), cards(hole).get(1)));
+        player.bet(invested);
+        return player;
+    }
+
+    private static GameState table(Player... players) {
+        GameState state = new GameState(List.of(players), 10, 20);
+        state.addCommunityCards(BOARD);
+        state.getPot().add(Arrays.stream(players).mapToInt(Player::getHandInvested).sum());
+        return state;
+    }
+
+    private static List<Card> cards(String cards) {
+        return Arrays.stream(cards.split(" ")).map(Card::of).toList();
+    }
+}
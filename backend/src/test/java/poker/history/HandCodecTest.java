@@ -0,0 +1,129 @@
+package poker.history;
+
+import org.junit.jupiter.api.Test;
+import poker.fixtures.Fixtures;
+import poker.model.ActionType;
+import poker.model.GameStage;
+import poker.model.Position;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HandCodecTest {
+
+    @Test
+    void roundTripsEveryField() {
+        List<RecordedHand> hands = new ArrayList<>();
+        hands.add(edgeCaseHand());
+        Random random = new Random(Fixtures.SEED);
+        for (int i = 0; i < 2_000; i++) {
+            hands.add(Fixtures.recordedHand(random));
+        }
+        ByteBuffer segment = encode(hands);
+
+        RecordedHand decoded = new RecordedHand();
+        for (RecordedHand expected : hands) {
+            assertThat(HandCodec.decode(segment, decoded)).isTrue();
+            assertSameHand(decoded, expected);
+        }
+        assertThat(HandCodec.decode(segment, decoded)).isFalse();
+    }
+
+    @Test
+    void stopsCleanlyAtATruncatedTrailingFrame() {
+        Random random = new Random(Fixtures.SEED);
+        List<RecordedHand> hands = List.of(Fixtures.recordedHand(random), Fixtures.recordedHand(random),
+            Fixtures.recordedHand(random));
+        ByteBuffer whole = encode(hands);
+        ByteBuffer firstTwo = encode(hands.subList(0, 2));
+
+        RecordedHand decoded = new RecordedHand();
+        for (int cut = firstTwo.limit(); cut < whole.limit(); cut++) {
+            ByteBuffer torn = whole.duplicate().limit(cut);
+            assertThat(HandCodec.decode(torn, decoded)).isTrue();
+            assertThat(HandCodec.decode(torn, decoded)).isTrue();
+            assertSameHand(decoded, hands.get(1));
+            assertThat(HandCodec.decode(torn, decoded)).as("cut at %d", cut).isFalse();
+            assertThat(torn.position()).isEqualTo(firstTwo.limit());
+        }
+    }
+
+    @Test
+    void decodeHeaderSkipsTheActions() {
+        RecordedHand hand = edgeCaseHand();
+        ByteBuffer segment = encode(List.of(hand, hand));
+
+        RecordedHand decoded = new RecordedHand();
+        assertThat(HandCodec.decodeHeader(segment, decoded)).isTrue();
+        assertThat(decoded.getActionCount()).isZero();
+        assertThat(decoded.getNet(1)).isEqualTo(hand.getNet(1));
+        assertThat(HandCodec.decode(segment, decoded)).isTrue();
+        assertSameHand(decoded, hand);
+    }
+
+    // Unseeded, unknown cards, no position, losses and more actions than the arrays start with
+    private static RecordedHand edgeCaseHand() {
+        RecordedHand hand = new RecordedHand();
+        hand.reset(50, 100, 2);
+        hand.addSeat(SeatType.HUMAN, Position.SMALL_BLIND, 10_000);
+        hand.addSeat(SeatType.UNKNOWN, null, 3);
+        hand.addSeat(SeatType.EQUITY, Position.BUTTON, Integer.MAX_VALUE);
+        hand.setHoleCards(0, 0, 51);
+        hand.setNet(0, 7_000);
+        hand.setNet(1, -3);
+        hand.setNet(2, Integer.MIN_VALUE);
+        for (int card = 10; card < 13; card++) {
+            hand.addBoardCard(card);
+        }
+        for (int i = 0; i < 40; i++) {
+            GameStage street = i < 30 ? GameStage.PREFLOP : GameStage.FLOP;
+            hand.addAction(i % 3, street, i % 2 == 0 ? ActionType.RAISE : ActionType.CHECK, i % 2 == 0 ? 128 * i : 0);
+        }
+        hand.setOutcome(GameStage.FLOP, false);
+        return hand;
+    }
+
+    private static ByteBuffer encode(List<RecordedHand> hands) {
+        HandCodec codec = new HandCodec();
+        ByteBuffer out = ByteBuffer.allocate(hands.size() * 512);
+        for (RecordedHand hand : hands) {
+            int length = codec.encode(hand);
+            out.put(codec.getFrame(), 0, length);
+        }
+        return out.flip();
+    }
+
+    static void assertSameHand(RecordedHand actual, RecordedHand expected) {
+        assertThat(actual.hasSeed()).isEqualTo(expected.hasSeed());
+        assertThat(actual.getSeed()).isEqualTo(expected.getSeed());
+        assertThat(actual.getSmallBlind()).isEqualTo(expected.getSmallBlind());
+        assertThat(actual.getBigBlind()).isEqualTo(expected.getBigBlind());
+        assertThat(actual.getButtonSeat()).isEqualTo(expected.getButtonSeat());
+        assertThat(actual.getLastStage()).isEqualTo(expected.getLastStage());
+        assertThat(actual.isShowdown()).isEqualTo(expected.isShowdown());
+        assertThat(actual.getSeatCount()).isEqualTo(expected.getSeatCount());
+        for (int seat = 0; seat < expected.getSeatCount(); seat++) {
+            assertThat(actual.getSeatType(seat)).isEqualTo(expected.getSeatType(seat));
+            assertThat(actual.getPosition(seat)).isEqualTo(expected.getPosition(seat));
+            assertThat(actual.getStartingChips(seat)).isEqualTo(expected.getStartingChips(seat));
+            assertThat(actual.getNet(seat)).isEqualTo(expected.getNet(seat));
+            assertThat(actual.getHoleCard(seat, 0)).isEqualTo(expected.getHoleCard(seat, 0));
+            assertThat(actual.getHoleCard(seat, 1)).isEqualTo(expected.getHoleCard(seat, 1));
+        }
+        assertThat(actual.getBoardCount()).isEqualTo(expected.getBoardCount());
+        for (int i = 0; i < expected.getBoardCount(); i++) {
+            assertThat(actual.getBoardCard(i)).isEqualTo(expected.getBoardCard(i));
+        }
+        assertThat(actual.getActionCount()).isEqualTo(expected.getActionCount());
+        for (int i = 0; i < expected.getActionCount(); i++) {
+            assertThat(actual.getActionSeat(i)).isEqualTo(expected.getActionSeat(i));
+            assertThat(actual.getActionStreet(i)).isEqualTo(expected.getActionStreet(i));
+            assertThat(actual.getActionType(i)).isEqualTo(expected.getActionType(i));
+            assertThat(actual.getActionAmount(i)).isEqualTo(expected.getActionAmount(i));
+        }
+    }
+}
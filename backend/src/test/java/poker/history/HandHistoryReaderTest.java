@@ -0,0 +1,162 @@
+package poker.history;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poker.fixtures.Fixtures;
+import poker.model.GameStage;
+import poker.model.Position;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HandHistoryReaderTest {
+    // Enough hands for several segments and for reduce() to split into more than one leaf
+    private static final int HANDS = 12_000;
+
+    @TempDir
+    static Path directory;
+    // Each hand's seed is its append order, so visited hands can be matched to their originals
+    private static final List<RecordedHand> hands = new ArrayList<>();
+
+    @BeforeAll
+    static void writeHistory() throws Exception {
+        Random random = new Random(Fixtures.SEED);
+        for (int i = 0; i < HANDS; i++) {
+            RecordedHand hand = Fixtures.recordedHand(random);
+            hand.setSeed(i);
+            hands.add(hand);
+        }
+        write(directory, hands);
+    }
+
+    @Test
+    void indexedQueriesMatchABruteForceScan() throws Exception {
+        List<HandQuery> queries = List.of(
+            HandQuery.any(),
+            HandQuery.any().reaching(GameStage.TURN),
+            HandQuery.any().seat(SeatType.HUMAN),
+            HandQuery.any().holding("AKo"),
+            HandQuery.any().holding("77"),
+            HandQuery.any().from(Position.BUTTON),
+            HandQuery.any().seat(SeatType.UNKNOWN).from(Position.BIG_BLIND).reaching(GameStage.FLOP),
+            HandQuery.any().seat(SeatType.HUMAN).holding("T9s").reaching(GameStage.RIVER));
+
+        try (HandHistoryReader reader = HandHistoryReader.open(directory)) {
+            assertThat(reader.getSegmentCount()).isGreaterThan(1);
+            assertThat(reader.getHandCount()).isEqualTo(HANDS);
+            for (HandQuery query : queries) {
+                List<Long> expected = hands.stream()
+                    .filter(hand -> matches(query, hand))
+                    .map(RecordedHand::getSeed)
+                    .toList();
+                List<Long> visited = new ArrayList<>();
+                reader.forEach(query, (segment, hand, seat) -> {
+                    visited.add(hand.getSeed());
+                    if (query.hasSeatCriteria()) {
+                        assertThat(query.matchesSeat(hand, seat)).as("%s", query).isTrue();
+                    } else {
+                        assertThat(seat).isEqualTo(-1);
+                    }
+                });
+
+                assertThat(expected).as("%s", query).isNotEmpty();
+                assertThat(visited).as("%s", query).isEqualTo(expected);
+                assertThat(reader.count(query)).as("%s", query).isEqualTo(expected.size());
+            }
+        }
+    }
+
+    @Test
+    void reduceAgreesWithForEach() throws Exception {
+        HandQuery query = HandQuery.any().reaching(GameStage.FLOP);
+        try (HandHistoryReader reader = HandHistoryReader.open(directory)) {
+            long[] sequential = new long[2];
+            reader.forEach(query, (segment, hand, seat) -> {
+                sequential[0]++;
+                sequential[1] += hand.getSeed() * hand.getNet(0);
+            });
+
+            long[] parallel = reader.reduce(query, () -> new long[2], (totals, hand) -> {
+                totals[0]++;
+                totals[1] += hand.getSeed() * hand.getNet(0);
+            }, (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+
+            assertThat(sequential[0]).isGreaterThan(4096);
+            assertThat(parallel).containsExactly(sequential);
+        }
+    }
+
+    @Test
+    void reusesTheSidecarUntilTheSegmentGrows(@TempDir Path history) throws Exception {
+        List<RecordedHand> first = hands.subList(0, 500);
+        write(history, first);
+        Path segment = HandHistoryWriter.listSegments(history).get(0);
+        Path sidecar = SegmentIndex.sidecarOf(segment);
+        try (HandHistoryReader reader = HandHistoryReader.open(history)) {
+            assertThat(reader.getHandCount()).isEqualTo(first.size());
+        }
+        assertThat(sidecar).exists();
+
+        FileTime stamp = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(sidecar, stamp);
+        try (HandHistoryReader reader = HandHistoryReader.open(history)) {
+            assertThat(reader.count(HandQuery.any().seat(SeatType.HUMAN)))
+                .isEqualTo(first.stream().filter(hand -> matches(HandQuery.any().seat(SeatType.HUMAN), hand)).count());
+        }
+        assertThat(Files.getLastModifiedTime(sidecar)).isEqualTo(stamp);
+
+        // Frames appended to the same segment, as a writer that is still running would
+        List<RecordedHand> more = hands.subList(500, 700);
+        HandCodec codec = new HandCodec();
+        for (RecordedHand hand : more) {
+            int length = codec.encode(hand);
+            Files.write(segment, Arrays.copyOf(codec.getFrame(), length), StandardOpenOption.APPEND);
+        }
+        try (HandHistoryReader reader = HandHistoryReader.open(history)) {
+            assertThat(reader.getHandCount()).isEqualTo(first.size() + more.size());
+            assertThat(reader.count(HandQuery.any().from(Position.BUTTON))).isEqualTo(hands.subList(0, 700).stream()
+                .filter(hand -> matches(HandQuery.any().from(Position.BUTTON), hand)).count());
+        }
+        assertThat(Files.getLastModifiedTime(sidecar)).isNotEqualTo(stamp);
+    }
+
+    @Test
+    void rejectsNotationsThatAreNotHands() {
+        assertThatThrownBy(() -> HandQuery.any().holding("77s")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HandQuery.any().holding("AK")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HandQuery.any().holding("AKx")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static boolean matches(HandQuery query, RecordedHand hand) {
+        if (query.reached() != null && hand.getLastStage().ordinal() < query.reached().ordinal()) {
+            return false;
+        }
+        if (!query.hasSeatCriteria()) {
+            return true;
+        }
+        for (int seat = 0; seat < hand.getSeatCount(); seat++) {
+            if (query.matchesSeat(hand, seat)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void write(Path history, List<RecordedHand> hands) throws Exception {
+        try (HandHistoryWriter writer = new HandHistoryWriter(history, 256 << 10, 16 << 10, 64 << 10, 5)) {
+            for (RecordedHand hand : hands) {
+                writer.appendWaiting(hand);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package poker.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poker.fixtures.Fixtures;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HandHistoryWriterTest {
+
+    @Test
+    void closeWritesEveryAppendedHandInOrder(@TempDir Path directory) throws Exception {
+        List<RecordedHand> hands = hands(1_000);
+        // A buffer a quarter of a segment: batches stay small however the writer thread is scheduled,
+        // so it rotates many times before close
+        HandHistoryWriter writer = new HandHistoryWriter(directory, 16 << 10, 2 << 10, 4 << 10, 5);
+        for (RecordedHand hand : hands) {
+            assertThat(writer.appendWaiting(hand)).isTrue();
+        }
+        writer.close();
+
+        assertThat(writer.getAppendedCount()).isEqualTo(hands.size());
+        assertThat(writer.getDroppedCount()).isZero();
+        assertThat(writer.getLostCount()).isZero();
+        List<Path> segments = HandHistoryWriter.listSegments(directory);
+        assertThat(segments).hasSizeGreaterThan(1);
+        long fileBytes = 0;
+        for (Path segment : segments) {
+            fileBytes += Files.size(segment) - HandCodec.SEGMENT_HEADER_BYTES;
+        }
+        assertThat(writer.getBytesWritten()).isEqualTo(fileBytes);
+
+        int[] next = {0};
+        try (HandHistoryReader reader = HandHistoryReader.open(directory)) {
+            reader.forEach(HandQuery.any(), (segment, hand, seat) -> HandCodecTest.assertSameHand(hand, hands.get(next[0]++)));
+        }
+        assertThat(next[0]).isEqualTo(hands.size());
+    }
+
+    @Test
+    void dropsAndCountsHandsWhenTheBufferIsFull(@TempDir Path directory) throws Exception {
+        List<RecordedHand> hands = hands(200);
+        // The batch threshold is beyond the buffer and the flush interval a minute, so nothing drains
+        // until close and the buffer fills
+        HandHistoryWriter writer = new HandHistoryWriter(directory, 1 << 20, 1 << 20, 4 << 10, 60_000);
+        int accepted = 0;
+        for (RecordedHand hand : hands) {
+            accepted += writer.append(hand) ? 1 : 0;
+        }
+        writer.close();
+
+        assertThat(accepted).isBetween(1, hands.size() - 1);
+        assertThat(writer.getAppendedCount()).isEqualTo(accepted);
+        assertThat(writer.getDroppedCount()).isEqualTo(hands.size() - accepted);
+        try (HandHistoryReader reader = HandHistoryReader.open(directory)) {
+            assertThat(reader.getHandCount()).isEqualTo(accepted);
+        }
+        assertThat(writer.append(hands.get(0))).isFalse();
+    }
+
+    @Test
+    void appendWaitingKeepsEveryHand(@TempDir Path directory) throws Exception {
+        List<RecordedHand> hands = hands(500);
+        HandHistoryWriter writer = new HandHistoryWriter(directory, 1 << 20, 1 << 10, 4 << 10, 60_000);
+        for (RecordedHand hand : hands) {
+            assertThat(writer.appendWaiting(hand)).isTrue();
+        }
+        writer.close();
+
+        assertThat(writer.getDroppedCount()).isZero();
+        try (HandHistoryReader reader = HandHistoryReader.open(directory)) {
+            assertThat(reader.getHandCount()).isEqualTo(hands.size());
+        }
+        assertThatThrownBy(() -> writer.appendWaiting(hands.get(0))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<RecordedHand> hands(int count) {
+        Random random = new Random(Fixtures.SEED);
+        List<RecordedHand> hands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hands.add(Fixtures.recordedHand(random));
+        }
+        return hands;
+    }
+}
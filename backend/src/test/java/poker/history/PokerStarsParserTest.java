@@ -0,0 +1,78 @@
+package poker.history;
+
+import org.junit.jupiter.api.Test;
+import poker.model.Position;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PokerStarsParserTest {
+    private static final String HAND = String.join("\n",
+        "PokerStars Hand #1001: Hold'em No Limit (10/20) - 2024/06/01 12:00:00 ET",
+        "Table 'Alpha' 2-max Seat #1 is the button",
+        "Seat 1: Alice (1000 in chips)",
+        "Seat 2: Bob (1000 in chips)",
+        "Alice: posts small blind 10",
+        "Bob: posts big blind 20",
+        "*** HOLE CARDS ***",
+        "Dealt to Alice [Ah Kd]",
+        "Alice: raises 40 to 60",
+        "Bob: folds",
+        "Uncalled bet (40) returned to Alice",
+        "Alice collected 40 from pot",
+        "*** SUMMARY ***",
+        "Total pot 40 | Rake 0",
+        "",
+        "");
+
+    @Test
+    void readsTheFirstHandAfterAByteOrderMark() throws IOException {
+        PokerStarsParser parser = new PokerStarsParser(new BufferedReader(new StringReader("\uFEFF" + HAND + HAND)));
+        RecordedHand hand = new RecordedHand();
+
+        int hands = 0;
+        while (parser.next(hand)) {
+            assertThat(hand.getSeatCount()).isEqualTo(2);
+            assertThat(hand.getNet(0)).isEqualTo(20);
+            // Alice has the button and posts the small blind
+            assertThat(hand.getPosition(0)).isEqualTo(Position.BUTTON);
+            assertThat(hand.getPosition(1)).isEqualTo(Position.BIG_BLIND);
+            hands++;
+        }
+
+        assertThat(hands).isEqualTo(2);
+        assertThat(parser.getSkippedCount()).isZero();
+    }
+
+    @Test
+    void assignsPositionsFromTheButtonAtAFullerTable() throws IOException {
+        String hand = String.join("\n",
+            "PokerStars Hand #1002: Hold'em No Limit (10/20) - 2024/06/01 12:05:00 ET",
+            "Table 'Alpha' 6-max Seat #3 is the button",
+            "Seat 1: Alice (1000 in chips)",
+            "Seat 3: Bob (1000 in chips)",
+            "Seat 4: Carol (1000 in chips)",
+            "Seat 6: Dave (1000 in chips)",
+            "Carol: posts small blind 10",
+            "Dave: posts big blind 20",
+            "*** HOLE CARDS ***",
+            "Alice: folds",
+            "Bob: folds",
+            "Carol: folds",
+            "Uncalled bet (10) returned to Dave",
+            "Dave collected 20 from pot",
+            "*** SUMMARY ***",
+            "");
+        PokerStarsParser parser = new PokerStarsParser(new BufferedReader(new StringReader(hand)));
+        RecordedHand recorded = new RecordedHand();
+
+        assertThat(parser.next(recorded)).isTrue();
+        assertThat(recorded.getPosition(0)).isEqualTo(Position.CUTOFF);
+        assertThat(recorded.getPosition(1)).isEqualTo(Position.BUTTON);
+        assertThat(recorded.getPosition(2)).isEqualTo(Position.SMALL_BLIND);
+        assertThat(recorded.getPosition(3)).isEqualTo(Position.BIG_BLIND);
+    }
+}
@@ -0,0 +1,74 @@
+package poker.odds;
+
+import org.junit.jupiter.api.Test;
+import poker.model.BoardAnalysis;
+import poker.model.Card;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutsCalculatorTest {
+    private final OutsCalculator calculator = OutsCalculator.shared();
+
+    @Test
+    void flushDrawCountsTheSuitAndOvercardPairs() {
+        OutSet outs = calculator.findOuts(mask("Ah Kh"), board("7h 2h 9c"), null);
+
+        assertThat(outs.cards()).isEqualTo(mask("3h 4h 5h 6h 8h 9h Th Jh Qh Ac Ad As Kc Kd Ks"));
+    }
+
+    // Cards that pair the board lift everyone's hand alike, so they are not outs
+    @Test
+    void openEndedDrawLeavesOutBoardPairingCards() {
+        OutSet outs = calculator.findOuts(mask("8c 9d"), board("Ts Jh 2c"), null);
+
+        assertThat(outs.cards()).isEqualTo(mask("7c 7d 7h 7s Qc Qd Qh Qs 8d 8h 8s 9c 9h 9s"));
+        assertThat(outs.cards() & mask("Tc Td Th Jc Jd Js 2d 2h 2s")).isZero();
+    }
+
+    @Test
+    void backdoorFlushNeedsBothTurnAndRiver() {
+        OutSet outs = calculator.findOuts(mask("Ah Kh"), board("7h 2c 9d"), null);
+
+        assertThat(outs.cards()).isEqualTo(mask("Ac Ad As Kc Kd Ks"));
+        assertThat(outs.backdoorCards()).isEqualTo(mask("2h 3h 4h 5h 6h 8h 9h Th Jh Qh"));
+        // Any two of the ten hearts left
+        assertThat(outs.backdoorRunouts()).isEqualTo(45);
+    }
+
+    // Against a set, only flush cards that do not fill the board up for it win
+    @Test
+    void rangePathCountsOnlyCardsThatGetAhead() {
+        OutSet outs = calculator.findOuts(mask("Ah Kh"), board("7h 2h 9c"), new long[]{mask("9s 9d")});
+
+        assertThat(outs.cards()).isEqualTo(mask("3h 4h 5h 6h 8h Th Jh Qh"));
+        assertThat(outs.backdoorRunouts()).isZero();
+    }
+
+    @Test
+    void noOutsWhenAlreadyAheadOfTheRange() {
+        OutSet outs = calculator.findOuts(mask("9s 9d"), board("7h 2h 9c"), new long[]{mask("Ah Kh")});
+
+        assertThat(outs).isEqualTo(OutSet.NONE);
+    }
+
+    @Test
+    void rangeBlockedByTheKnownCardsIsIgnored() {
+        OutSet blocked = calculator.findOuts(mask("Ah Kh"), board("7h 2h 9c"), new long[]{mask("Ah Kh"), mask("9c 2d")});
+
+        assertThat(blocked).isEqualTo(calculator.findOuts(mask("Ah Kh"), board("7h 2h 9c"), null));
+    }
+
+    private static BoardAnalysis board(String cards) {
+        return BoardAnalysis.of(Arrays.stream(cards.split(" ")).map(Card::of).toList());
+    }
+
+    private static long mask(String cards) {
+        long mask = 0L;
+        for (String card : cards.split(" ")) {
+            mask |= Card.of(card).getMask();
+        }
+        return mask;
+    }
+}
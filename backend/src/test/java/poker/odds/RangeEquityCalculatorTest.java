@@ -0,0 +1,113 @@
+package poker.odds;
+
+import org.junit.jupiter.api.Test;
+import poker.evaluation.HandEvaluator;
+import poker.fixtures.Fixtures;
+import poker.model.BoardAnalysis;
+import poker.model.Card;
+import poker.model.HoleCards;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RangeEquityCalculatorTest {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    // Aces against kings on a dry flop: of 990 runouts the kings win the 83 that bring a king and no ace
+    private static final double ACES_OVER_KINGS = 907.0 / 990;
+
+    private final RangeEquityCalculator calculator = RangeEquityCalculator.shared();
+
+    @Test
+    void enumeratesSmallHeadsUpSpotsExactly() {
+        RangeEquityCalculator.Estimate estimate = calculator.estimate(mask("Ah Ad"), board("2c 7d 9h"),
+            new long[][]{{mask("Kc Ks")}}, NO_DEADLINE, 1_000, new Random(Fixtures.SEED));
+
+        assertThat(estimate.method()).isEqualTo(RangeEquityCalculator.Method.EXACT);
+        assertThat(estimate.equity()).isCloseTo(ACES_OVER_KINGS, within(1e-9));
+    }
+
+    // On the river the aces beat kings and lose to the set of jacks; weights count kings three times
+    @Test
+    void exactEquityWeighsCombos() {
+        float[] weights = new float[HoleCards.COMBOS];
+        weights[comboIndex("Kc Kd")] = 3f;
+        weights[comboIndex("Jc Jd")] = 1f;
+
+        RangeEquityCalculator.Estimate estimate = calculator.estimate(mask("Ah Ad"), board("2c 7d 9h Js 3s"),
+            new float[][]{weights}, NO_DEADLINE, 1_000, new Random(Fixtures.SEED));
+
+        assertThat(estimate.method()).isEqualTo(RangeEquityCalculator.Method.EXACT);
+        assertThat(estimate.equity()).isCloseTo(0.75, within(1e-6));
+    }
+
+    @Test
+    void samplesWhenEnumerationWouldCostTooMuch() {
+        RangeEquityCalculator sampling = new RangeEquityCalculator(HandEvaluator.shared(), EquityTable.loadDefault(),
+            OutsCalculator.shared(), 0);
+
+        RangeEquityCalculator.Estimate estimate = sampling.estimate(mask("Ah Ad"), board("2c 7d 9h"),
+            new long[][]{{mask("Kc Ks")}}, NO_DEADLINE, 20_000, new Random(Fixtures.SEED));
+
+        assertThat(estimate.method()).isEqualTo(RangeEquityCalculator.Method.SAMPLED);
+        assertThat(estimate.samples()).isEqualTo(20_000);
+        assertThat(estimate.equity()).isCloseTo(ACES_OVER_KINGS, within(0.01));
+    }
+
+    @Test
+    void multiwaySpotsAreSampled() {
+        RangeEquityCalculator.Estimate estimate = calculator.estimate(mask("Ah Ad"), board("2c 7d 9h"),
+            new long[][]{{mask("Kc Ks")}, {mask("Qc Qs")}}, NO_DEADLINE, 20_000, new Random(Fixtures.SEED));
+
+        assertThat(estimate.method()).isEqualTo(RangeEquityCalculator.Method.SAMPLED);
+        assertThat(estimate.equity()).isBetween(0.80, ACES_OVER_KINGS);
+    }
+
+    @Test
+    void fallsBackToTheTableWhenTheDeadlineHasPassed() {
+        long hole = mask("Ah Ad");
+        BoardAnalysis board = board("2c 7d 9h");
+
+        RangeEquityCalculator.Estimate estimate = calculator.estimate(hole, board, new long[][]{{mask("Kc Ks")}},
+            System.nanoTime() - 1, 1_000, new Random(Fixtures.SEED));
+
+        assertThat(estimate.method()).isEqualTo(RangeEquityCalculator.Method.TABLE);
+        assertThat(estimate.equity()).isEqualTo(calculator.tableEquity(hole, board, 1));
+    }
+
+    @Test
+    void fallsBackToTheTableWhenTheKnownCardsBlockTheRange() {
+        float[] weights = new float[HoleCards.COMBOS];
+        weights[comboIndex("Ah Kd")] = 1f;
+
+        RangeEquityCalculator.Estimate estimate = calculator.estimate(mask("Ah Ad"), board("2c 7d 9h"),
+            new float[][]{weights}, NO_DEADLINE, 1_000, new Random(Fixtures.SEED));
+
+        assertThat(estimate.method()).isEqualTo(RangeEquityCalculator.Method.TABLE);
+    }
+
+    // Draws get at least the rule of 4 on their outs: nine hearts and six overcards, two cards to come
+    @Test
+    void tableEquityFloorsDrawsByTheirOuts() {
+        assertThat(calculator.tableEquity(mask("Ah Kh"), board("7h 2h 9c"), 1)).isGreaterThanOrEqualTo(0.60);
+    }
+
+    private static int comboIndex(String cards) {
+        String[] parts = cards.split(" ");
+        return HoleCards.comboIndex(Card.of(parts[0]).getIndex(), Card.of(parts[1]).getIndex());
+    }
+
+    private static BoardAnalysis board(String cards) {
+        return BoardAnalysis.of(Arrays.stream(cards.split(" ")).map(Card::of).toList());
+    }
+
+    private static long mask(String cards) {
+        long mask = 0L;
+        for (String card : cards.split(" ")) {
+            mask |= Card.of(card).getMask();
+        }
+        return mask;
+    }
+}
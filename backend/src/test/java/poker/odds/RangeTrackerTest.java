@@ -0,0 +1,153 @@
+package poker.odds;
+
+import org.junit.jupiter.api.Test;
+import poker.evaluation.HandEvaluator;
+import poker.fixtures.Fixtures;
+import poker.model.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class RangeTrackerTest {
+    private final HandEvaluator evaluator = HandEvaluator.shared();
+
+    // A pooled model that only ever bets aces preflop and the top decile on the flop, and never checks
+    private final ActionModel model = aggressiveModel();
+
+    @Test
+    void surprisingActionsLeaveCombosAtTheFloor() {
+        GameState state = Fixtures.dealtTable(new Random(Fixtures.SEED), 3, GameStage.PREFLOP);
+        RangeTracker tracker = new RangeTracker(model, evaluator);
+        tracker.handStarted(state);
+        Player bettor = state.getPlayers().get(1);
+
+        tracker.actionChosen(bettor, state, Action.bet(40));
+
+        OpponentRanges ranges = state.getOpponentRanges();
+        assertThat(ranges.getWeight(1, comboIndex("Ah Ad"))).isEqualTo(1f);
+        assertThat(ranges.getWeight(1, comboIndex("7c 2d"))).isEqualTo(RangeTracker.LIKELIHOOD_FLOOR);
+        assertThat(ranges.getWeights(0)).containsOnly(1f);
+    }
+
+    // Forty floored updates would underflow a float to zero; rescaling keeps the best combo at 1 and the ratios
+    @Test
+    void repeatedUpdatesRescaleWithoutLosingRatios() {
+        GameState state = Fixtures.dealtTable(new Random(Fixtures.SEED), 3, GameStage.PREFLOP);
+        RangeTracker tracker = new RangeTracker(model, evaluator);
+        tracker.handStarted(state);
+        Player bettor = state.getPlayers().get(1);
+
+        tracker.actionChosen(bettor, state, Action.bet(40));
+        for (int i = 0; i < 39; i++) {
+            tracker.actionChosen(bettor, state, Action.check());
+        }
+
+        OpponentRanges ranges = state.getOpponentRanges();
+        assertThat(ranges.getWeight(1, comboIndex("Ah Ad"))).isCloseTo(1f, within(1e-5f));
+        assertThat(ranges.getWeight(1, comboIndex("7c 2d")))
+            .isCloseTo(RangeTracker.LIKELIHOOD_FLOOR, within(1e-6f));
+    }
+
+    @Test
+    void snapshotsShareOneFrozenCopyPerUpdate() {
+        GameState state = Fixtures.dealtTable(new Random(Fixtures.SEED), 3, GameStage.PREFLOP);
+        RangeTracker tracker = new RangeTracker(model, evaluator);
+        tracker.handStarted(state);
+        Player bettor = state.getPlayers().get(1);
+        tracker.actionChosen(bettor, state, Action.bet(40));
+
+        OpponentRanges first = GameSnapshot.of(1, state, state.getPlayers()).state().getOpponentRanges();
+        OpponentRanges second = GameSnapshot.of(2, state, state.getPlayers()).state().getOpponentRanges();
+        assertThat(first).isNotSameAs(state.getOpponentRanges()).isSameAs(second);
+        assertThat(first.getStamp()).isEqualTo(state.getOpponentRanges().getStamp());
+
+        tracker.actionChosen(bettor, state, Action.check());
+
+        assertThat(first.getWeight(1, comboIndex("7c 2d"))).isEqualTo(RangeTracker.LIKELIHOOD_FLOOR);
+        assertThat(state.getOpponentRanges().getWeight(1, comboIndex("7c 2d"))).isLessThan(RangeTracker.LIKELIHOOD_FLOOR);
+        assertThat(GameSnapshot.of(3, state, state.getPlayers()).state().getOpponentRanges()).isNotSameAs(first);
+        assertThatThrownBy(() -> first.multiply(1, new float[HoleCards.COMBOS]))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void decilesFollowHandStrength() {
+        long board = mask("2c 7d 9h");
+        byte[] deciles = new byte[HoleCards.COMBOS];
+        ActionModel.strengthDeciles(evaluator, board, deciles, new long[HoleCards.COMBOS]);
+
+        Integer[] live = liveCombos(board);
+        Arrays.sort(live, (a, b) -> Integer.compare(value(a, board), value(b, board)));
+        int[] perDecile = new int[ActionModel.STRENGTH_BUCKETS];
+        for (int i = 0; i < live.length; i++) {
+            perDecile[deciles[live[i]]]++;
+            if (i > 0) {
+                if (value(live[i], board) == value(live[i - 1], board)) {
+                    assertThat(deciles[live[i]]).as("tied combo %d", live[i]).isEqualTo(deciles[live[i - 1]]);
+                } else {
+                    assertThat(deciles[live[i]]).as("combo %d", live[i]).isGreaterThanOrEqualTo(deciles[live[i - 1]]);
+                }
+            }
+        }
+        assertThat(perDecile).doesNotContain(0);
+        assertThat(deciles[comboIndex("9s 9c")]).isEqualTo((byte) 9);
+        assertThat(deciles[comboIndex("4c 3d")]).isEqualTo((byte) 0);
+        assertThat(deciles[comboIndex("2d 2h")]).isEqualTo((byte) 9);
+        assertThat(deciles[comboIndex("2c Ah")]).as("touches the board").isEqualTo((byte) 0);
+    }
+
+    @Test
+    void flopBetsWeighCombosByDecile() {
+        GameState state = Fixtures.dealtTable(new Random(Fixtures.SEED), 3, GameStage.FLOP);
+        RangeTracker tracker = new RangeTracker(model, evaluator);
+        tracker.handStarted(state);
+        state.setStage(GameStage.FLOP);
+        List<Card> flop = state.getCommunityCards();
+        long board = HandEvaluator.toMask(flop);
+        byte[] deciles = new byte[HoleCards.COMBOS];
+        ActionModel.strengthDeciles(evaluator, board, deciles, new long[HoleCards.COMBOS]);
+
+        tracker.actionChosen(state.getPlayers().get(2), state, Action.bet(40));
+
+        float[] weights = state.getOpponentRanges().getWeights(2);
+        for (int combo = 0; combo < HoleCards.COMBOS; combo++) {
+            assertThat(weights[combo]).as("combo %d", combo)
+                .isEqualTo(deciles[combo] == 9 ? 1f : RangeTracker.LIKELIHOOD_FLOOR);
+        }
+    }
+
+    private static ActionModel aggressiveModel() {
+        ActionModel model = new ActionModel(List.of());
+        int pooled = model.pooledModel();
+        model.setProbability(pooled, GameStage.PREFLOP, ActionModel.UNBET, ActionModel.AGGRESSIVE,
+            HoleCards.classIndexOf("AA"), 1.0);
+        model.setProbability(pooled, GameStage.FLOP, ActionModel.UNBET, ActionModel.AGGRESSIVE, 9, 1.0);
+        return model;
+    }
+
+    private static Integer[] liveCombos(long board) {
+        return IntStream.range(0, HoleCards.COMBOS)
+            .filter(combo -> (HoleCards.comboMask(combo) & board) == 0)
+            .boxed()
+            .toArray(Integer[]::new);
+    }
+
+    private int value(int combo, long board) {
+        return evaluator.evaluateValue(HoleCards.comboMask(combo) | board);
+    }
+
+    private static int comboIndex(String cards) {
+        String[] pair = cards.split(" ");
+        return HoleCards.comboIndex(Card.of(pair[0]).getIndex(), Card.of(pair[1]).getIndex());
+    }
+
+    private static long mask(String cards) {
+        return HandEvaluator.toMask(Arrays.stream(cards.split(" ")).map(Card::of).toList());
+    }
+}
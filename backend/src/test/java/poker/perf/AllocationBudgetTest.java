@@ -0,0 +1,156 @@
+package poker.perf;
+
+import org.junit.jupiter.api.Test;
+import poker.ai.CallingStationAI;
+import poker.ai.LooseAggressiveAI;
+import poker.ai.TightPassiveAI;
+import poker.engine.BettingManager;
+import poker.engine.GameEngine;
+import poker.evaluation.HandEvaluator;
+import poker.evaluation.WinnerDeterminer;
+import poker.fixtures.Fixtures;
+import poker.model.*;
+import poker.odds.RangeTracker;
+import poker.strategy.StartingHandChart;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Budgets are bytes per call measured on the allocating thread. They are set a little above what
+// the current code allocates, so a new stream, iterator or list on these paths fails the build.
+class AllocationBudgetTest {
+    // Covers counter granularity and one-off allocations (class init, deopt) spread over the run
+    private static final double NOISE = 0.5;
+
+    private static final long APPLY_ACTION_BUDGET = 0;
+    // Only the winning Hand (five cards, kicker list) is materialised at showdown
+    private static final long SHOWDOWN_BUDGET = 1_536;
+    // GameState, position lists and the showdown result for one 6-max hand
+    private static final long HAND_BUDGET = 5_120;
+
+    private final HandEvaluator evaluator = HandEvaluator.shared();
+
+    @Test
+    void sevenCardEvaluationAllocatesNothing() {
+        long[] hands = randomMasks(new Random(Fixtures.SEED), 7, 1024);
+        int[] next = {0};
+
+        double bytes = AllocationMeter.bytesPerCall(200_000, 1_000_000,
+            () -> evaluator.evaluateValue(hands[next[0]++ & 1023]));
+
+        assertWithinBudget("HandEvaluator.evaluateValue (7 cards)", bytes, 0);
+    }
+
+    @Test
+    void roundCompletionCheckAllocatesNothing() {
+        GameState state = Fixtures.dealtTable(new Random(Fixtures.SEED), 9, GameStage.FLOP);
+        BettingManager betting = new BettingManager(10, 20);
+
+        double bytes = AllocationMeter.bytesPerCall(200_000, 1_000_000,
+            () -> betting.isRoundComplete(state) ? 1 : 0);
+
+        assertWithinBudget("BettingManager.isRoundComplete", bytes, 0);
+    }
+
+    @Test
+    void rangeUpdateAllocatesNothing() {
+        GameState state = Fixtures.dealtTable(new Random(Fixtures.SEED), 9, GameStage.FLOP);
+        state.setStage(GameStage.FLOP);
+        RangeTracker tracker = new RangeTracker();
+        tracker.handStarted(state);
+        List<Player> players = state.getPlayers();
+        Action check = Action.check();
+        int[] next = {0};
+
+        double bytes = AllocationMeter.bytesPerCall(200_000, 1_000_000, () -> {
+            tracker.actionChosen(players.get(next[0]++ % 9), state, check);
+            return 0;
+        });
+
+        assertWithinBudget("RangeTracker.actionChosen (9 players)", bytes, 0);
+    }
+
+    @Test
+    void applyActionStaysWithinBudget() {
+        GameState state = Fixtures.dealtTable(new Random(Fixtures.SEED), 6, GameStage.FLOP);
+        BettingManager betting = new BettingManager(10, 20);
+        Player player = state.getPlayers().get(0);
+        Action raise = Action.raise(60);
+        Action call = Action.call(20);
+
+        double bytes = AllocationMeter.bytesPerCall(100_000, 500_000, () -> {
+            // Raise, then call a fresh big blind, refunding the chips so every call sees the same street
+            betting.applyAction(state, player, raise);
+            int raised = player.getCurrentBet();
+            player.win(raised);
+            player.resetBetForNewRound();
+            state.setCurrentBet(20);
+            betting.applyAction(state, player, call);
+            int called = player.getCurrentBet();
+            player.win(called);
+            player.resetBetForNewRound();
+            return raised + called;
+        });
+
+        assertWithinBudget("BettingManager.applyAction (raise + call)", bytes, APPLY_ACTION_BUDGET);
+    }
+
+    @Test
+    void showdownStaysWithinBudget() {
+        Random random = new Random(Fixtures.SEED);
+        List<GameState> tables = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            tables.add(Fixtures.dealtTable(random, 9, GameStage.RIVER));
+        }
+        WinnerDeterminer showdown = WinnerDeterminer.shared();
+        int[] next = {0};
+
+        double bytes = AllocationMeter.bytesPerCall(20_000, 100_000,
+            () -> showdown.resolveShowdown(tables.get(next[0]++ & 63)).winners().size());
+
+        assertWithinBudget("WinnerDeterminer.resolveShowdown (9 players)", bytes, SHOWDOWN_BUDGET);
+    }
+
+    @Test
+    void simulatedHandStaysWithinBudget() {
+        Random random = new Random(Fixtures.SEED);
+        StartingHandChart chart = StartingHandChart.shared();
+        List<Player> players = List.of(
+            new AIPlayer("Bot1", 2000, new CallingStationAI(new Random(Fixtures.SEED + 1), chart)),
+            new AIPlayer("Bot2", 2000, new TightPassiveAI(new Random(Fixtures.SEED + 2), chart, evaluator)),
+            new AIPlayer("Bot3", 2000, new LooseAggressiveAI(new Random(Fixtures.SEED + 3), chart)),
+            new AIPlayer("Bot4", 2000, new CallingStationAI(new Random(Fixtures.SEED + 4), chart)),
+            new AIPlayer("Bot5", 2000, new TightPassiveAI(new Random(Fixtures.SEED + 5), chart, evaluator)),
+            new AIPlayer("Bot6", 2000, new LooseAggressiveAI(new Random(Fixtures.SEED + 6), chart))
+        );
+        GameEngine engine = new GameEngine(players, 10, 20, random);
+
+        double bytes = AllocationMeter.bytesPerCall(2_000, 10_000, () -> {
+            for (Player player : players) {
+                if (player.getChips() < 2000) {
+                    player.win(2000 - player.getChips());
+                }
+            }
+            return engine.playHand().winners().size();
+        });
+
+        assertWithinBudget("GameEngine.playHand (6 players, mixed AI)", bytes, HAND_BUDGET);
+    }
+
+    private static void assertWithinBudget(String operation, double bytesPerCall, long budget) {
+        assertThat(bytesPerCall)
+            .as("%s allocated %.1f bytes per call, budget is %d", operation, bytesPerCall, budget)
+            .isLessThanOrEqualTo(budget + NOISE);
+    }
+
+    private static long[] randomMasks(Random random, int cardCount, int samples) {
+        long[] masks = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            masks[i] = HandEvaluator.toMask(Fixtures.shuffledDeck(random).subList(0, cardCount));
+        }
+        return masks;
+    }
+}
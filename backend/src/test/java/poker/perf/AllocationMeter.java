@@ -0,0 +1,37 @@
+package poker.perf;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+final class AllocationMeter {
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Results are folded in here so the JIT cannot drop the measured work
+    static volatile long sink;
+
+    private AllocationMeter() {
+    }
+
+    // Average bytes the current thread allocates per call, after warming the path up through C2
+    static double bytesPerCall(int warmupCalls, int measuredCalls, LongSupplier operation) {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation counters unavailable");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        long acc = 0;
+        for (int i = 0; i < warmupCalls; i++) {
+            acc += operation.getAsLong();
+        }
+
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < measuredCalls; i++) {
+            acc += operation.getAsLong();
+        }
+        long after = THREADS.getCurrentThreadAllocatedBytes();
+
+        sink = acc;
+        return (double) (after - before) / measuredCalls;
+    }
+}
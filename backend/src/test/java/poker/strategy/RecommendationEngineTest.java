@@ -0,0 +1,62 @@
+package poker.strategy;
+
+import org.junit.jupiter.api.Test;
+import poker.engine.GameEngine;
+import poker.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecommendationEngineTest {
+    private static final long SEED = 20240601L;
+
+    private final RecommendationEngine recommendations = RecommendationEngine.shared();
+
+    @Test
+    void tablePositionsMatchTheEngine() {
+        for (int seats = 2; seats <= 9; seats++) {
+            List<String> mismatches = new ArrayList<>();
+            playLimpedHand(seats, (player, state) -> {
+                if (state.getPlayerPosition(player) != player.getPosition()) {
+                    mismatches.add(player.getName() + ": " + state.getPlayerPosition(player)
+                        + " vs " + player.getPosition());
+                }
+            });
+            assertThat(mismatches).as("%d seats", seats).isEmpty();
+        }
+    }
+
+    @Test
+    void bigBlindChecksTrashInAnUnraisedPot() {
+        HoleCards trash = new HoleCards(Card.of("7c"), Card.of("2d"));
+        for (int seats = 2; seats <= 9; seats++) {
+            List<ActionRecommendation> advised = new ArrayList<>();
+            playLimpedHand(seats, (player, state) -> {
+                if (state.getStage() == GameStage.PREFLOP && player.getPosition() == Position.BIG_BLIND) {
+                    player.receiveCards(trash);
+                    advised.add(recommendations.getRecommendation(player, state).action());
+                }
+            });
+            assertThat(advised).as("%d seats", seats).isNotEmpty().containsOnly(ActionRecommendation.CHECK);
+        }
+    }
+
+    // Everyone calls the big blind and checks it down; spot sees each decision before it is made
+    private static void playLimpedHand(int seats, BiConsumer<Player, GameState> spot) {
+        List<Player> players = new ArrayList<>(seats);
+        for (int i = 0; i < seats; i++) {
+            players.add(new HumanPlayer("P" + i, 1000));
+        }
+        GameEngine engine = new GameEngine(players, 10, 20, new Random(SEED + seats));
+        engine.setHumanActionProvider((state, player) -> {
+            spot.accept(player, state);
+            int toCall = state.getAmountToCall(player);
+            return toCall == 0 ? Action.check() : Action.call(toCall);
+        });
+        engine.playHand();
+    }
+}
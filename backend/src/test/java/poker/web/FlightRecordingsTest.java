@@ -0,0 +1,78 @@
+package poker.web;
+
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poker.ai.CallingStationAI;
+import poker.engine.GameEngine;
+import poker.model.AIPlayer;
+import poker.model.Player;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecordingsTest {
+
+    @Test
+    void recordingCapturesPokerEventsButNotTheEnvironment(@TempDir Path directory) throws Exception {
+        FlightRecordings recordings = new FlightRecordings(directory.toString(), 5);
+        recordings.start(Duration.ofMinutes(1), false);
+        try {
+            List<Player> players = List.of(
+                new AIPlayer("Bot1", 1000, new CallingStationAI()),
+                new AIPlayer("Bot2", 1000, new CallingStationAI()));
+            new GameEngine(players, 10, 20, new Random(1)).playHand();
+
+            Path file = recordings.dump();
+            List<String> names = RecordingFile.readAllEvents(file).stream()
+                .map(RecordedEvent::getEventType)
+                .map(EventType::getName)
+                .distinct()
+                .toList();
+            assertThat(names).contains("poker.Hand", "poker.Decision");
+            assertThat(names).doesNotContainAnyElementsOf(FlightRecordings.SECRET_EVENTS);
+        } finally {
+            recordings.stop();
+        }
+    }
+
+    @Test
+    void keepsOnlyTheNewestDumps(@TempDir Path directory) throws Exception {
+        FlightRecordings recordings = new FlightRecordings(directory.toString(), 2);
+        recordings.start(Duration.ofMinutes(1), false);
+        try {
+            Path first = recordings.dump();
+            Thread.sleep(5);
+            Path second = recordings.dump();
+            Thread.sleep(5);
+            Path third = recordings.dump();
+
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files.toList()).containsExactlyInAnyOrder(second, third);
+            }
+            assertThat(first).doesNotExist();
+        } finally {
+            recordings.stop();
+        }
+    }
+
+    @Test
+    void rejectsMaxAgeOutsideTheLimits(@TempDir Path directory) {
+        FlightRecordings recordings = new FlightRecordings(directory.toString(), 5);
+
+        assertThatThrownBy(() -> recordings.start(Duration.ZERO, false))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> recordings.start(FlightRecordings.MAX_AGE_LIMIT.plusMinutes(1), false))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(recordings.status().running()).isFalse();
+    }
+}
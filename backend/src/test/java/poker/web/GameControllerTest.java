@@ -0,0 +1,26 @@
+package poker.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameControllerTest {
+
+    @Test
+    void ifNoneMatchComparesWholeTags() {
+        assertThat(GameController.matchesAny("\"1\"", "\"1\"")).isTrue();
+        assertThat(GameController.matchesAny("\"10\"", "\"1\"")).isFalse();
+        assertThat(GameController.matchesAny("\"1\"", "\"10\"")).isFalse();
+        assertThat(GameController.matchesAny("\"7\", \"10\"", "\"10\"")).isTrue();
+        assertThat(GameController.matchesAny("\"7\",\"9\"", "\"10\"")).isFalse();
+    }
+
+    @Test
+    void ifNoneMatchTakesWeakTagsAndWildcard() {
+        assertThat(GameController.matchesAny("W/\"10\"", "\"10\"")).isTrue();
+        assertThat(GameController.matchesAny("\"3\", W/\"10\"", "\"10\"")).isTrue();
+        assertThat(GameController.matchesAny("*", "\"10\"")).isTrue();
+        assertThat(GameController.matchesAny("10", "\"10\"")).isFalse();
+        assertThat(GameController.matchesAny("\"10", "\"10\"")).isFalse();
+    }
+}
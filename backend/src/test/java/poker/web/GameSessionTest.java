@@ -0,0 +1,68 @@
+package poker.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import poker.model.Action;
+import poker.model.GameSnapshot;
+import poker.model.Player;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameSessionTest {
+    private static final long WAIT_SECONDS = 10;
+
+    private final GameSession session = new GameSession("test", 3, 0, 1000, 10, 20, "calling_station");
+
+    @AfterEach
+    void close() {
+        session.close();
+    }
+
+    @Test
+    void actionSettlesWhenTheHumanIsAskedAgainOrTheHandEnds() throws Exception {
+        session.startHand();
+        awaitHumanTurn();
+
+        // Calling stations never fold, so checking and calling plays the hand through to showdown
+        while (!session.isHandComplete()) {
+            GameSnapshot before = session.getSnapshot();
+            Player human = before.getHuman();
+            int toCall = before.state().getAmountToCall(human);
+            session.submitAction(toCall == 0 ? Action.check() : Action.call(toCall)).get(WAIT_SECONDS, TimeUnit.SECONDS);
+
+            GameSnapshot after = session.getSnapshot();
+            assertThat(session.isHandComplete() || after.isHumanTurn() && session.isAwaitingHuman())
+                .as("settled mid-hand at version %d", after.version())
+                .isTrue();
+            assertThat(after.version()).isGreaterThan(before.version());
+        }
+    }
+
+    @Test
+    void foldSettlesWithTheHand() throws Exception {
+        session.startHand();
+        awaitHumanTurn();
+
+        session.submitAction(Action.fold()).get(WAIT_SECONDS, TimeUnit.SECONDS);
+
+        assertThat(session.isHandComplete()).isTrue();
+    }
+
+    @Test
+    void actionWithoutARunningHandSettlesAtOnce() {
+        CompletableFuture<Void> settled = session.submitAction(Action.check());
+
+        assertThat(settled).isDone();
+    }
+
+    private void awaitHumanTurn() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (!(session.isAwaitingHuman() && session.getSnapshot().isHumanTurn())) {
+            assertThat(System.nanoTime()).as("human's turn within %d s", WAIT_SECONDS).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package poker.fixtures;
+
+import poker.history.RecordedHand;
+import poker.history.SeatType;
+import poker.model.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+// Seeded decks, dealt tables and recorded hands shared by the tests and the JMH benchmarks
+public final class Fixtures {
+    public static final long SEED = 20240601L;
+    public static final int SAMPLES = 1024;
+
+    private Fixtures() {
+    }
+
+    public static List<Card> shuffledDeck(Random random) {
+        List<Card> cards = new ArrayList<>(52);
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                cards.add(new Card(rank, suit));
+            }
+        }
+        Collections.shuffle(cards, random);
+        return cards;
+    }
+
+    public static List<List<Card>> randomHands(Random random, int cardCount, int samples) {
+        List<List<Card>> hands = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            hands.add(List.copyOf(shuffledDeck(random).subList(0, cardCount)));
+        }
+        return hands;
+    }
+
+    public static GameState dealtTable(Random random, int playerCount, GameStage stage) {
+        List<Card> deck = shuffledDeck(random);
+        List<Player> players = new ArrayList<>(playerCount);
+        int next = 0;
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new HumanPlayer("P" + i, 1000);
+            player.receiveCards(new HoleCards(deck.get(next++), deck.get(next++)));
+            players.add(player);
+        }
+        GameState state = new GameState(players, 10, 20);
+        state.addCommunityCards(deck.subList(next, next + stage.getCommunityCardCount()));
+        state.getPot().add(playerCount * 100);
+        return state;
+    }
+
+    // A hand exercising every field the history codec stores: seeded or not, unknown hole cards,
+    // missing positions, losses, multi-byte amounts and action lists past the initial array size
+    public static RecordedHand recordedHand(Random random) {
+        List<Card> deck = shuffledDeck(random);
+        int seats = 2 + random.nextInt(8);
+        GameStage last = GameStage.values()[random.nextInt(GameStage.values().length)];
+        SeatType[] types = SeatType.values();
+        ActionType[] actions = ActionType.values();
+
+        RecordedHand hand = new RecordedHand();
+        hand.reset(5 + random.nextInt(50), 10 + random.nextInt(100_000), random.nextInt(seats));
+        if (random.nextBoolean()) {
+            hand.setSeed(random.nextLong());
+        }
+        int next = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            Position position = random.nextInt(8) == 0 ? null : Position.ofSeat(seat, seats);
+            hand.addSeat(types[random.nextInt(types.length)], position, 1 + random.nextInt(1_000_000));
+            if (random.nextInt(3) > 0) {
+                hand.setHoleCards(seat, deck.get(next++).getIndex(), deck.get(next++).getIndex());
+            }
+            hand.setNet(seat, random.nextInt(200_001) - 100_000);
+        }
+        for (int i = 0; i < last.getCommunityCardCount(); i++) {
+            hand.addBoardCard(deck.get(next++).getIndex());
+        }
+        int streets = Math.min(last.ordinal(), GameStage.RIVER.ordinal()) + 1;
+        int count = random.nextInt(48);
+        for (int i = 0, street = 0; i < count; i++) {
+            if (street + 1 < streets && random.nextInt(count - i) < streets - street) {
+                street++;
+            }
+            ActionType type = actions[random.nextInt(actions.length)];
+            int amount = type.ordinal() >= ActionType.CALL.ordinal() ? 1 + random.nextInt(5_000_000) : 0;
+            hand.addAction(random.nextInt(seats), GameStage.values()[street], type, amount);
+        }
+        hand.setOutcome(last, last == GameStage.SHOWDOWN || random.nextInt(4) == 0);
+        return hand;
+    }
+}
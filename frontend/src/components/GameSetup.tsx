@@ -13,6 +13,8 @@ const aiTypes = [
   { value: 'calling_station', label: 'Calling Station', desc: 'Коллирует слишком часто' },
   { value: 'tight_passive', label: 'Тайтовый', desc: 'Играет мало рук, боится рейзить' },
   { value: 'loose_aggressive', label: 'Агрессивный', desc: 'Много рейзит, играет слабые руки' },
+  { value: 'equity', label: 'Вычислитель', desc: 'Считает эквити против диапазонов и пот-оддсы' },
+  { value: 'mcts', label: 'Стратег', desc: 'Просчитывает раздачу до конца симуляциями' },
 ]
 
 const chipStacks = [
@@ -259,7 +259,7 @@ export function PokerTable({ sessionId, gameState, onStateUpdate }: Props) {
             exit={{ opacity: 0, y: 50 }}
             transition={{ type: 'spring', stiffness: 200 }}
           >
-            {/* Recommendation - 3 blocks */}
+            {/* Recommendation - action, comment, position and equity blocks */}
             {gameState.recommendation && (() => {
               const parsed = parseRecommendation(gameState.recommendation)
               if (!parsed) return null
@@ -281,6 +281,15 @@ export function PokerTable({ sessionId, gameState, onStateUpdate }: Props) {
                     <span className="rec-block-label">Позиция</span>
                     <span className="rec-block-value">{humanPlayer?.position || '—'}</span>
                   </div>
+                  {gameState.equity != null && (
+                    <div className="rec-block rec-equity-block">
+                      <span className="rec-block-label">Эквити</span>
+                      <span className="rec-block-value">
+                        {Math.round(gameState.equity * 100)}%
+                        {gameState.requiredEquity ? ` / нужно ${Math.round(gameState.requiredEquity * 100)}%` : ''}
+                      </span>
+                    </div>
+                  )}
                 </motion.div>
               )
             })()}
@@ -27,6 +27,8 @@ export interface GameState {
   handComplete: boolean
   resultMessage: string | null
   recommendation: string | null
+  equity: number | null
+  requiredEquity: number | null
   availableActions: string[]
 }
 